@@ -82,9 +82,10 @@ public class DoubleVector implements Serializable {
 
 
     public DoubleVector rotated(double angle) {
-        double angleInRadians = Math.toRadians(angle);
-        double x = this.x * Math.cos(angleInRadians) - this.y * Math.sin(angleInRadians);
-        double y = this.x * Math.sin(angleInRadians) + this.y * Math.cos(angleInRadians);
+        double cos = FastTrig.cosDeg(angle);
+        double sin = FastTrig.sinDeg(angle);
+        double x = this.x * cos - this.y * sin;
+        double y = this.x * sin + this.y * cos;
 
         return new DoubleVector(x, y);
     }
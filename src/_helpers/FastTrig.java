@@ -0,0 +1,184 @@
+package _helpers;
+
+
+/**
+ * FastTrig
+ * --------
+ *
+ * Table based sine and cosine of angles in degrees (the unit used by the
+ * physics values and the renderables), plus cached unit vectors per
+ * quantised angle.
+ *
+ * One table holds sin() over a full turn in steps entries (a power of two,
+ * so wrapping is a mask); cos() reads it a quarter turn ahead. A lookup is
+ * a multiply, a floor and one or two array reads: no toRadians() and no
+ * Math.sin()/Math.cos() argument reduction.
+ *
+ * Error bounds
+ * ------------
+ * With h = 2 * PI / steps (table step in radians):
+ * - Linear interpolation: |error| <= h^2 / 8 (4096 steps: 2.94e-7)
+ * - Nearest entry: |error| <= h / 2 (4096 steps: 7.67e-4)
+ * - unit(): the angle is rounded to the nearest step, so the direction is
+ * off by at most 180 / steps degrees (4096 steps: 0.044 degrees)
+ * maxError() returns the bound of an instance. benchmarks.FastTrigBenchmark
+ * measures them, and the speedup at every call site.
+ *
+ * Switch
+ * ------
+ * The static helpers (sinDeg(), cosDeg(), unitVector()) are the ones used
+ * by the engine. They use the DEFAULT table (DEFAULT_STEPS, interpolated)
+ * while enabled, and Math.sin()/Math.cos() otherwise (setEnabled(false)),
+ * so exact results can be restored at runtime for comparison.
+ *
+ * Immutable once built: thread safe.
+ */
+public class FastTrig {
+
+    public static final int DEFAULT_STEPS = 4096;
+    private static final FastTrig DEFAULT = new FastTrig(DEFAULT_STEPS, true);
+    private static volatile boolean enabled = true;
+
+    private final int steps;
+    private final int mask;
+    private final int quarter;
+    private final double stepsPerDegree;
+    private final boolean interpolate;
+    private final double[] sin; // steps + 1 entries: sin[steps] = sin[0]
+    private final DoubleVector[] units;
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    public FastTrig(int steps, boolean interpolate) {
+        if (steps < 4 || Integer.bitCount(steps) != 1) {
+            throw new IllegalArgumentException("Trig table steps must be a power of two >= 4");
+        }
+
+        this.steps = steps;
+        this.mask = steps - 1;
+        this.quarter = steps / 4;
+        this.stepsPerDegree = steps / 360.0d;
+        this.interpolate = interpolate;
+
+        this.sin = new double[steps + 1];
+        this.units = new DoubleVector[steps];
+        for (int i = 0; i < steps; i++) {
+            double angleInRadians = 2 * Math.PI * i / steps;
+            this.sin[i] = Math.sin(angleInRadians);
+            this.units[i] = new DoubleVector(Math.cos(angleInRadians), Math.sin(angleInRadians));
+        }
+        this.sin[steps] = this.sin[0];
+    }
+
+
+    /**
+     * PUBLICS
+     */
+    public double cos(double degrees) {
+        return this.lookup(degrees, this.quarter);
+    }
+
+
+    public int getSteps() {
+        return this.steps;
+    }
+
+
+    public boolean isInterpolated() {
+        return this.interpolate;
+    }
+
+
+    /**
+     * Upper bound of |sin() - Math.sin()| (and cos()) for any angle
+     */
+    public double maxError() {
+        double h = 2 * Math.PI / this.steps;
+
+        return this.interpolate ? h * h / 8 : h / 2;
+    }
+
+
+    public double sin(double degrees) {
+        return this.lookup(degrees, 0);
+    }
+
+
+    /**
+     * Shared unit vector of the nearest table angle (do not allocate per
+     * call: the same instance is returned for every angle of the step)
+     */
+    public DoubleVector unit(double degrees) {
+        return this.units[(int) (Math.round(degrees * this.stepsPerDegree) & this.mask)];
+    }
+
+
+    /**
+     * STATICS
+     */
+    public static double cosDeg(double degrees) {
+        if (!FastTrig.enabled) {
+            return Math.cos(Math.toRadians(degrees));
+        }
+
+        return FastTrig.DEFAULT.cos(degrees);
+    }
+
+
+    public static FastTrig getDefault() {
+        return FastTrig.DEFAULT;
+    }
+
+
+    public static boolean isEnabled() {
+        return FastTrig.enabled;
+    }
+
+
+    public static void setEnabled(boolean enabled) {
+        FastTrig.enabled = enabled;
+    }
+
+
+    public static double sinDeg(double degrees) {
+        if (!FastTrig.enabled) {
+            return Math.sin(Math.toRadians(degrees));
+        }
+
+        return FastTrig.DEFAULT.sin(degrees);
+    }
+
+
+    /**
+     * Unit vector for degrees: the cached one of the DEFAULT table, or an
+     * exact new one when disabled
+     */
+    public static DoubleVector unitVector(double degrees) {
+        if (!FastTrig.enabled) {
+            double angleInRadians = Math.toRadians(degrees);
+            return new DoubleVector(Math.cos(angleInRadians), Math.sin(angleInRadians));
+        }
+
+        return FastTrig.DEFAULT.unit(degrees);
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    private double lookup(double degrees, int offset) {
+        double t = degrees * this.stepsPerDegree;
+
+        if (!this.interpolate) {
+            return this.sin[(int) ((Math.round(t) + offset) & this.mask)];
+        }
+
+        double floor = Math.floor(t);
+        int i = (int) (((long) floor + offset) & this.mask);
+        double s0 = this.sin[i];
+
+        return s0 + (this.sin[i + 1] - s0) * (t - floor);
+    }
+}
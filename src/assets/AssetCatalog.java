@@ -2,6 +2,7 @@ package assets;
 
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ public class AssetCatalog {
 
     private final String path;
     private final Map<String, AssetInfoDTO> assetsById = new HashMap<>();
+    private final Map<AssetType, Integer> angleStepsByType = new EnumMap<>(AssetType.class);
     private Random rnd = new Random();
 
 
@@ -42,7 +44,26 @@ public class AssetCatalog {
                         assetInfo.assetId,
                         assetInfo.fileName,
                         assetInfo.type,
-                        assetInfo.intensity));
+                        assetInfo.intensity,
+                        assetInfo.frameCols,
+                        assetInfo.frameRows,
+                        assetInfo.frameCount,
+                        assetInfo.framesPerSecond));
+    }
+
+
+    /**
+     * Animated asset: a sprite sheet of cols x rows equal cells, the first
+     * frameCount of them (row major) played at framesPerSecond
+     */
+    public void registerSheet(String assetId, String fileName,
+            AssetType type, AssetIntensity intensity,
+            int cols, int rows, int frameCount, double framesPerSecond) {
+
+        this.assetsById.put(
+                assetId,
+                new AssetInfoDTO(assetId, fileName, type, intensity,
+                        cols, rows, frameCount, framesPerSecond));
     }
 
 
@@ -52,6 +73,17 @@ public class AssetCatalog {
     }
 
 
+    public int getAngleSteps(String assetId) {
+        AssetInfoDTO aInfo = this.assetsById.get(assetId);
+        if (aInfo == null || aInfo.type == null) {
+            return AssetType.STATIC.defaultAngleSteps;
+        }
+
+        Integer angleSteps = this.angleStepsByType.get(aInfo.type);
+        return (angleSteps != null) ? angleSteps : aInfo.type.defaultAngleSteps;
+    }
+
+
     public ArrayList<String> getAssetIds() {
         return new ArrayList(this.assetsById.keySet());
     }
@@ -105,6 +137,18 @@ public class AssetCatalog {
     }
 
 
+    public void setAngleSteps(AssetType type, int angleSteps) {
+        if (type == null) {
+            throw new IllegalStateException("Asset type is null!");
+        }
+        if (angleSteps <= 0) {
+            throw new IllegalArgumentException("Angle steps must be > 0");
+        }
+
+        this.angleStepsByType.put(type, angleSteps);
+    }
+
+
     public boolean exists(String assetId) {
         return assetsById.containsKey(assetId);
     }
@@ -1,20 +1,57 @@
 package assets;
 
 
+/**
+ * Catalog entry of an asset. Animated assets are sprite sheets: a grid of
+ * frameCols x frameRows equal cells, of which the first frameCount (row
+ * major) are frames played at framesPerSecond. Plain images are a 1 x 1
+ * sheet with a single frame.
+ */
 public class AssetInfoDTO {
 
     public final String assetId;
     public final String fileName; 
     public final AssetType type;
     public final AssetIntensity intensity;
+    public final int frameCols;
+    public final int frameRows;
+    public final int frameCount;
+    public final double framesPerSecond;
 
 
     public AssetInfoDTO(String assetId, String fileName, 
             AssetType type, AssetIntensity intensity) {
         
+        this(assetId, fileName, type, intensity, 1, 1, 1, 0d);
+    }
+
+
+    public AssetInfoDTO(String assetId, String fileName,
+            AssetType type, AssetIntensity intensity,
+            int frameCols, int frameRows, int frameCount, double framesPerSecond) {
+
+        if (frameCols <= 0 || frameRows <= 0) {
+            throw new IllegalArgumentException("Sprite sheet grid must be > 0");
+        }
+        if (frameCount <= 0 || frameCount > frameCols * frameRows) {
+            throw new IllegalArgumentException("Sprite sheet frame count out of range: " + frameCount);
+        }
+        if (frameCount > 1 && framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Animated asset FPS must be > 0");
+        }
+
         this.assetId = assetId;
         this.fileName = fileName;
         this.type = type;
         this.intensity = intensity;
+        this.frameCols = frameCols;
+        this.frameRows = frameRows;
+        this.frameCount = frameCount;
+        this.framesPerSecond = framesPerSecond;
+    }
+
+
+    public boolean isAnimated() {
+        return this.frameCount > 1;
     }
 }
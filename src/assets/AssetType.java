@@ -1,30 +1,47 @@
 package assets;
 
 
+/**
+ * Asset classification.
+ *
+ * Each type carries the default angle resolution (number of discrete
+ * rotation steps over 360 degrees) used by the ImageCache when it rasterises
+ * pre-rotated sprites of that type. Fast spinners and player-controlled
+ * bodies need finer steps to look smooth; decorators, effects and small
+ * projectiles can use coarse ones. It can be overridden per catalog with
+ * AssetCatalog.setAngleSteps().
+ */
 public enum AssetType {
-    BLACK_HOLE,
-    MOON,
-    PLANET,
-    SUN,
-    STATIC,
-    COSMIC_PORTAL,
-    CRACKS,
-    HALO,
-    LIGHT,
-    SHOT_HOLE,
-    ASTEROID,
-    LAB,
-    METEOR,
-    BUBBLES,
-    GALAXY,
-    RAINBOW,
-    STARDUST,
-    STARS,
-    ROCKET,
-    SPACESHIP,
-    UI_SIGN,
-    BULLET,
-    MINE,
-    MISSILE,
-    BACKGROUND
+    BLACK_HOLE(64),
+    MOON(64),
+    PLANET(64),
+    SUN(64),
+    STATIC(64),
+    COSMIC_PORTAL(64),
+    CRACKS(32),
+    HALO(32),
+    LIGHT(32),
+    SHOT_HOLE(32),
+    ASTEROID(64),
+    LAB(128),
+    METEOR(64),
+    BUBBLES(32),
+    GALAXY(32),
+    RAINBOW(32),
+    STARDUST(32),
+    STARS(32),
+    ROCKET(128),
+    SPACESHIP(128),
+    UI_SIGN(32),
+    BULLET(32),
+    MINE(32),
+    MISSILE(128),
+    BACKGROUND(1);
+
+    public final int defaultAngleSteps;
+
+
+    private AssetType(int defaultAngleSteps) {
+        this.defaultAngleSteps = defaultAngleSteps;
+    }
 }
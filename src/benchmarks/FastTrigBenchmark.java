@@ -0,0 +1,188 @@
+package benchmarks;
+
+
+import java.util.Random;
+
+import _helpers.DoubleVector;
+import _helpers.FastTrig;
+import model.physics.BasicPhysicsEngine;
+import model.physics.PhysicsValuesDTO;
+import view.renderables.ParticleSystem;
+
+
+/**
+ * FastTrigBenchmark
+ * -----------------
+ *
+ * Re-runs the numbers behind FastTrig: its error bounds and the speedup at
+ * every call site that adopted it.
+ *
+ * Error bounds
+ * ------------
+ * For 1024 and 4096 steps, interpolated and nearest entry: the largest
+ * |sin - Math.sin| / |cos - Math.cos| over ERROR_SAMPLES random angles in
+ * +-2000 degrees, and the largest unit() direction error, next to the
+ * documented bounds (maxError(), 180 / steps degrees).
+ *
+ * Speedups
+ * --------
+ * Each call site timed with the static helpers exact (setEnabled(false))
+ * and fast, ROUNDS times (the first round is JIT warmup):
+ * - sinDeg() + cosDeg() pair (BasicPhysicsEngine thrust, ParticleSystem)
+ * - unitVector() (Model.spawnProjectileFrom(), Renderer thrust trails)
+ * - DoubleVector.rotated()
+ * - BasicPhysicsEngine step of a thrusting body
+ * - ParticleSystem explosion spawn + integration, per particle
+ *
+ * JMH is not part of this build (no dependencies, offline): this is a
+ * plain main.
+ *
+ * Run: java -cp <classes> benchmarks.FastTrigBenchmark [rounds]
+ */
+public class FastTrigBenchmark {
+
+    private static final int ERROR_SAMPLES = 2_000_000;
+    private static final int TRIG_OPS = 20_000_000;
+    private static final int VECTOR_OPS = 10_000_000;
+    private static final int PHYSICS_OPS = 5_000_000;
+    private static final int PARTICLE_FRAMES = 400;
+    private static final int DEFAULT_ROUNDS = 3;
+
+    private static double sink = 0; // Keeps the results alive
+
+
+    /**
+     * PUBLICS
+     */
+    public static void main(String[] args) {
+        int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+
+        for (int steps : new int[] { 1024, FastTrig.DEFAULT_STEPS }) {
+            FastTrigBenchmark.errors(new FastTrig(steps, true));
+            FastTrigBenchmark.errors(new FastTrig(steps, false));
+        }
+
+        boolean wasEnabled = FastTrig.isEnabled();
+        System.out.println("ns per call    sin+cos   unitVector  rotated   physics   particle");
+        for (int r = 0; r < rounds; r++) {
+            for (boolean fast : new boolean[] { false, true }) {
+                FastTrig.setEnabled(fast);
+                System.out.printf("round %d %-5s %8.1f %11.1f %8.1f %9.1f %10.1f%n",
+                        r, fast ? "fast" : "exact",
+                        FastTrigBenchmark.sinCos(), FastTrigBenchmark.unitVector(),
+                        FastTrigBenchmark.rotated(), FastTrigBenchmark.physics(),
+                        FastTrigBenchmark.particles());
+            }
+        }
+        FastTrig.setEnabled(wasEnabled);
+
+        System.out.println("(sink " + FastTrigBenchmark.sink + ")");
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    private static void errors(FastTrig trig) {
+        Random rnd = new Random(3);
+        double maxError = 0;
+        double maxAngleError = 0;
+
+        for (int i = 0; i < ERROR_SAMPLES; i++) {
+            double degrees = (rnd.nextDouble() - 0.5d) * 4000d;
+            double radians = Math.toRadians(degrees);
+            maxError = Math.max(maxError, Math.abs(trig.sin(degrees) - Math.sin(radians)));
+            maxError = Math.max(maxError, Math.abs(trig.cos(degrees) - Math.cos(radians)));
+
+            DoubleVector unit = trig.unit(degrees);
+            double angleError = Math.toDegrees(Math.atan2(unit.y, unit.x)) - degrees;
+            angleError = Math.abs(angleError - 360d * Math.round(angleError / 360d));
+            maxAngleError = Math.max(maxAngleError, angleError);
+        }
+
+        System.out.printf("%4d steps %-12s sin/cos %.3g (bound %.3g)  unit %.4f deg (bound %.4f)%n",
+                trig.getSteps(), trig.isInterpolated() ? "interpolated" : "nearest",
+                maxError, trig.maxError(), maxAngleError, 180d / trig.getSteps());
+    }
+
+
+    private static double sinCos() {
+        double sum = 0;
+        double degrees = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TRIG_OPS; i++) {
+            degrees += 0.731d;
+            sum += FastTrig.cosDeg(degrees) + FastTrig.sinDeg(degrees);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        FastTrigBenchmark.sink += sum;
+        return (double) elapsed / TRIG_OPS;
+    }
+
+
+    private static double unitVector() {
+        double sum = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < VECTOR_OPS; i++) {
+            DoubleVector dir = FastTrig.unitVector(i * 0.37d);
+            sum += dir.x + dir.y;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        FastTrigBenchmark.sink += sum;
+        return (double) elapsed / VECTOR_OPS;
+    }
+
+
+    private static double rotated() {
+        DoubleVector vector = new DoubleVector(3, 4);
+        double sum = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < VECTOR_OPS; i++) {
+            sum += vector.rotated(i * 0.37d).x;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        FastTrigBenchmark.sink += sum;
+        return (double) elapsed / VECTOR_OPS;
+    }
+
+
+    private static double physics() {
+        // Thrusting body: the thrust direction is the trig call site
+        BasicPhysicsEngine engine = new BasicPhysicsEngine(
+                new PhysicsValuesDTO(System.nanoTime(), 0, 0, 10, 20, 1, 1, 0, 0, 45, 0, 80));
+        double sum = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < PHYSICS_OPS; i++) {
+            PhysicsValuesDTO values = engine.calcNewPhysicsValues();
+            engine.setPhysicsValues(values);
+            sum += values.accX;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        FastTrigBenchmark.sink += sum;
+        return (double) elapsed / PHYSICS_OPS;
+    }
+
+
+    private static double particles() {
+        ParticleSystem particles = new ParticleSystem(65_536);
+
+        long start = System.nanoTime();
+        for (int f = 0; f < PARTICLE_FRAMES; f++) {
+            for (int k = 0; k < 20; k++) {
+                particles.emit(ParticleSystem.EXPLOSION, 100, 100, 20, 5, 5, k * 17, 1);
+            }
+            particles.update(10);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return (double) elapsed / Math.max(1, particles.getSpawned());
+    }
+}
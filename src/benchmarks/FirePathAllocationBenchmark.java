@@ -0,0 +1,137 @@
+package benchmarks;
+
+
+import java.lang.management.ManagementFactory;
+
+import _helpers.DoubleVector;
+import _helpers.FastTrig;
+import model.weapons.WeaponDto;
+import model.weapons.WeaponFactory;
+import model.weapons.WeaponType;
+import model.weapons.ports.Weapon;
+
+
+/**
+ * FirePathAllocationBenchmark
+ * ---------------------------
+ *
+ * Bytes allocated per tick on the weapon fire path, which must be zero:
+ * - Weapon ticks: registerFireRequest() (every FIRE_REQUEST_PERIOD ticks)
+ * and mustFireNow(dt), over one weapon of every WeaponType, so the
+ * AbstractWeapon reload path and the BurstWeapon burst path are covered.
+ * - Every shot then aims as Model.spawnProjectileFrom() does: the shared
+ * config (getWeaponConfig()), the shared unit vector of the shooter angle
+ * (FastTrig.unitVector()) and the muzzle / speed / acceleration math.
+ * Spawning the projectile itself is the pool's business (see Model) and is
+ * not part of this loop.
+ *
+ * Allocation is read from ThreadMXBean around each round of TICKS ticks;
+ * the first WARMUP_ROUNDS let the JIT settle and are not checked. Exits
+ * with status 1 when a measured round allocates. Run it also with
+ * -XX:-DoEscapeAnalysis: otherwise C2 may scalar-replace allocations that
+ * call sites it cannot inline would still pay.
+ *
+ * JMH (and its allocation profiler) is not part of this build (no
+ * dependencies, offline): this is a plain main.
+ *
+ * Run: java -cp <classes> benchmarks.FirePathAllocationBenchmark [rounds]
+ */
+public class FirePathAllocationBenchmark {
+
+    private static final int TICKS = 5_000_000;
+    private static final int FIRE_REQUEST_PERIOD = 64; // Power of two: period is a mask
+    private static final double DT_SECONDS = 0.03d;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int DEFAULT_ROUNDS = 3;
+
+    private final Weapon[] weapons;
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+    private long shots = 0;
+    private double sink = 0; // Keeps the aim math alive
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    public FirePathAllocationBenchmark() {
+        WeaponType[] types = WeaponType.values();
+        this.weapons = new Weapon[types.length];
+
+        for (int i = 0; i < types.length; i++) {
+            this.weapons[i] = WeaponFactory.create(new WeaponDto(
+                    types[i], "bullet", 5, 300, 10, 1, // asset, size, speed, acc, acc time
+                    3, 20, 8, // burstSize, burstFireRate, fireRate
+                    30, 1.5, 1, 3, 20)); // maxAmmo, reloadTime, mass, life, offset
+        }
+    }
+
+
+    /**
+     * PUBLICS
+     */
+    public static void main(String[] args) {
+        int rounds = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+
+        FirePathAllocationBenchmark bench = new FirePathAllocationBenchmark();
+        boolean allocates = false;
+
+        for (int r = 0; r < WARMUP_ROUNDS + rounds; r++) {
+            bench.shots = 0;
+            long start = System.nanoTime();
+            long bytes = bench.round();
+            long elapsed = System.nanoTime() - start;
+
+            if (r >= WARMUP_ROUNDS) {
+                allocates |= bytes > 0;
+                System.out.printf("round %d: %.2f B/tick (%d B)  %.1f ns/tick  %d shots%n",
+                        r - WARMUP_ROUNDS, (double) bytes / TICKS, bytes,
+                        (double) elapsed / TICKS, bench.shots);
+            }
+        }
+
+        System.out.println(allocates ? "FAIL: the fire path allocates" : "OK: 0 B/tick");
+        System.out.println("(sink " + bench.sink + ")");
+        if (allocates) {
+            System.exit(1);
+        }
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    private long round() {
+        Weapon[] weapons = this.weapons;
+        long allocated = this.threads.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < TICKS; i++) {
+            Weapon weapon = weapons[i % weapons.length];
+            if ((i & (FIRE_REQUEST_PERIOD - 1)) == 0) {
+                weapon.registerFireRequest();
+            }
+            if (weapon.mustFireNow(DT_SECONDS)) {
+                this.aim(weapon, i * 0.7d);
+            }
+        }
+
+        return this.threads.getCurrentThreadAllocatedBytes() - allocated;
+    }
+
+
+    private void aim(Weapon weapon, double angle) {
+        // Same steps as Model.spawnProjectileFrom(), up to addProjectile()
+        WeaponDto weaponConfig = weapon.getWeaponConfig();
+        DoubleVector dir = FastTrig.unitVector(angle);
+
+        double posX = dir.y * weaponConfig.shootingOffset;
+        double posY = -dir.x * weaponConfig.shootingOffset;
+        double speedX = weaponConfig.firingSpeed * dir.x;
+        double speedY = weaponConfig.firingSpeed * dir.y;
+        double accX = weaponConfig.acceleration * dir.x;
+        double accY = weaponConfig.acceleration * dir.y;
+
+        this.sink += posX + posY + speedX + speedY + accX + accY;
+        this.shots++;
+    }
+}
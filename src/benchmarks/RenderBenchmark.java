@@ -0,0 +1,213 @@
+package benchmarks;
+
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import images.ImageCache;
+import images.Images;
+import view.renderables.RenderDTO;
+import view.renderables.Renderable;
+
+
+/**
+ * RenderBenchmark
+ * ---------------
+ *
+ * Headless sprites/sec of the dynamic sprite path, before and after
+ * sprites came pre-rotated from the ImageCache:
+ * - blit: what Renderable does now. update() resolves the pre-rotated,
+ * padded sprite from the cache and paint() is an untransformed blit.
+ * - transformed: the former path. Sprites are cached scaled but not
+ * rotated, and every paint sets a new AffineTransform (translate + rotate)
+ * on the Graphics2D, which takes Java2D off its blit loops.
+ *
+ * Both draw the same sprites (random asset from ASSETS, size MIN_SIZE..
+ * MAX_SIZE px, angle and position) onto a WIDTH x HEIGHT INT_RGB image,
+ * cleared every frame. WARMUP_FRAMES are drawn first and not timed; the
+ * transformed images are built once beforehand, so that mode is not
+ * charged a cache lookup (the blit mode is).
+ *
+ * Run: Main --render-bench [sprites [frames]]
+ * or java -cp <classes> benchmarks.RenderBenchmark [sprites [frames]]
+ */
+public class RenderBenchmark {
+
+    public static final int DEFAULT_SPRITES = 5000;
+    public static final int DEFAULT_FRAMES = 1000;
+
+    private static final String[] ASSETS = { "asteroid-1-mini.png", "asteroid-2-mini.png",
+            "asteroid-3-mini.png", "spaceship-1.png", "bullet-1.png", "misil-1-mini.png" };
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int MIN_SIZE = 10;
+    private static final int MAX_SIZE = 40;
+    private static final int WARMUP_FRAMES = 200;
+
+    private final int sprites;
+    private final BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    private final Graphics2D g = this.target.createGraphics();
+    private final ImageCache cache;
+    private final Renderable[] renderables;
+    private final RenderDTO[] values;
+    private final BufferedImage[] unrotated; // Transformed mode: scaled, not rotated
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    public RenderBenchmark(int sprites) {
+        if (sprites <= 0) {
+            throw new IllegalArgumentException("Sprites must be > 0");
+        }
+
+        this.sprites = sprites;
+        this.renderables = new Renderable[sprites];
+        this.values = new RenderDTO[sprites];
+        this.unrotated = new BufferedImage[sprites];
+
+        GraphicsConfiguration gc = this.g.getDeviceConfiguration();
+        Images images = new Images("src/resources/images/");
+        for (String asset : ASSETS) {
+            images.add(asset, asset);
+        }
+        this.cache = new ImageCache(gc, images);
+
+        BufferedImage[][] scaled = new BufferedImage[ASSETS.length][MAX_SIZE + 1];
+        Random rnd = new Random(1);
+        for (int i = 0; i < sprites; i++) {
+            int asset = rnd.nextInt(ASSETS.length);
+            int size = MIN_SIZE + rnd.nextInt(MAX_SIZE - MIN_SIZE + 1);
+            String entityId = "e" + i;
+
+            this.values[i] = new RenderDTO(entityId,
+                    rnd.nextDouble() * WIDTH, rnd.nextDouble() * HEIGHT, rnd.nextDouble() * 360d, size);
+            this.renderables[i] = new Renderable(entityId, ASSETS[asset], this.cache, 0);
+
+            if (scaled[asset][size] == null) {
+                scaled[asset][size] = RenderBenchmark.scale(
+                        images.getImage(ASSETS[asset]).image, size, gc);
+            }
+            this.unrotated[i] = scaled[asset][size];
+        }
+    }
+
+
+    /**
+     * PUBLICS
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int sprites = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_SPRITES;
+        int frames = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+
+        RenderBenchmark.run(sprites, frames);
+    }
+
+
+    /**
+     * Prints sprites/sec and ms/frame of both modes
+     */
+    public static void run(int sprites, int frames) throws InterruptedException {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Frames must be > 0");
+        }
+
+        RenderBenchmark bench = new RenderBenchmark(sprites);
+        bench.fill();
+
+        System.out.println(sprites + " sprites, " + MIN_SIZE + "-" + MAX_SIZE + " px, "
+                + WIDTH + "x" + HEIGHT + ", " + frames + " frames");
+        bench.report("transformed", bench.measure(false, frames), frames);
+        bench.report("blit", bench.measure(true, frames), frames);
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    private void fill() throws InterruptedException {
+        // Misses are rasterised asynchronously: update until every sprite hits
+        boolean missing = true;
+        while (missing) {
+            missing = false;
+            for (int i = 0; i < this.sprites; i++) {
+                this.renderables[i].update(this.values[i], 0);
+                if (this.renderables[i].getSprite() == null) {
+                    missing = true;
+                }
+            }
+            if (missing) {
+                Thread.sleep(50);
+            }
+        }
+    }
+
+
+    private long measure(boolean blit, int frames) {
+        for (int f = 0; f < WARMUP_FRAMES; f++) {
+            this.frame(blit, f);
+        }
+
+        long start = System.nanoTime();
+        for (int f = 0; f < frames; f++) {
+            this.frame(blit, WARMUP_FRAMES + f);
+        }
+
+        return System.nanoTime() - start;
+    }
+
+
+    private void frame(boolean blit, long frame) {
+        this.g.setColor(Color.BLACK);
+        this.g.fillRect(0, 0, WIDTH, HEIGHT);
+
+        if (blit) {
+            for (int i = 0; i < this.sprites; i++) {
+                this.renderables[i].update(this.values[i], frame);
+                this.renderables[i].paint(this.g);
+            }
+            return; // =======================================================>
+        }
+
+        AffineTransform original = this.g.getTransform();
+        for (int i = 0; i < this.sprites; i++) {
+            RenderDTO values = this.values[i];
+            BufferedImage image = this.unrotated[i];
+            double half = image.getWidth() / 2d;
+
+            AffineTransform transform = new AffineTransform(original);
+            transform.translate(values.posX, values.posY);
+            transform.rotate(Math.toRadians(values.angle));
+            transform.translate(-half, -half);
+
+            this.g.setTransform(transform);
+            this.g.drawImage(image, 0, 0, null);
+        }
+        this.g.setTransform(original);
+    }
+
+
+    private void report(String mode, long nanos, int frames) {
+        double seconds = nanos / 1e9d;
+
+        System.out.printf("%-12s %9.0f sprites/s  %7.2f ms/frame%n",
+                mode, (double) this.sprites * frames / seconds, seconds * 1000d / frames);
+    }
+
+
+    private static BufferedImage scale(BufferedImage source, int size, GraphicsConfiguration gc) {
+        BufferedImage image = gc.createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, size, size, null);
+        g.dispose();
+
+        return image;
+    }
+}
@@ -0,0 +1,203 @@
+package benchmarks;
+
+
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import images.ImageCache;
+import images.Images;
+import images.Sprite;
+
+
+/**
+ * SpriteLookupBenchmark
+ * ---------------------
+ *
+ * Sprite lookups per second of ImageCache hits (primitive long keys in
+ * LongSpriteMap, no allocation) against the map it replaced: an
+ * access-ordered LinkedHashMap keyed by an (assetId, size, angle) object,
+ * behind a lock, so every lookup allocates its key, hashes boxed ints and
+ * compares strings.
+ *
+ * Both maps answer the same random query stream (QUERIES entries over
+ * ASSETS assets, sizes MIN_SIZE..MIN_SIZE + SIZES - 1, ANGLE_STEPS angle
+ * steps), already cached, so only the hit path is measured. Each trial
+ * runs OPS lookups and reports lookups/s and bytes allocated per lookup
+ * (ThreadMXBean). The first WARMUP_TRIALS trials let the JIT settle and
+ * are not printed.
+ *
+ * JMH is not part of this build (no dependencies, offline): this is a
+ * plain main with the same warmup / measured trials structure.
+ *
+ * Run: java -cp <classes> benchmarks.SpriteLookupBenchmark [trials]
+ */
+public class SpriteLookupBenchmark {
+
+    private static final String[] ASSETS = { "asteroid-1", "asteroid-2", "spaceship", "moon" };
+    private static final String ASSET_FILE = "asteroid-1-mini.png";
+    private static final int ANGLE_STEPS = 64;
+    private static final int MIN_SIZE = 10;
+    private static final int SIZES = 20;
+    private static final int QUERIES = 1 << 16; // Power of two: index is a mask
+    private static final long OPS = 20_000_000L;
+    private static final int WARMUP_TRIALS = 3;
+    private static final int DEFAULT_TRIALS = 5;
+
+    private final ImageCache cache;
+    private final Map<Key, Sprite> baseline = new LinkedHashMap<>(256, 0.75f, true);
+    private final int[] queryAsset = new int[QUERIES];
+    private final int[] querySize = new int[QUERIES];
+    private final int[] queryAngle = new int[QUERIES];
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+    private long sink = 0; // Keeps the lookups alive
+
+
+    /**
+     * CONSTRUCTORS
+     */
+    public SpriteLookupBenchmark() {
+        GraphicsConfiguration gc = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB)
+                .createGraphics().getDeviceConfiguration();
+
+        Images images = new Images("src/resources/images/");
+        for (String assetId : ASSETS) {
+            images.add(assetId, ASSET_FILE, ANGLE_STEPS);
+        }
+        this.cache = new ImageCache(gc, images);
+
+        Random rnd = new Random(1);
+        for (int i = 0; i < QUERIES; i++) {
+            this.queryAsset[i] = rnd.nextInt(ASSETS.length);
+            this.querySize[i] = MIN_SIZE + rnd.nextInt(SIZES);
+            this.queryAngle[i] = rnd.nextInt(360);
+        }
+    }
+
+
+    /**
+     * PUBLICS
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int trials = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_TRIALS;
+
+        SpriteLookupBenchmark bench = new SpriteLookupBenchmark();
+        bench.fill();
+
+        for (int t = 0; t < WARMUP_TRIALS + trials; t++) {
+            boolean report = t >= WARMUP_TRIALS;
+            bench.trial("LinkedHashMap<Key>", false, report);
+            bench.trial("ImageCache", true, report);
+        }
+
+        System.out.println("(sink " + bench.sink + ")");
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    private void fill() throws InterruptedException {
+        int[] assetIdx = new int[ASSETS.length];
+        for (int i = 0; i < ASSETS.length; i++) {
+            assetIdx[i] = this.cache.getAssetIndex(ASSETS[i]);
+        }
+
+        // Misses are rasterised asynchronously: ask until every query hits
+        boolean missing = true;
+        while (missing) {
+            missing = false;
+            for (int i = 0; i < QUERIES; i++) {
+                if (this.cache.getSprite(assetIdx[this.queryAsset[i]], this.querySize[i],
+                        this.queryAngle[i]) == null) {
+                    missing = true;
+                }
+            }
+            if (missing) {
+                Thread.sleep(50);
+            }
+        }
+
+        for (int i = 0; i < QUERIES; i++) {
+            this.queryAsset[i] = assetIdx[this.queryAsset[i]];
+
+            Sprite sprite = this.cache.getSprite(this.queryAsset[i], this.querySize[i], this.queryAngle[i]);
+            this.baseline.put(this.baselineKey(i), sprite);
+        }
+    }
+
+
+    private Key baselineKey(int query) {
+        // The replaced cache keyed by the angle rounded to its step
+        int angleStep = ImageCache.toAngleStep(this.queryAngle[query], ANGLE_STEPS);
+        return new Key(ASSETS[this.queryAsset[query]], this.querySize[query], angleStep);
+    }
+
+
+    private void trial(String name, boolean imageCache, boolean report) {
+        long allocated = this.threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        if (imageCache) {
+            for (long i = 0; i < OPS; i++) {
+                int q = (int) (i & (QUERIES - 1));
+                this.sink += this.cache.getSprite(this.queryAsset[q], this.querySize[q], this.queryAngle[q]).width;
+            }
+        } else {
+            for (long i = 0; i < OPS; i++) {
+                int q = (int) (i & (QUERIES - 1));
+                synchronized (this.baseline) {
+                    this.sink += this.baseline.get(this.baselineKey(q)).width;
+                }
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        allocated = this.threads.getCurrentThreadAllocatedBytes() - allocated;
+
+        if (report) {
+            System.out.printf("%-18s %6.1f M lookups/s  %5.1f B/lookup%n",
+                    name, OPS / (elapsed / 1e3d), (double) allocated / OPS);
+        }
+    }
+
+
+    /**
+     * Key of the replaced map (the former ImageCacheKeyDTO)
+     */
+    private static final class Key {
+
+        private final String assetId;
+        private final int size;
+        private final int angleStep;
+
+
+        Key(String assetId, int size, int angleStep) {
+            this.assetId = assetId;
+            this.size = size;
+            this.angleStep = angleStep;
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.size == other.size && this.angleStep == other.angleStep
+                    && this.assetId.equals(other.assetId);
+        }
+
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.assetId, this.size, this.angleStep);
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package controller;
 
 import assets.AssetCatalog;
+import assets.AssetInfoDTO;
+import assets.AssetType;
 import controller.mappers.DynamicRenderableMapper;
-import controller.mappers.RenderableMapper;
 import controller.mappers.WeaponMapper;
 import controller.ports.DomainEventProcesor;
+import controller.ports.ViewPort;
 import controller.ports.WorldEvolver;
 import controller.ports.WorldInitializer;
 
 import java.awt.Dimension;
 import view.renderables.DynamicRenderDTO;
-import view.View;
 import model.Model;
 import model.bodies.AbstractBody;
 import model.bodies.BodyDTO;
+import model.bodies.DynamicBody;
 import model.weapons.WeaponDto;
 import model.ActionType;
 import model.EventType;
@@ -23,7 +25,6 @@ import model.ActionDTO;
 import model.ActionExecutor;
 import model.ActionPriority;
 import model.EventDTO;
-import view.renderables.RenderDTO;
 import world.WorldDefWeaponDto;
 
 /**
@@ -31,7 +32,8 @@ import world.WorldDefWeaponDto;
  * ----------
  *
  * Central coordinator of the MVC triad:
- * - Owns references to Model and View.
+ * - Owns references to Model and View (any ViewPort: the Swing View, or
+ * NullView to run headless, without a display).
  * - Performs engine startup wiring (assets, world definition, dimensions,
  * limits).
  * - Bridges user input (View) into Model commands.
@@ -50,14 +52,13 @@ import world.WorldDefWeaponDto;
  * - Switches controller state to ALIVE when everything is ready.
  *
  * 2) World building / entity creation
- * - addDBody / addSBody / addDecorator / addPlayer delegate entity creation
- * to the Model.
- * - Important: static bodies and decorators are "push-updated" into the View:
- * after adding a static/decorator entity, the controller fetches a fresh
- * static/decorator snapshot from the Model and pushes it to the View
- * (View.updateSBodyInfo / View.updateDecoratorsInfo). This matches the design
- * where static/decorator visuals usually do not change every frame, so you
- * avoid unnecessary per-frame updates.
+ * - addDBody / addSBody / addGravityBody / addDecorator / addPlayer
+ * delegate entity creation to the Model.
+ * - Important: static bodies, gravity bodies and decorators are "push-once"
+ * into the View: they are immutable, so after the Model stores one of them
+ * the controller forwards its values to the View (View.addStaticRenderable)
+ * exactly once. No snapshot is rebuilt per addition, so building a scene of
+ * N static items is O(N).
  *
  * 3) Runtime command dispatch
  * - Exposes high-level player commands that the View calls in response to
@@ -72,8 +73,6 @@ import world.WorldDefWeaponDto;
  * - getDBodyInfo(): returns dynamic snapshot data from the Model. This is
  * intended to be pulled frequently (typically once per frame by the
  * Renderer thread).
- * - getSBodyInfo() / getDecoratorInfo(): used to push snapshots when
- * static/decorator content changes.
  *
  * 5) Game rules / decision layer (rule-based actions)
  * - decideActions(entity, events) takes Model events (EventDTO) and produces
@@ -81,6 +80,10 @@ import world.WorldDefWeaponDto;
  * - applyGameRules(...) maps events -> actions:
  * * World boundary reached => DIE (high priority)
  * * MUST_FIRE => FIRE (high priority)
+ * * LIFE_OVER => DIE (high priority) by default. Asteroids (ASTEROID
+ * asset) and fragments get EXPLODE_IN_FRAGMENTS instead: the body dies,
+ * the View gets an explosion (particles) where it was and, if it was big
+ * enough, a batch of smaller fragment bodies (same asset) spreads out
  * * COLLIDED / NONE => no additional action
  * - If no "death-like" action is present, MOVE is appended by default.
  * This creates a deterministic baseline: entities always move unless
@@ -93,7 +96,7 @@ import world.WorldDefWeaponDto;
  * - STARTING: initial state after construction
  * - ALIVE: set after activate() finishes successfully
  * - PAUSED: set via enginePause()
- * - STOPPED: set via engineStop()
+ * - STOPPED: set via engineStop(), which also stops the Model
  *
  * Dependency injection rules
  * --------------------------
@@ -108,7 +111,7 @@ import world.WorldDefWeaponDto;
  * ---------------
  * - The Controller itself mostly acts as a facade. The key concurrency point
  * is snapshot access: Renderer thread pulls getDBodyInfo() frequently.
- * Static/decorator snapshots are pushed occasionally from the "logic side"
+ * Static/decorator values are pushed once from the "logic side"
  * (model->controller->view).
  * - Keeping Controller methods small and side-effect-light reduces contention
  * and makes it easier to reason about where cross-thread interactions happen.
@@ -118,11 +121,12 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
     private volatile EngineState engineState;
     private int maxEntities;
     private Model model;
-    private View view;
+    private ViewPort view;
     private Dimension worldDimension;
+    private AssetCatalog assets; // Asset types for the game rules
 
     public Controller(int worldWidth, int worldHigh, int maxDBodies,
-            View view, Model model, AssetCatalog assets) {
+            ViewPort view, Model model, AssetCatalog assets) {
 
         this.engineState = EngineState.STARTING;
         this.setWorldDimension(worldWidth, worldHigh);
@@ -131,7 +135,7 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
         this.setModel(model);
 
         this.setView(view);
-        this.view.loadAssets(assets);
+        this.loadAssets(assets);
     }
 
     /**
@@ -168,7 +172,7 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
             double speedX, double speedY, double accX, double accY,
             double angle, double angularSpeed, double angularAcc, double thrust) {
 
-        String entityId = this.model.addDynamicBody(size, posX, posY, speedX, speedY,
+        String entityId = this.model.addDynamicBody(assetId, size, posX, posY, speedX, speedY,
                 accX, accY, angle, angularSpeed, angularAcc, thrust);
 
         if (entityId == null || entityId.isEmpty()) {
@@ -178,27 +182,31 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
     }
 
     public void addDecorator(String assetId, double size, double posX, double posY, double angle) {
-        String entityId = this.model.addDecorator(size, posX, posY, angle);
+        int index = this.model.addDecorator(size, posX, posY, angle);
 
-        if (entityId == null || entityId.isEmpty()) {
-            return; // ======= Max entity quantity reached =======>>
+        if (index < 0) {
+            return; // ======= Decorator not stored =======>>
         }
-        this.view.addStaticRenderable(entityId, assetId);
-        ArrayList<BodyDTO> bodiesData = this.model.getStaticsData();
-        ArrayList<RenderDTO> renderablesData = RenderableMapper.fromBodyDTO(bodiesData);
-
-        this.view.updateStaticRenderables(renderablesData);
+        this.view.addStaticRenderable(assetId, size, posX, posY, angle);
     }
 
     public void notifyNewProjectileFired(String entityId, String assetId) {
         this.view.addDynamicRenderable(entityId, assetId);
     }
 
+    public void notifyExplosion(double posX, double posY, double speedX, double speedY, double size) {
+        this.view.addExplosion(posX, posY, speedX, speedY, size);
+    }
+
+    public void notifyFragmentsSpawned(String assetId, String[] entityIds, double lifeSeconds) {
+        this.view.addFragmentRenderables(assetId, entityIds, lifeSeconds);
+    }
+
     public String addPlayer(String assetId, double size, double posX, double posY,
             double speedX, double speedY, double accX, double accY,
             double angle, double angularSpeed, double angularAcc, double thrust) {
 
-        String entityId = this.model.addPlayer(size, posX, posY, speedX, speedY,
+        String entityId = this.model.addPlayer(assetId, size, posX, posY, speedX, speedY,
                 accX, accY, angle, angularSpeed, angularAcc, thrust);
 
         if (entityId == null) {
@@ -209,18 +217,22 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
         return entityId;
     }
 
-    public void addStaticBody(String assetId, double size, double posX, double posY, double angle) {
+    public void addGravityBody(String assetId, double size, double posX, double posY, double angle) {
+        int index = this.model.addGravityBody(size, posX, posY, angle);
 
-        String entityId = this.model.addStaticBody(size, posX, posY, angle);
-        ArrayList<BodyDTO> bodiesData = this.model.getStaticsData();
-        ArrayList<RenderDTO> renderablesData = RenderableMapper.fromBodyDTO(bodiesData);
-
-        if (entityId == null || entityId.isEmpty()) {
-            return; // ======= Max entity quantity reached =======>>
+        if (index < 0) {
+            return; // ======= Gravity body not stored =======>>
         }
-        this.view.addStaticRenderable(entityId, assetId);
+        this.view.addStaticRenderable(assetId, size, posX, posY, angle);
+    }
 
-        this.view.updateStaticRenderables(renderablesData);
+    public void addStaticBody(String assetId, double size, double posX, double posY, double angle) {
+        int index = this.model.addStaticBody(size, posX, posY, angle);
+
+        if (index < 0) {
+            return; // ======= Static body not stored =======>>
+        }
+        this.view.addStaticRenderable(assetId, size, posX, posY, angle);
     }
 
     public void addWeaponToPlayer(String playerId, WorldDefWeaponDto weaponDef, int shootingOffset) {
@@ -230,6 +242,27 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
         this.model.addWeaponToPlayer(playerId, weapon);
     }
 
+    /**
+     * Asteroids and their fragments explode when their life is over; any
+     * other body just dies
+     */
+    private boolean breaksInFragments(AbstractBody body) {
+        if (!(body instanceof DynamicBody)) {
+            return false; // ==================================================>
+        }
+
+        DynamicBody dBody = (DynamicBody) body;
+        if (dBody.getGeneration() > 0) {
+            return true; // ====================================== Fragment ==>
+        }
+
+        AssetInfoDTO assetInfo = (this.assets == null || dBody.getAssetId() == null)
+                ? null
+                : this.assets.get(dBody.getAssetId());
+
+        return assetInfo != null && assetInfo.type == AssetType.ASTEROID;
+    }
+
     private List<ActionDTO> applyGameRules(AbstractBody body, EventDTO event) {
 
         List<ActionDTO> actions = new ArrayList<>(2);
@@ -249,8 +282,13 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
                 break;
 
             case LIFE_OVER:
-                actions.add(new ActionDTO(
-                        ActionType.DIE, ActionExecutor.MODEL, ActionPriority.HIGH));
+                if (this.breaksInFragments(body)) {
+                    actions.add(new ActionDTO(
+                            ActionType.EXPLODE_IN_FRAGMENTS, ActionExecutor.MODEL, ActionPriority.HIGH));
+                } else {
+                    actions.add(new ActionDTO(
+                            ActionType.DIE, ActionExecutor.BODY, ActionPriority.HIGH));
+                }
                 break;
 
             case COLLIDED:
@@ -287,6 +325,9 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
 
     public void engineStop() {
         this.engineState = EngineState.STOPPED;
+        if (this.model != null) {
+            this.model.stop();
+        }
     }
 
     public EngineState getEngineState() {
@@ -317,6 +358,13 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
         return this.model.getDeadQuantity();
     }
 
+    /**
+     * Shots served by reused projectiles, in %
+     */
+    public double getProjectilePoolHitRate() {
+        return this.model.getProjectilePoolHitRate();
+    }
+
     public int getMaxEntities() {
         return this.maxEntities;
     }
@@ -326,9 +374,14 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
     }
 
     public void loadAssets(AssetCatalog assets) {
+        this.assets = assets;
         this.view.loadAssets(assets);
     }
 
+    public void prewarmSprites(String assetId, int minSize, int maxSize) {
+        this.view.prewarmSprites(assetId, minSize, maxSize);
+    }
+
     public void playerFire(String playerId) {
         this.model.playerFire(playerId);
     }
@@ -370,7 +423,7 @@ public class Controller implements WorldEvolver, WorldInitializer, DomainEventPr
         this.model.setDomainEventProcessor(this);
     }
 
-    public void setView(View view) {
+    public void setView(ViewPort view) {
         this.view = view;
         this.view.setController(this);
     }
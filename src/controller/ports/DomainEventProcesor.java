@@ -10,5 +10,9 @@ public interface DomainEventProcesor {
 
     public void notifyNewProjectileFired(String entityId, String assetId);
 
+    public void notifyExplosion(double posX, double posY, double speedX, double speedY, double size);
+
+    public void notifyFragmentsSpawned(String assetId, String[] entityIds, double lifeSeconds);
+
     public List<ActionDTO> decideActions(AbstractBody entity, List<EventDTO> events);
 }
@@ -0,0 +1,36 @@
+package controller.ports;
+
+import java.awt.Dimension;
+
+import assets.AssetCatalog;
+import controller.Controller;
+
+/**
+ * What the Controller needs from a view.
+ *
+ * The Swing View is the usual implementation; NullView lets the engine run
+ * without a display (servers, simulation-only load tests). Renderers pull
+ * their dynamic snapshots from the Controller, so nothing here is per frame.
+ */
+public interface ViewPort {
+
+    public void activate();
+
+    public void addDynamicRenderable(String entityId, String assetId);
+
+    public void addExplosion(double posX, double posY, double speedX, double speedY, double size);
+
+    public void addFragmentRenderables(String assetId, String[] entityIds, double lifeSeconds);
+
+    public void addStaticRenderable(String assetId, double size, double posX, double posY, double angle);
+
+    public void loadAssets(AssetCatalog assets);
+
+    public void prewarmSprites(String assetId, int minSize, int maxSize);
+
+    public void setController(Controller controller);
+
+    public void setDimension(Dimension worldDim);
+
+    public void setLocalPlayer(String playerId);
+}
@@ -20,6 +20,8 @@ public interface WorldEvolver {
 
     public EngineState getEngineState();
 
+    public void prewarmSprites(String assetId, int minSize, int maxSize);
+
     public void setLocalPlayer(String playerId);
 
 }
@@ -6,6 +6,8 @@ public interface WorldInitializer {
 
     public void loadAssets(AssetCatalog assets);
 
+    public void addGravityBody(String assetId, double size, double posX, double posY, double angle);
+
     public void addStaticBody(String assetId, double size, double posX, double posY, double angle);
 
     public void addDecorator(String assetId, double size, double posX, double posY, double angle);
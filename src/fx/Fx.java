@@ -1,97 +1,112 @@
 package fx;
 
-
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
-import view.renderables.DynamicRenderable;
-
+import view.renderables.Renderable;
 
 /**
+ * Fx
+ * --
+ *
+ * Timeline based visual effect attached to a renderable (by entity id).
+ *
+ * Effects are not threads: the FxScheduler advances every active effect
+ * once per rendered frame with the frame's delta time (tick()) and then
+ * lets it modify its renderable for that frame (apply()). Effect state is
+ * a function of the elapsed time, so the animation speed does not depend
+ * on the frame rate.
+ *
+ * Instances are pooled by the FxScheduler: they are configured with the
+ * start methods of each subclass, recycled when finished and reused for the
+ * next effect of the same kind. Subclasses must not allocate in tick() or
+ * apply().
  *
- * @author juanm
+ * Duration 0 means endless (until the renderable disappears or the effect
+ * is cancelled).
  */
-public abstract class Fx extends Thread {
-
-    private long delayMills;
-    private DynamicRenderable renderable;
-    private FxImage fxImage;
-    private FxTyoe animationType;
+public abstract class Fx {
 
+    private final FxTyoe animationType;
+    private String entityId;
+    private double durationSeconds;
+    private double elapsedSeconds;
+    private boolean cancelled;
 
     /**
      * CONSTRUCTORS
      */
-    public Fx() {
-        this.delayMills = 0;
+    protected Fx(FxTyoe animationType) {
+        this.animationType = animationType;
     }
 
-
     /**
-     * STATICS
+     * PUBLICS
      */
-    static public BufferedImage loadImage(String fileName) {
-        BufferedImage img;
-
-        img = null;
-        try {
-            img = ImageIO.read(new File(fileName));
-        } catch (IOException e) {
-            System.err.println("ERROR: Loading image · <Animation> · [" + fileName + "] · " + e.getMessage());
-            img = null;
-        }
+    public abstract void apply(Renderable renderable);
 
-        return img;
+    public void cancel() {
+        this.cancelled = true;
     }
 
-
-    /**
-     * PUBLICS
-     */
     public FxTyoe getAnimationType() {
         return this.animationType;
     }
 
-
-    public long getDelayMillis() {
-        return this.delayMills;
+    public double getDurationSeconds() {
+        return this.durationSeconds;
     }
 
-
-    public DynamicRenderable getRenderable() {
-        return this.renderable;
+    public double getElapsedSeconds() {
+        return this.elapsedSeconds;
     }
 
-
-    public FxImage getVOImage() {
-        return this.fxImage;
+    public String getEntityId() {
+        return this.entityId;
     }
 
-
-    public boolean isVOImageSetted() {
-        return this.fxImage != null;
+    public boolean isFinished() {
+        return this.cancelled
+                || (this.durationSeconds > 0 && this.elapsedSeconds >= this.durationSeconds);
     }
 
-
-    public void setAnimationType(FxTyoe animationType) {
-        this.animationType = animationType;
+    /**
+     * Advances the timeline (render thread, once per frame)
+     */
+    public void tick(double dtSeconds) {
+        this.elapsedSeconds += dtSeconds;
     }
 
+    /**
+     * PROTECTED
+     */
 
-    public void setDelayMillis(long delayMillis) {
-        this.delayMills = delayMillis;
-    }
-
+    /**
+     * Elapsed fraction of the duration (0..1); 0 for endless effects
+     */
+    protected double getProgress() {
+        if (this.durationSeconds <= 0) {
+            return 0; // ========================================================>
+        }
 
-    public void setRenderable(DynamicRenderable renderable) {
-        this.renderable = renderable;
+        return Math.min(1d, this.elapsedSeconds / this.durationSeconds);
     }
 
+    protected void start(String entityId, double durationSeconds) {
+        if (entityId == null || entityId.isEmpty()) {
+            throw new IllegalArgumentException("Entity ID not set");
+        }
+        if (durationSeconds < 0) {
+            throw new IllegalArgumentException("Fx duration must be >= 0");
+        }
 
-    public void setVOImage(FxImage fxImg) {
-        this.fxImage = fxImg;
-        this.fxImage.setAnimation(this);
+        this.entityId = entityId;
+        this.durationSeconds = durationSeconds;
+        this.elapsedSeconds = 0;
+        this.cancelled = false;
     }
 
+    /**
+     * Drops references before going back to the pool
+     */
+    protected void release() {
+        this.entityId = null;
+    }
 }
@@ -0,0 +1,214 @@
+package fx;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import images.ImageCache;
+import view.renderables.Renderable;
+
+/**
+ * FxScheduler
+ * -----------
+ *
+ * Runs every visual effect (Fx) on the render thread: the Renderer calls
+ * tick() once per rendered frame with the frame delta time, before
+ * updating its renderables. Each active effect advances its timeline and
+ * applies its modifiers (rotation, scale, sprite frame, overprint) to its
+ * renderable, which consumes them in that frame's update().
+ *
+ * Storage
+ * -------
+ * Active effects live in one array, compacted in place as they finish (draw
+ * order = start order). Finished effects go back to a per type pool and
+ * are reused by the next start of the same type, so thousands of
+ * concurrent effects cost no threads, and a steady frame allocates
+ * nothing. An effect ends when its duration elapses, when it is cancelled
+ * or when its renderable is gone (entity dead).
+ *
+ * Threading
+ * ---------
+ * Effects may be started from any thread (controller, generators); every
+ * public method is synchronized. The render thread is the only one that
+ * takes the lock every frame, so it is uncontended almost always.
+ */
+public class FxScheduler {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final double MAX_DELTA_SECONDS = 0.1d; // Long stalls do not jump effects
+
+    private final ImageCache cache;
+    private Fx[] active = new Fx[INITIAL_CAPACITY];
+    private int activeCount = 0;
+    private final Fx[][] pools = new Fx[FxTyoe.values().length][];
+    private final int[] poolCounts = new int[FxTyoe.values().length];
+    private long started = 0;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public FxScheduler(ImageCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("Image cache not set");
+        }
+
+        this.cache = cache;
+        for (int i = 0; i < this.pools.length; i++) {
+            this.pools[i] = new Fx[16];
+        }
+    }
+
+    /**
+     * PUBLICS
+     */
+
+    /**
+     * Cancels every effect of the entity (they end at the next tick)
+     */
+    public synchronized void cancel(String entityId) {
+        for (int i = 0; i < this.activeCount; i++) {
+            if (this.active[i].getEntityId().equals(entityId)) {
+                this.active[i].cancel();
+            }
+        }
+    }
+
+    public synchronized int getActiveCount() {
+        return this.activeCount;
+    }
+
+    /**
+     * Effects started since creation
+     */
+    public synchronized long getStarted() {
+        return this.started;
+    }
+
+    /**
+     * Interns a sprite animation (one asset per frame) for spriteLoop() /
+     * spriteOnce(). Resolve it once and reuse the array
+     */
+    public int[] internAnimation(String... frameAssetIds) {
+        int[] frames = new int[frameAssetIds.length];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = this.cache.getAssetIndex(frameAssetIds[i]);
+        }
+
+        return frames;
+    }
+
+    /**
+     * OVERPRINT / SPIN_OVERPRINT (degreesPerSecond != 0): assetId drawn over
+     * the entity, relativeSize times its size
+     */
+    public synchronized void overprint(String entityId, String assetId, double relativeSize,
+            double degreesPerSecond, double durationSeconds) {
+
+        FxTyoe type = (degreesPerSecond == 0) ? FxTyoe.OVERPRINT : FxTyoe.SPIN_OVERPRINT;
+        Overprint fx = (Overprint) this.obtain(type);
+        fx.start(entityId, this.cache.getAssetIndex(assetId), relativeSize, degreesPerSecond, durationSeconds);
+        this.activate(fx);
+    }
+
+    /**
+     * SPIN_AND_SCALE
+     */
+    public synchronized void spin(String entityId, double degreesPerSecond,
+            double scaleFrom, double scaleTo, double durationSeconds) {
+
+        Spin fx = (Spin) this.obtain(FxTyoe.SPIN_AND_SCALE);
+        fx.start(entityId, degreesPerSecond, scaleFrom, scaleTo, durationSeconds);
+        this.activate(fx);
+    }
+
+    /**
+     * SPRITE_LOOP (frames from internAnimation())
+     */
+    public synchronized void spriteLoop(String entityId, int[] frames,
+            double framesPerSecond, double durationSeconds) {
+
+        SpriteLoop fx = (SpriteLoop) this.obtain(FxTyoe.SPRITE_LOOP);
+        fx.start(entityId, frames, framesPerSecond, durationSeconds);
+        this.activate(fx);
+    }
+
+    /**
+     * SPRITE_ONE_TIME: every frame shown once, then the effect ends
+     */
+    public synchronized void spriteOnce(String entityId, int[] frames, double framesPerSecond) {
+        SpriteLoop fx = (SpriteLoop) this.obtain(FxTyoe.SPRITE_ONE_TIME);
+        fx.start(entityId, frames, framesPerSecond, 0);
+        this.activate(fx);
+    }
+
+    /**
+     * Advances every effect by dtSeconds and applies it to its renderable.
+     * Render thread, once per frame, before the renderables are updated
+     */
+    public synchronized void tick(double dtSeconds, Map<String, ? extends Renderable> renderables) {
+        double dt = Math.max(0d, Math.min(dtSeconds, MAX_DELTA_SECONDS));
+        Fx[] fxs = this.active;
+        int kept = 0;
+
+        for (int i = 0; i < this.activeCount; i++) {
+            Fx fx = fxs[i];
+            fx.tick(dt);
+
+            Renderable renderable = renderables.get(fx.getEntityId());
+            if (renderable == null || fx.isFinished()) {
+                this.recycle(fx);
+                continue;
+            }
+
+            fx.apply(renderable);
+            fxs[kept++] = fx;
+        }
+
+        Arrays.fill(fxs, kept, this.activeCount, null);
+        this.activeCount = kept;
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void activate(Fx fx) {
+        if (this.activeCount == this.active.length) {
+            this.active = Arrays.copyOf(this.active, this.activeCount * 2);
+        }
+
+        this.active[this.activeCount++] = fx;
+        this.started++;
+    }
+
+    private Fx obtain(FxTyoe type) {
+        int t = type.ordinal();
+
+        if (this.poolCounts[t] > 0) {
+            Fx fx = this.pools[t][--this.poolCounts[t]];
+            this.pools[t][this.poolCounts[t]] = null;
+            return fx; // ========================================= Reused >>
+        }
+
+        switch (type) {
+            case SPIN_AND_SCALE:
+                return new Spin();
+            case SPRITE_LOOP:
+            case SPRITE_ONE_TIME:
+                return new SpriteLoop(type);
+            case OVERPRINT:
+            case SPIN_OVERPRINT:
+                return new Overprint(type);
+            default:
+                throw new IllegalArgumentException("No effect for " + type);
+        }
+    }
+
+    private void recycle(Fx fx) {
+        int t = fx.getAnimationType().ordinal();
+
+        fx.release();
+        if (this.poolCounts[t] == this.pools[t].length) {
+            this.pools[t] = Arrays.copyOf(this.pools[t], this.poolCounts[t] * 2);
+        }
+        this.pools[t][this.poolCounts[t]++] = fx;
+    }
+}
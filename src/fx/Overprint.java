@@ -0,0 +1,55 @@
+package fx;
+
+import view.renderables.Renderable;
+
+/**
+ * Overprint
+ * ---------
+ *
+ * OVERPRINT / SPIN_OVERPRINT: draws a second asset centered over the
+ * renderable (shields, halos, damage marks), sized relative to it. The
+ * spinning variant rotates the overlay at a constant angular speed; the
+ * plain one keeps the renderable's angle.
+ */
+public class Overprint extends Fx {
+
+    private int assetIdx;
+    private double relativeSize;
+    private double degreesPerSecond;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public Overprint(FxTyoe animationType) {
+        super(animationType);
+
+        if (animationType != FxTyoe.OVERPRINT && animationType != FxTyoe.SPIN_OVERPRINT) {
+            throw new IllegalArgumentException("Not an overprint animation: " + animationType);
+        }
+    }
+
+    /**
+     * PUBLICS
+     */
+    @Override
+    public void apply(Renderable renderable) {
+        double rotation = (this.getAnimationType() == FxTyoe.SPIN_OVERPRINT)
+                ? (this.getElapsedSeconds() * this.degreesPerSecond) % 360d
+                : 0d;
+
+        renderable.setFxOverprint(this.assetIdx, this.relativeSize, rotation);
+    }
+
+    public void start(String entityId, int assetIdx, double relativeSize,
+            double degreesPerSecond, double durationSeconds) {
+
+        if (relativeSize <= 0) {
+            throw new IllegalArgumentException("Overprint size must be > 0");
+        }
+
+        this.start(entityId, durationSeconds);
+        this.assetIdx = assetIdx;
+        this.relativeSize = relativeSize;
+        this.degreesPerSecond = degreesPerSecond;
+    }
+}
@@ -1,58 +1,49 @@
 package fx;
 
-
-import view.renderables.DynamicRenderable;
-
-
+import view.renderables.Renderable;
 
 /**
+ * Spin
+ * ----
  *
- * @author juanm
+ * SPIN_AND_SCALE: rotates the renderable at a constant angular speed and
+ * scales it linearly from scaleFrom to scaleTo over the duration (endless
+ * effects keep scaleFrom).
  */
 public class Spin extends Fx {
 
-    private double degreesInc;
-
-
-    public Spin(double degreesInc, long delayMillis) {
-        super();
-
-        this.init(degreesInc, delayMillis);
-    }
-
+    private double degreesPerSecond;
+    private double scaleFrom;
+    private double scaleTo;
 
     /**
-     * PRIVATES
+     * CONSTRUCTORS
      */
-    private void init(double degreesInc, long delayMillis) {
-        this.setAnimationType(FxTyoe.SPIN_AND_SCALE);
-        this.setDelayMillis(delayMillis);
-        this.degreesInc = degreesInc;
-        this.setName("Spin/Scale");
+    public Spin() {
+        super(FxTyoe.SPIN_AND_SCALE);
     }
 
-
+    /**
+     * PUBLICS
+     */
     @Override
-    public void run() {
-        DynamicRenderable renderable = this.getRenderable();
-        FxImage voImage = this.getVOImage();
+    public void apply(Renderable renderable) {
+        double scale = this.scaleFrom + (this.scaleTo - this.scaleFrom) * this.getProgress();
 
-        if (renderable == null || voImage == null) {
-            return; // =======================================================>
-        }
-
-        while (true) {
+        renderable.addFxRotation((this.getElapsedSeconds() * this.degreesPerSecond) % 360d);
+        renderable.addFxScale(scale);
+    }
 
-            if (true) {
-                voImage.rotate(this.degreesInc);
-            }
+    public void start(String entityId, double degreesPerSecond,
+            double scaleFrom, double scaleTo, double durationSeconds) {
 
-            try {
-                /* Descansar */
-                Thread.sleep(this.getDelayMillis());
-            } catch (InterruptedException ex) {
-                System.err.println("ERROR Sleeping in the ball thread! (Spinning) · " + ex.getMessage());
-            }
+        if (scaleFrom <= 0 || scaleTo <= 0) {
+            throw new IllegalArgumentException("Fx scale must be > 0");
         }
+
+        this.start(entityId, durationSeconds);
+        this.degreesPerSecond = degreesPerSecond;
+        this.scaleFrom = scaleFrom;
+        this.scaleTo = scaleTo;
     }
 }
@@ -0,0 +1,74 @@
+package fx;
+
+import view.renderables.Renderable;
+
+/**
+ * SpriteLoop
+ * ----------
+ *
+ * SPRITE_LOOP / SPRITE_ONE_TIME: replaces the renderable's asset with a
+ * sequence of frames (asset indexes interned in the ImageCache) played at
+ * a fixed rate. A loop runs for the given duration (0 = endless); a
+ * one-time sequence lasts exactly frames / fps and then ends.
+ *
+ * The frame array is shared, not copied: callers intern an animation once
+ * and start as many effects with it as needed.
+ */
+public class SpriteLoop extends Fx {
+
+    private int[] frameAssets;
+    private double framesPerSecond;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public SpriteLoop(FxTyoe animationType) {
+        super(animationType);
+
+        if (animationType != FxTyoe.SPRITE_LOOP && animationType != FxTyoe.SPRITE_ONE_TIME) {
+            throw new IllegalArgumentException("Not a sprite animation: " + animationType);
+        }
+    }
+
+    /**
+     * PUBLICS
+     */
+    @Override
+    public void apply(Renderable renderable) {
+        int frame = (int) (this.getElapsedSeconds() * this.framesPerSecond);
+
+        if (this.getAnimationType() == FxTyoe.SPRITE_ONE_TIME) {
+            frame = Math.min(frame, this.frameAssets.length - 1);
+        } else {
+            frame %= this.frameAssets.length;
+        }
+
+        renderable.setFxAsset(this.frameAssets[frame]);
+    }
+
+    public void start(String entityId, int[] frameAssets, double framesPerSecond, double durationSeconds) {
+        if (frameAssets == null || frameAssets.length == 0) {
+            throw new IllegalArgumentException("Sprite animation without frames");
+        }
+        if (framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Sprite animation FPS must be > 0");
+        }
+
+        if (this.getAnimationType() == FxTyoe.SPRITE_ONE_TIME) {
+            durationSeconds = frameAssets.length / framesPerSecond;
+        }
+
+        this.start(entityId, durationSeconds);
+        this.frameAssets = frameAssets;
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /**
+     * PROTECTED
+     */
+    @Override
+    protected void release() {
+        super.release();
+        this.frameAssets = null;
+    }
+}
@@ -6,6 +6,7 @@ import controller.Controller;
 import controller.EngineState;
 import java.util.ArrayList;
 import world.WorldDefItemDto;
+import world.WorldDefWeaponDto;
 import world.WorldDefinition;
 
 public class LifeGenerator implements Runnable {
@@ -33,6 +34,8 @@ public class LifeGenerator implements Runnable {
      * PUBLIC
      */
     public void activate() {
+        this.prewarmSprites();
+
         this.thread = new Thread(this);
         this.thread.setName("Life generator");
         this.thread.setPriority(Thread.NORM_PRIORITY - 3);
@@ -126,6 +129,29 @@ public class LifeGenerator implements Runnable {
         }
     }
 
+    private void prewarmSprites() {
+        // Sizes produced by randomSize(): (int) in [minSize, maxSize]
+        for (WorldDefItemDto item : this.items) {
+            this.controller.prewarmSprites(
+                    item.assetId, this.lifeConfig.minSize, this.lifeConfig.maxSize);
+        }
+
+        for (WorldDefItemDto body : this.worldDefinition.spaceshipsDef) {
+            this.controller.prewarmSprites(body.assetId, (int) body.size, (int) body.size);
+        }
+
+        this.prewarmWeaponSprites(this.worldDefinition.primaryWeapon);
+        this.prewarmWeaponSprites(this.worldDefinition.secondaryWeapon);
+        this.prewarmWeaponSprites(this.worldDefinition.missilLaunchers);
+        this.prewarmWeaponSprites(this.worldDefinition.mineLaunchers);
+    }
+
+    private void prewarmWeaponSprites(ArrayList<WorldDefWeaponDto> weapons) {
+        for (WorldDefWeaponDto weapon : weapons) {
+            this.controller.prewarmSprites(weapon.assetId, (int) weapon.size, (int) weapon.size);
+        }
+    }
+
     private void createPlayers() {
         ArrayList<WorldDefItemDto> dBodies = this.worldDefinition.spaceshipsDef;
         String playerId = null;
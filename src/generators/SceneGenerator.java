@@ -32,7 +32,7 @@ public class SceneGenerator {
         ArrayList<WorldDefPositionItemDto> sBodies = this.worldDefinition.gravityBodies;
 
         for (WorldDefPositionItemDto body : sBodies) {
-            this.controller.addStaticBody(body.assetId, body.size, body.posX, body.posY, body.angle);
+            this.controller.addGravityBody(body.assetId, body.size, body.posX, body.posY, body.angle);
         }
     }
 
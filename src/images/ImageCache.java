@@ -4,73 +4,487 @@ package images;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
  * ImageCache
  *
- * Caches render-ready images (wich are BufferedImage) indexed by a composite
- * key containing angle, color, imageId and size. This avoids regenerating
- * images on every frame and ensures that the Renderer can blit pre-built
- * GPU-compatible images at maximum performance.
+ * Caches render-ready sprites (which are Sprite regions of a BufferedImage)
+ * indexed by a composite key containing asset, size and angle. This avoids
+ * regenerating images on every frame and ensures that the Renderer can blit
+ * pre-built GPU-compatible images at maximum performance.
  *
  * Each unique visual configuration is created once (putInCache()) using the
  * current GraphicsConfiguration, producing a hardware-accelerated, compatible
  * BufferedImage. Subsequent requests for the same parameters return the same
  * cached image, minimizing CPU work and memory churn during rendering.
  *
+ * Cached sprites are truly pre-rotated: the source image is scaled to size
+ * (starting from the nearest larger level of its mip pyramid, see
+ * ImageDTO.getMip()) and rotated by angle around its center when it is
+ * rasterised. The result is a square canvas padded to size * sqrt(2) (see
+ * getPaddedSize()), so the
+ * corners of the rotated sprite are never clipped. Renderables then blit it
+ * centered on the body position with a plain, untransformed drawImage, which
+ * keeps Java2D on its fast blit path.
+ *
+ * Primitive keys
+ * --------------
+ * Asset ids are interned once into small int indexes (getAssetIndex()), and
+ * renderables keep that index instead of the String. A lookup packs
+ * (assetIdx, frame, size, angleStep) into a single long (see toKey()) and
+ * probes a LongSpriteMap, an open-addressing long -> sprite table. No key
+ * object, no boxing and no String.equals() on the hot path: getSprite()
+ * allocates nothing on a hit. Per-asset data (angle steps, statistics)
+ * lives in arrays indexed by the asset index.
+ *
+ * Lock-free hits
+ * --------------
+ * Everything but hits runs under one lock (the cache map). A hit does not
+ * take it: getSprite() first peeks the map optimistically (see
+ * LongSpriteMap.peek()), so the render thread never waits for a raster or
+ * prewarm worker that is inserting. Only misses, and peeks that raced with
+ * an insert or eviction, take the locked path. Per-asset hit counters are
+ * bumped without the lock and may lose a count under contention.
+ *
+ * Texture atlas
+ * -------------
+ * Sprites whose padded side fits an atlas cell (see SpriteAtlas, up to 128
+ * px) are copied into shared atlas pages after rasterisation and handed out
+ * as sub-rectangles of the page. Larger sprites stay standalone images. The
+ * Renderer groups draws by Sprite.page, so thousands of small bodies are
+ * blitted from a handful of source surfaces. Atlas cells are never reused:
+ * pages are evicted and released whole, so an evicted sprite (flagged,
+ * Sprite.isEvicted(), for holders to ask again) still draws its own pixels
+ * until it is dropped.
+ *
+ * Angle quantisation
+ * ------------------
+ * Angles are not cached per degree. Each asset has an angle resolution
+ * (ImageDTO.angleSteps, e.g. 32/64/128 steps over 360 degrees, configured per
+ * AssetType in the AssetCatalog). A requested angle is rounded to the nearest
+ * step, and the key stores the step index, so a spinning asteroid cycles
+ * through a small fixed set of sprites instead of asking for a new 1 degree
+ * image every frame. Maximum angular error is 180 / angleSteps degrees.
+ *
+ * Asynchronous misses
+ * -------------------
+ * The render thread never rasterises. A miss in getSprite() records the key
+ * as pending, hands the job to a background raster thread and returns null
+ * right away. The caller shows a placeholder meanwhile: getPlaceholder()
+ * returns the nearest already-cached angle step of the same asset and size
+ * (or, failing that, the nearest cached size). When the worker has inserted
+ * the sprite, the next getSprite() for that key hits. Each key is enqueued at
+ * most once while it is pending. getQueueDepth() and the miss-to-ready
+ * latency getters feed the HUD. Without a graphics configuration nothing
+ * can be rasterised: misses are counted but not enqueued, and prewarm()
+ * does nothing, until setGraphicsConfiguration() provides one.
+ *
+ * Pre-warming
+ * -----------
+ * prewarm() rasterises every angle step of a known (asset, size) pair on a
+ * small pool of lower-priority daemon threads, so sprites are usually cached
+ * before they are first asked for. Prewarm and miss workers insert into the
+ * same map; rasterisation happens outside the lock and the first image
+ * inserted wins.
+ *
+ * Animated assets
+ * ---------------
+ * Sprite sheets are sliced into frames once, at load (see Images). Each
+ * frame is cached like any other sprite, with the frame index in the key, so
+ * an explosion playing on thousands of bodies rasterises each (frame, size,
+ * angle step) once. getFrameCount() / getFramesPerSecond() let renderables
+ * pick the frame from the clock themselves; still images are frame 0. A
+ * missing frame falls back (getPlaceholder()) on a cached neighbour of the
+ * same frame first, then on the nearest cached frame.
+ *
+ * Memory budget
+ * -------------
+ * The cache holds at most maxBytes of images: width * height * 4 bytes per
+ * standalone image, and every atlas page as a whole (SpriteAtlas.PAGE_BYTES,
+ * however many of its cells are used), plus the premultiplied copies the
+ * software rasteriser takes of some sprites (Sprite.getPremultipliedPixels(),
+ * width * height * 4 bytes each, dropped with their sprite). Inserting beyond the budget evicts
+ * entries with the CLOCK policy (see LongSpriteMap): every hit sets a
+ * reference bit and the eviction hand gives referenced entries a second
+ * chance, so recently used sprites survive and long sessions hold a stable
+ * footprint. An atlas victim takes its whole page with it, which is the
+ * only way atlas memory is actually returned; victims in the page that is
+ * receiving the new sprite only leave the map, and their page goes when its
+ * last sprite does. Per-asset statistics (hits, misses, entries, bytes,
+ * evictions; bytes counting each atlas sprite as its cell) can be read as
+ * ImageCacheStatsDTO snapshots.
+ *
  * In the current implementation, createSprite() provides a fallback procedural
  * sprite (a colored circle).
  */
 public class ImageCache {
 
-    private GraphicsConfiguration gc;
+    public static final int DEFAULT_ANGLE_STEPS = 360;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024L * 1024L;
+    public static final int MAX_SIZE = 0xFFFF; // Key packs size in 16 bits
+    public static final int MAX_FRAMES = 0x1000; // ... frame in 12 bits
+    public static final int MAX_ASSETS = 0x100000; // ... and asset index in 20 bits
+    private static final int PLACEHOLDER_MAX_SIZE_DELTA = 8;
+    private static final int PREWARM_THREADS
+            = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private volatile GraphicsConfiguration gc;
     private Images baseImages;
-    private final Map<ImageCacheKeyDTO, BufferedImage> cache = new HashMap<>(2048);
-    private volatile long hits = 0;
+    private final LongSpriteMap cache = new LongSpriteMap(2048);
+    private final SpriteAtlas atlas = new SpriteAtlas(); // Guarded by the cache lock
+    private final long[] pageKeys = new long[SpriteAtlas.getMaxCellsPerPage()]; // Eviction scratch
+
+    // Interned assets · all guarded by the cache lock (assetCount is also
+    // read by the lock-free hit path: written last, so it publishes the rest)
+    private final Map<String, Integer> assetIndexes = new HashMap<>(128);
+    private volatile int assetCount = 0;
+    private String[] assetIds = new String[64];
+    private int[] assetAngleSteps = new int[64];
+    private int[] assetFrameCounts = new int[64];
+    private double[] assetFramesPerSecond = new double[64];
+    private long[] assetHits = new long[64];
+    private long[] assetFails = new long[64];
+    private int[] assetEntries = new int[64];
+    private long[] assetBytes = new long[64];
+    private long[] assetEvictions = new long[64];
+
+    private volatile long maxBytes;
+    private volatile long bytes = 0;
+    private volatile long evictions = 0;
+    private final LongAdder hits = new LongAdder();
     private volatile long fails = 0;
+    private final Map<Long, Long> pendingMisses = new HashMap<>(256); // key -> enqueue nanos
+    private volatile long missLatencyLastNanos = 0;
+    private volatile long missLatencyMaxNanos = 0;
+    private volatile long missLatencyTotalNanos = 0;
+    private volatile long missesReady = 0;
+    private final AtomicInteger pendingPrewarms = new AtomicInteger(0);
+    private final AtomicLong prewarmed = new AtomicLong(0);
+    private final ExecutorService rasterPool = Executors.newSingleThreadExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("ImageCache raster");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final ExecutorService prewarmPool = Executors.newFixedThreadPool(
+            PREWARM_THREADS, runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("ImageCache prewarm");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
 
 
     public ImageCache(GraphicsConfiguration gc, Images baseImages) {
+        this(gc, baseImages, DEFAULT_MAX_BYTES);
+    }
+
+
+    public ImageCache(GraphicsConfiguration gc, Images baseImages, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Image cache budget must be > 0");
+        }
+
         this.gc = gc;
         this.baseImages = baseImages;
+        this.maxBytes = maxBytes;
     }
 
 
     /**
      * PUBLICS
      */
-    public BufferedImage getImage(int angle, String assetId, int size) {
-        ImageCacheKeyDTO key = new ImageCacheKeyDTO(angle, assetId, size);
-        BufferedImage image = this.cache.get(key);
+    /**
+     * Returns the cached sprite, or null when it is not ready yet. A miss
+     * never blocks: it enqueues the rasterisation and the caller should fall
+     * back on getPlaceholder() until a later call hits
+     */
+    public Sprite getSprite(int assetIdx, int size, int angle) {
+        return this.getSprite(assetIdx, 0, size, angle);
+    }
 
-        if (image == null) {
-            this.fails++;
-            image = this.putInCache(angle, assetId, size);
-            this.cache.put(key, image);
-        } else {
-            this.hits++;
+
+    /**
+     * Same as getSprite(assetIdx, size, angle) for one frame of an animated
+     * asset (0 <= frame < getFrameCount(assetIdx))
+     */
+    public Sprite getSprite(int assetIdx, int frame, int size, int angle) {
+        Sprite sprite = this.peekSprite(assetIdx, frame, size, angle);
+        if (sprite != null) {
+            this.hits.increment();
+            long[] assetHits = this.assetHits;
+            if (assetIdx < assetHits.length) {
+                assetHits[assetIdx]++; // Unlocked: approximate
+            }
+            return sprite; // ============================== Lock-free hit ==>
         }
 
-        return image;
+        String assetId;
+        int angleSteps;
+        long key;
+        boolean enqueue = false;
+
+        synchronized (this.cache) {
+            this.checkAssetIndex(assetIdx);
+            this.checkFrame(assetIdx, frame);
+
+            assetId = this.assetIds[assetIdx];
+            angleSteps = this.assetAngleSteps[assetIdx];
+            key = ImageCache.toKey(assetIdx, frame, size, ImageCache.toAngleStep(angle, angleSteps));
+            sprite = this.cache.get(key); // Sets the CLOCK reference bit
+
+            if (sprite == null) {
+                this.fails++;
+                this.assetFails[assetIdx]++;
+
+                if (this.gc != null && !this.pendingMisses.containsKey(key)) {
+                    this.pendingMisses.put(key, System.nanoTime());
+                    enqueue = true;
+                }
+            } else {
+                this.hits.increment();
+                this.assetHits[assetIdx]++;
+            }
+        }
+
+        if (enqueue) {
+            final long missKey = key;
+            this.rasterPool.execute(() -> this.rasterizeMiss(missKey, assetId, angleSteps));
+        }
+
+        return sprite;
+    }
+
+
+    /**
+     * Nearest already-cached stand-in for (assetIdx, size, angle): first the
+     * closest angle step of the same size, then the closest size (within
+     * PLACEHOLDER_MAX_SIZE_DELTA) at the same angle step. Null when nothing
+     * suitable is cached. Does not count as a hit or a miss
+     */
+    public Sprite getPlaceholder(int assetIdx, int size, int angle) {
+        return this.getPlaceholder(assetIdx, 0, size, angle);
+    }
+
+
+    /**
+     * Same as getPlaceholder(assetIdx, size, angle) within the frame; when
+     * nothing is found, the nearest cached frame at the same size and angle
+     * step (earlier frames first)
+     */
+    public Sprite getPlaceholder(int assetIdx, int frame, int size, int angle) {
+        synchronized (this.cache) {
+            this.checkAssetIndex(assetIdx);
+            this.checkFrame(assetIdx, frame);
+
+            int angleSteps = this.assetAngleSteps[assetIdx];
+            int angleStep = ImageCache.toAngleStep(angle, angleSteps);
+            Sprite sprite;
+
+            for (int delta = 1; delta <= angleSteps / 2; delta++) {
+                sprite = this.cache.get(ImageCache.toKey(
+                        assetIdx, frame, size, (angleStep + delta) % angleSteps));
+                if (sprite != null) {
+                    return sprite; // ===========================================>
+                }
+
+                sprite = this.cache.get(ImageCache.toKey(
+                        assetIdx, frame, size, (angleStep - delta + angleSteps) % angleSteps));
+                if (sprite != null) {
+                    return sprite; // ===========================================>
+                }
+            }
+
+            for (int delta = 1; delta <= PLACEHOLDER_MAX_SIZE_DELTA; delta++) {
+                if (size - delta >= 1) {
+                    sprite = this.cache.get(ImageCache.toKey(assetIdx, frame, size - delta, angleStep));
+                    if (sprite != null) {
+                        return sprite; // =======================================>
+                    }
+                }
+
+                if (size + delta <= MAX_SIZE) {
+                    sprite = this.cache.get(ImageCache.toKey(assetIdx, frame, size + delta, angleStep));
+                    if (sprite != null) {
+                        return sprite; // =======================================>
+                    }
+                }
+            }
+
+            int frameCount = this.assetFrameCounts[assetIdx];
+            for (int delta = 1; delta < frameCount; delta++) {
+                sprite = this.cache.get(ImageCache.toKey(
+                        assetIdx, (frame - delta + frameCount) % frameCount, size, angleStep));
+                if (sprite != null) {
+                    return sprite; // ===========================================>
+                }
+            }
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Interns assetId and returns its index. Callers resolve it once (when a
+     * renderable is created) and pass the index to getSprite() every frame
+     */
+    public int getAssetIndex(String assetId) {
+        if (assetId == null || assetId.isEmpty()) {
+            throw new IllegalArgumentException("Asset ID not set");
+        }
+
+        synchronized (this.cache) {
+            Integer assetIdx = this.assetIndexes.get(assetId);
+            if (assetIdx != null) {
+                return assetIdx; // ============================================>
+            }
+
+            int index = this.assetCount;
+            if (index == MAX_ASSETS) {
+                throw new IllegalArgumentException("Too many assets: " + MAX_ASSETS);
+            }
+            if (index == this.assetIds.length) {
+                this.growAssets(index * 2);
+            }
+
+            ImageDTO imageDto = this.baseImages.getImage(assetId);
+            this.assetIds[index] = assetId;
+            this.assetAngleSteps[index] = this.getAngleSteps(assetId);
+            this.assetFrameCounts[index] = (imageDto == null) ? 1 : Math.min(imageDto.getFrameCount(), MAX_FRAMES);
+            this.assetFramesPerSecond[index] = (imageDto == null) ? 0d : imageDto.framesPerSecond;
+            this.assetIndexes.put(assetId, index);
+            this.assetCount = index + 1;
+
+            return index;
+        }
+    }
+
+
+    public int getAngleSteps(String assetId) {
+        ImageDTO imageDto = this.baseImages.getImage(assetId);
+
+        if (imageDto == null || imageDto.angleSteps <= 0) {
+            return DEFAULT_ANGLE_STEPS;
+        }
+
+        return imageDto.angleSteps;
+    }
+
+
+    public int getAngleSteps(int assetIdx) {
+        synchronized (this.cache) {
+            this.checkAssetIndex(assetIdx);
+            return this.assetAngleSteps[assetIdx];
+        }
+    }
+
+
+    /**
+     * Animation frames of the asset (1 for still images)
+     */
+    public int getFrameCount(int assetIdx) {
+        synchronized (this.cache) {
+            this.checkAssetIndex(assetIdx);
+            return this.assetFrameCounts[assetIdx];
+        }
+    }
+
+
+    /**
+     * Animation rate of the asset (0 for still images)
+     */
+    public double getFramesPerSecond(int assetIdx) {
+        synchronized (this.cache) {
+            this.checkAssetIndex(assetIdx);
+            return this.assetFramesPerSecond[assetIdx];
+        }
+    }
+
+
+    /**
+     * Statistics of an interned asset, or null when assetId was never asked
+     * for (looking it up does not intern it)
+     */
+    public ImageCacheStatsDTO getAssetStats(String assetId) {
+        synchronized (this.cache) {
+            Integer assetIdx = this.assetIndexes.get(assetId);
+            if (assetIdx == null) {
+                return null; // ===============================================>
+            }
+
+            return this.toStatsDTO(assetIdx);
+        }
+    }
+
+
+    public ArrayList<ImageCacheStatsDTO> getAssetStats() {
+        synchronized (this.cache) {
+            ArrayList<ImageCacheStatsDTO> statsList = new ArrayList<>(this.assetCount);
+
+            for (int assetIdx = 0; assetIdx < this.assetCount; assetIdx++) {
+                statsList.add(this.toStatsDTO(assetIdx));
+            }
+
+            return statsList;
+        }
+    }
+
+
+    public int getAtlasPages() {
+        synchronized (this.cache) {
+            return this.atlas.getPageCount();
+        }
+    }
+
+
+    /**
+     * Upper bound (exclusive) of Sprite.page values handed out so far
+     */
+    public int getAtlasPageSlots() {
+        synchronized (this.cache) {
+            return this.atlas.getPageSlots();
+        }
+    }
+
+
+    public long getBytes() {
+        return this.bytes;
+    }
+
+
+    public long getEvictions() {
+        return this.evictions;
     }
 
 
     public long getHits() {
-        return this.hits;
+        return this.hits.sum();
     }
 
 
     public double getHitsPercentage() {
-        if (this.hits == 0) {
+        long hits = this.hits.sum();
+        if (hits == 0) {
             return 0d;
         }
 
-        double hitsPctg = (double) this.hits / (double) (this.hits + this.fails);
+        double hitsPctg = (double) hits / (double) (hits + this.fails);
         return hitsPctg * 100d;
     }
 
@@ -80,8 +494,124 @@ public class ImageCache {
     }
 
 
+    /**
+     * Misses waiting to be rasterised
+     */
+    public int getQueueDepth() {
+        synchronized (this.cache) {
+            return this.pendingMisses.size();
+        }
+    }
+
+
+    public double getMissLatencyLastMs() {
+        return this.missLatencyLastNanos / 1_000_000d;
+    }
+
+
+    public double getMissLatencyAvgMs() {
+        long ready = this.missesReady;
+        if (ready == 0) {
+            return 0d;
+        }
+
+        return this.missLatencyTotalNanos / (double) ready / 1_000_000d;
+    }
+
+
+    public double getMissLatencyMaxMs() {
+        return this.missLatencyMaxNanos / 1_000_000d;
+    }
+
+
+    public int getPendingPrewarms() {
+        return this.pendingPrewarms.get();
+    }
+
+
+    public long getPrewarmed() {
+        return this.prewarmed.get();
+    }
+
+
+    /**
+     * Rasterises every angle step (of every frame) of (assetId, size) in the
+     * background
+     */
+    public void prewarm(String assetId, int size) {
+        ImageCache.checkSize(size); // Here, not on the prewarm thread
+        if (this.gc == null) {
+            return; // ============================== Cannot rasterise yet ==>
+        }
+
+        int assetIdx = this.getAssetIndex(assetId);
+        int angleSteps = this.getAngleSteps(assetIdx);
+        int frames = this.getFrameCount(assetIdx);
+
+        this.pendingPrewarms.incrementAndGet();
+        this.prewarmPool.execute(() -> {
+            try {
+                for (int frame = 0; frame < frames; frame++) {
+                    for (int angleStep = 0; angleStep < angleSteps; angleStep++) {
+                        this.warm(ImageCache.toKey(assetIdx, frame, size, angleStep), assetId, angleSteps);
+                    }
+                }
+            } finally {
+                this.pendingPrewarms.decrementAndGet();
+            }
+        });
+    }
+
+
+    /**
+     * Rasterises the single angle step of (assetId, size, angle), every
+     * frame, in the background
+     */
+    public void prewarm(String assetId, int size, int angle) {
+        ImageCache.checkSize(size); // Here, not on the prewarm thread
+        if (this.gc == null) {
+            return; // ============================== Cannot rasterise yet ==>
+        }
+
+        int assetIdx = this.getAssetIndex(assetId);
+        int angleSteps = this.getAngleSteps(assetIdx);
+        int angleStep = ImageCache.toAngleStep(angle, angleSteps);
+        int frames = this.getFrameCount(assetIdx);
+
+        this.pendingPrewarms.incrementAndGet();
+        this.prewarmPool.execute(() -> {
+            try {
+                for (int frame = 0; frame < frames; frame++) {
+                    this.warm(ImageCache.toKey(assetIdx, frame, size, angleStep), assetId, angleSteps);
+                }
+            } finally {
+                this.pendingPrewarms.decrementAndGet();
+            }
+        });
+    }
+
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+
+    public void setMaxBytes(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Image cache budget must be > 0");
+        }
+
+        synchronized (this.cache) {
+            this.maxBytes = maxBytes;
+            this.evictOverBudget(-1L, Sprite.STANDALONE); // -1 is never a valid key
+        }
+    }
+
+
     public int size() {
-        return this.cache.size();
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
     }
 
 
@@ -90,24 +620,243 @@ public class ImageCache {
     }
 
 
+    /**
+     * STATICS
+     */
+    static public int getPaddedSize(int size) {
+        // Bounding square of a size x size sprite rotated at any angle
+        return (int) Math.ceil(size * Math.sqrt(2d));
+    }
+
+
+    static public long getImageBytes(BufferedImage image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4L;
+    }
+
+
+    static public int toAngleStep(double angle, int angleSteps) {
+        int angleStep = (int) Math.round(angle * angleSteps / 360d) % angleSteps;
+
+        return (angleStep < 0) ? angleStep + angleSteps : angleStep;
+    }
+
+
+    /**
+     * Key of frame 0 (still images)
+     */
+    static public long toKey(int assetIdx, int size, int angleStep) {
+        return ImageCache.toKey(assetIdx, 0, size, angleStep);
+    }
+
+
+    /**
+     * Packs (assetIdx, frame, size, angleStep) into a cache key: assetIdx in
+     * the upper 20 bits, frame in the next 12, size and angleStep in 16 bits
+     * each. Sizes below 1 px are rejected: such a key would reach the raster
+     * thread and fail there on every frame
+     */
+    static public long toKey(int assetIdx, int frame, int size, int angleStep) {
+        ImageCache.checkSize(size);
+
+        return ((long) assetIdx << 44) | ((long) frame << 32)
+                | ((long) size << 16) | (angleStep & 0xFFFFL);
+    }
+
+
+    static public int keyAssetIndex(long key) {
+        return (int) (key >>> 44);
+    }
+
+
+    static public int keyFrame(long key) {
+        return (int) ((key >>> 32) & 0xFFFL);
+    }
+
+
+    static public int keySize(long key) {
+        return (int) ((key >>> 16) & 0xFFFFL);
+    }
+
+
+    static public int keyAngleStep(long key) {
+        return (int) (key & 0xFFFFL);
+    }
+
+
     /**
      * PRIVATES
      */
-    private BufferedImage putInCache(int angle, String assetId, int size) {
-        if (this.gc == null) {
+    private void checkAssetIndex(int assetIdx) {
+        if (assetIdx < 0 || assetIdx >= this.assetCount) {
+            throw new IllegalArgumentException("Unknown asset index: " + assetIdx);
+        }
+    }
+
+
+    private static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Sprite size out of range: " + size);
+        }
+    }
+
+
+    private void checkFrame(int assetIdx, int frame) {
+        if (frame < 0 || frame >= this.assetFrameCounts[assetIdx]) {
+            throw new IllegalArgumentException("Frame out of range: " + frame
+                    + " (" + this.assetIds[assetIdx] + ")");
+        }
+    }
+
+
+    private void evict(long key, Sprite sprite) {
+        // Caller holds the cache lock and has removed key from the map
+        if (sprite.premultiplied != null) {
+            this.bytes -= (long) sprite.width * (long) sprite.height * 4L;
+        }
+        sprite.markEvicted();
+        if (sprite.page == Sprite.STANDALONE) {
+            this.bytes -= sprite.bytes;
+        } else if (this.atlas.release(sprite)) {
+            this.bytes -= SpriteAtlas.PAGE_BYTES; // Its last sprite: page released
+        }
+        this.evictions++;
+
+        int assetIdx = ImageCache.keyAssetIndex(key);
+        this.assetEntries[assetIdx]--;
+        this.assetBytes[assetIdx] -= sprite.bytes;
+        this.assetEvictions[assetIdx]++;
+    }
+
+
+    /**
+     * Keeps the software rasteriser copy of a cached sprite, charged to the
+     * budget (see Sprite.getPremultipliedPixels()). An evicted sprite keeps
+     * none
+     */
+    void keepPremultiplied(Sprite sprite, int[] pixels) {
+        synchronized (this.cache) {
+            if (sprite.isEvicted() || sprite.premultiplied != null) {
+                return; // ======================================================>
+            }
+
+            sprite.premultiplied = pixels;
+            this.bytes += (long) sprite.width * (long) sprite.height * 4L;
+            this.evictOverBudget(-1L, Sprite.STANDALONE); // May take the sprite itself
+        }
+    }
+
+
+    private void evictOverBudget(long keep, int keepPage) {
+        // Caller holds the cache lock
+        while (this.bytes > this.maxBytes) {
+            int slot = this.cache.nextVictim(keep);
+            if (slot < 0) {
+                return; // Only the image being inserted is left ==============>
+            }
+
+            long key = this.cache.keyAt(slot);
+            Sprite sprite = this.cache.valueAt(slot);
+
+            if (sprite.page == Sprite.STANDALONE || sprite.page == keepPage) {
+                // Page being filled: the entry goes, the page stays until
+                // its last sprite goes
+                this.cache.removeAt(slot);
+                this.evict(key, sprite);
+                continue;
+            }
+
+            // Atlas memory is only returned in whole pages: evict the page
+            int count = this.atlas.getLiveKeys(sprite.page, this.pageKeys);
+            for (int i = 0; i < count; i++) {
+                Sprite pageSprite = this.cache.remove(this.pageKeys[i]);
+                if (pageSprite != null) {
+                    this.evict(this.pageKeys[i], pageSprite);
+                }
+            }
+        }
+    }
+
+
+    private void growAssets(int capacity) {
+        // Caller holds the cache lock
+        this.assetIds = Arrays.copyOf(this.assetIds, capacity);
+        this.assetAngleSteps = Arrays.copyOf(this.assetAngleSteps, capacity);
+        this.assetFrameCounts = Arrays.copyOf(this.assetFrameCounts, capacity);
+        this.assetFramesPerSecond = Arrays.copyOf(this.assetFramesPerSecond, capacity);
+        this.assetHits = Arrays.copyOf(this.assetHits, capacity);
+        this.assetFails = Arrays.copyOf(this.assetFails, capacity);
+        this.assetEntries = Arrays.copyOf(this.assetEntries, capacity);
+        this.assetBytes = Arrays.copyOf(this.assetBytes, capacity);
+        this.assetEvictions = Arrays.copyOf(this.assetEvictions, capacity);
+    }
+
+
+    private Sprite putInCache(long key, String assetId, int angleSteps) {
+        BufferedImage image = this.rasterize(
+                ImageCache.keyAngleStep(key) * 360d / angleSteps, assetId,
+                ImageCache.keySize(key), ImageCache.keyFrame(key));
+
+        if (image == null) {
+            return null; // ================================================>
+        }
+
+        synchronized (this.cache) {
+            Sprite previous = this.cache.get(key);
+            if (previous != null) {
+                return previous; // ====== Another thread was faster ======>
+            }
+
+            int pages = this.atlas.getPageCount();
+            Sprite sprite = this.atlas.pack(image, this.gc, key);
+            if (sprite == null) { // Too large for the atlas
+                sprite = new Sprite(image, Sprite.STANDALONE, 0,
+                        0, 0, image.getWidth(), image.getHeight(), ImageCache.getImageBytes(image));
+                this.bytes += sprite.bytes;
+            } else if (this.atlas.getPageCount() > pages) {
+                this.bytes += SpriteAtlas.PAGE_BYTES; // New page
+            }
+
+            sprite.owner = this;
+            this.cache.put(key, sprite);
+
+            int assetIdx = ImageCache.keyAssetIndex(key);
+            this.assetEntries[assetIdx]++;
+            this.assetBytes[assetIdx] += sprite.bytes;
+
+            this.evictOverBudget(key, sprite.page);
+
+            return sprite;
+        }
+    }
+
+
+    private BufferedImage rasterize(double angle, String assetId, int size, int frame) {
+        GraphicsConfiguration gc = this.gc;
+        if (gc == null) {
             System.err.println("Graphics configuration is null · ImageCache");
             return null;  // =================================================>
         }
 
-        BufferedImage image = gc.createCompatibleImage(size, size, Transparency.BITMASK);
+        int padded = ImageCache.getPaddedSize(size);
+        BufferedImage image = gc.createCompatibleImage(padded, padded, Transparency.BITMASK);
         Graphics2D g2 = image.createGraphics();
 
         // Poner aquí la imagen que toca
         ImageDTO imageDto = this.baseImages.getImage(assetId);
 
         try {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+            // Rotate around the center of the padded canvas
+            g2.translate(padded / 2d, padded / 2d);
+            g2.rotate(Math.toRadians(angle));
+            g2.translate(-size / 2d, -size / 2d);
+
             if (imageDto != null) {
-                g2.drawImage(imageDto.image, 0, 0, size, size, null);
+                // Scale from the nearest larger mip level, not the full source
+                g2.drawImage(imageDto.getMip(size, size, Math.min(frame, imageDto.getFrameCount() - 1)),
+                        0, 0, size, size, null);
             } else {
                 g2.setColor(Color.RED);
                 g2.fillOval(0, 0, size, size); // se dibuja UNA vez
@@ -117,4 +866,73 @@ public class ImageCache {
         }
         return image;
     }
+
+
+    /**
+     * Cached sprite without taking the lock, or null when absent, when the
+     * arguments need the locked checks, or when the peek raced with a change
+     */
+    private Sprite peekSprite(int assetIdx, int frame, int size, int angle) {
+        if (assetIdx < 0 || assetIdx >= this.assetCount
+                || frame < 0 || frame >= MAX_FRAMES || size < 1 || size > MAX_SIZE) {
+            return null; // ==================================================>
+        }
+
+        int[] angleSteps = this.assetAngleSteps;
+        if (assetIdx >= angleSteps.length || angleSteps[assetIdx] <= 0) {
+            return null; // ====================== Array grown meanwhile ==>
+        }
+
+        return this.cache.peek(ImageCache.toKey(assetIdx, frame, size,
+                ImageCache.toAngleStep(angle, angleSteps[assetIdx])));
+    }
+
+
+    private ImageCacheStatsDTO toStatsDTO(int assetIdx) {
+        // Caller holds the cache lock
+        return new ImageCacheStatsDTO(
+                this.assetIds[assetIdx],
+                this.assetHits[assetIdx],
+                this.assetFails[assetIdx],
+                this.assetEntries[assetIdx],
+                this.assetBytes[assetIdx],
+                this.assetEvictions[assetIdx]);
+    }
+
+
+    private void rasterizeMiss(long key, String assetId, int angleSteps) {
+        // Raster thread
+        Sprite sprite = null;
+
+        try {
+            sprite = this.putInCache(key, assetId, angleSteps);
+        } finally {
+            synchronized (this.cache) {
+                Long enqueuedAt = this.pendingMisses.remove(key);
+
+                if (sprite != null && enqueuedAt != null) {
+                    long latency = System.nanoTime() - enqueuedAt;
+                    this.missLatencyLastNanos = latency;
+                    this.missLatencyTotalNanos += latency;
+                    this.missesReady++;
+                    if (latency > this.missLatencyMaxNanos) {
+                        this.missLatencyMaxNanos = latency;
+                    }
+                }
+            }
+        }
+    }
+
+
+    private void warm(long key, String assetId, int angleSteps) {
+        synchronized (this.cache) {
+            if (this.cache.containsKey(key)) { // Does not set the reference bit
+                return;
+            }
+        }
+
+        if (this.putInCache(key, assetId, angleSteps) != null) {
+            this.prewarmed.incrementAndGet();
+        }
+    }
 }
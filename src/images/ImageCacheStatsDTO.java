@@ -0,0 +1,29 @@
+package images;
+
+
+/**
+ * Snapshot of the ImageCache statistics of one asset: lookups that hit or
+ * missed, sprites currently cached, the memory they use and how many of them
+ * have been evicted to keep the cache within its byte budget.
+ */
+public class ImageCacheStatsDTO {
+
+    public final String assetId;
+    public final long hits;
+    public final long fails;
+    public final int entries;
+    public final long bytes;
+    public final long evictions;
+
+
+    public ImageCacheStatsDTO(String assetId, long hits, long fails,
+            int entries, long bytes, long evictions) {
+
+        this.assetId = assetId;
+        this.hits = hits;
+        this.fails = fails;
+        this.entries = entries;
+        this.bytes = bytes;
+        this.evictions = evictions;
+    }
+}
@@ -9,17 +9,104 @@ import java.awt.image.BufferedImage;
  * the BufferedImage instance, and a stable identifier derived from the URI's
  * hash code. Used by the Images manager to reference and retrieve image assets
  * efficiently.
+ *
+ * angleSteps is the number of discrete rotations (over 360 degrees) the
+ * ImageCache keeps for this image.
+ *
+ * mips is the source mip pyramid built at load time (see
+ * Images.buildMipPyramid()): mips[0] is the original image and every level
+ * halves the previous one. getMip() picks the smallest level that is still
+ * at least as large as the requested sprite, so the ImageCache scales down
+ * from a nearby resolution instead of from the full-size source.
+ *
+ * Animated assets (sprite sheets) are sliced once at load time into
+ * frames, each with its own mip pyramid (frameMips[frame]); image and mips
+ * are frame 0. Single images have one frame and framesPerSecond 0.
  */
 public class ImageDTO {
 
     public final String assetId;
     public final String uri;
     public final BufferedImage image;
+    public final int angleSteps;
+    public final BufferedImage[] mips;
+    public final BufferedImage[][] frameMips;
+    public final double framesPerSecond;
 
 
     public ImageDTO(String assetId, String uri, BufferedImage image) {
+        this(assetId, uri, image, ImageCache.DEFAULT_ANGLE_STEPS);
+    }
+
+
+    public ImageDTO(String assetId, String uri, BufferedImage image, int angleSteps) {
+        this(assetId, uri, image, angleSteps, Images.buildMipPyramid(image));
+    }
+
+
+    public ImageDTO(String assetId, String uri, BufferedImage image, int angleSteps,
+            BufferedImage[] mips) {
+
         this.assetId = assetId;
         this.uri = uri;
         this.image = image;
+        this.angleSteps = angleSteps;
+        this.mips = mips;
+        this.frameMips = new BufferedImage[][] { mips };
+        this.framesPerSecond = 0d;
+    }
+
+
+    /**
+     * Animated asset from already sliced frames
+     */
+    public ImageDTO(String assetId, String uri, BufferedImage[] frames, int angleSteps,
+            double framesPerSecond) {
+
+        if (frames == null || frames.length == 0) {
+            throw new IllegalArgumentException("Animated image without frames: " + assetId);
+        }
+
+        this.assetId = assetId;
+        this.uri = uri;
+        this.image = frames[0];
+        this.angleSteps = angleSteps;
+        this.frameMips = new BufferedImage[frames.length][];
+        for (int i = 0; i < frames.length; i++) {
+            this.frameMips[i] = Images.buildMipPyramid(frames[i]);
+        }
+        this.mips = this.frameMips[0];
+        this.framesPerSecond = framesPerSecond;
+    }
+
+
+    public int getFrameCount() {
+        return this.frameMips.length;
+    }
+
+
+    /**
+     * Smallest mip level with width >= width and height >= height (the
+     * original image when no smaller level is large enough)
+     */
+    public BufferedImage getMip(int width, int height) {
+        return this.getMip(width, height, 0);
+    }
+
+
+    /**
+     * Same as getMip(width, height) for one frame of an animated asset
+     */
+    public BufferedImage getMip(int width, int height, int frame) {
+        BufferedImage[] mips = this.frameMips[frame];
+
+        for (int level = mips.length - 1; level > 0; level--) {
+            BufferedImage mip = mips[level];
+            if (mip.getWidth() >= width && mip.getHeight() >= height) {
+                return mip; // =================================================>
+            }
+        }
+
+        return mips[0];
     }
 }
@@ -2,6 +2,8 @@ package images;
 
 
 import _helpers.RandomArrayList;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -21,9 +23,20 @@ import javax.imageio.ImageIO;
  * manifest loading, random image selection, and access to both the DTO wrapper
  * and the underlying BufferedImage. All images are kept in memory for fast
  * lookup through a concurrent map.
+ *
+ * Every loaded image also gets a mip pyramid (buildMipPyramid()): successive
+ * half-resolution copies down to MIN_MIP_SIZE. Building it once at load time
+ * costs about a third more memory per source, and lets ImageCache rasterise
+ * small sprites from a level close to their size (cheaper and less aliased
+ * than scaling a 2000 px source down to 20 px in one step).
+ *
+ * Sprite sheets (add() with a frame grid) are sliced into their frames right
+ * after loading (sliceFrames()), and each frame gets its own pyramid.
  */
 public class Images {
 
+    public static final int MIN_MIP_SIZE = 8;
+
     private final String assetsPath;
     private final Map<String, ImageDTO> images = new ConcurrentHashMap<>(128);
     private final Random rnd = new Random();
@@ -41,13 +54,33 @@ public class Images {
      * PUBLIC
      */
     public void add(String assetId, String fileName) {
+        this.add(assetId, fileName, ImageCache.DEFAULT_ANGLE_STEPS);
+    }
+
+
+    public void add(String assetId, String fileName, int angleSteps) {
+        this.add(assetId, fileName, angleSteps, 1, 1, 1, 0d);
+    }
+
+
+    /**
+     * Sprite sheet: cols x rows equal cells, the first frameCount of them
+     * (row major) are the animation frames
+     */
+    public void add(String assetId, String fileName, int angleSteps,
+            int cols, int rows, int frameCount, double framesPerSecond) {
+
         // fileName without a path
         if (fileName == null || fileName == "" || assetId == null || assetId == "") {
             System.out.println("Image id or file name is not setted · Images");
             return;
         }
 
-        this.images.put(assetId, this.loadImage(assetId, assetsPath + fileName));
+        ImageDTO imageDto = this.loadImage(assetId, assetsPath + fileName, angleSteps,
+                cols, rows, frameCount, framesPerSecond);
+        if (imageDto != null) {
+            this.images.put(assetId, imageDto);
+        }
     }
 
 
@@ -86,7 +119,9 @@ public class Images {
     }
 
 
-    private ImageDTO loadImage(String assetId, String uri) {
+    private ImageDTO loadImage(String assetId, String uri, int angleSteps,
+            int cols, int rows, int frameCount, double framesPerSecond) {
+
         ImageDTO imageDto = null;
         BufferedImage image;
 
@@ -95,7 +130,13 @@ public class Images {
             if (image == null) {
                 throw new IOException("Unsupported or empty image [" + uri + "] · <Images>");
             }
-            imageDto = new ImageDTO(assetId, uri, image);
+
+            if (frameCount > 1) {
+                imageDto = new ImageDTO(assetId, uri,
+                        Images.sliceFrames(image, cols, rows, frameCount), angleSteps, framesPerSecond);
+            } else {
+                imageDto = new ImageDTO(assetId, uri, image, angleSteps);
+            }
 
         } catch (IOException e) {
             System.err.println("> LOAD IMAGE ERROR· <Images> · [" + uri + "] · " + e.getMessage());
@@ -106,6 +147,75 @@ public class Images {
     }
 
 
+    /**
+     * Level 0 is source itself; each next level halves width and height
+     * (a bilinear draw at exactly 1/2 scale averages each 2x2 block) until
+     * a side would drop below MIN_MIP_SIZE
+     */
+    public static BufferedImage[] buildMipPyramid(BufferedImage source) {
+        ArrayList<BufferedImage> levels = new ArrayList<>(8);
+        levels.add(source);
+
+        BufferedImage level = source;
+        while (level.getWidth() / 2 >= MIN_MIP_SIZE && level.getHeight() / 2 >= MIN_MIP_SIZE) {
+            int width = level.getWidth() / 2;
+            int height = level.getHeight() / 2;
+
+            BufferedImage half = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = half.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(level, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+
+            levels.add(half);
+            level = half;
+        }
+
+        return levels.toArray(new BufferedImage[0]);
+    }
+
+
+    /**
+     * Copies the first frameCount cells (row major) of a cols x rows sheet
+     * into standalone ARGB images (no shared raster with the sheet, so each
+     * frame scales and rotates on its own)
+     */
+    public static BufferedImage[] sliceFrames(BufferedImage sheet, int cols, int rows, int frameCount) {
+        if (cols <= 0 || rows <= 0 || frameCount <= 0 || frameCount > cols * rows) {
+            throw new IllegalArgumentException("Sprite sheet grid error: "
+                    + cols + "x" + rows + ", " + frameCount + " frames");
+        }
+
+        int width = sheet.getWidth() / cols;
+        int height = sheet.getHeight() / rows;
+        if (width == 0 || height == 0) {
+            throw new IllegalArgumentException("Sprite sheet too small for a "
+                    + cols + "x" + rows + " grid");
+        }
+
+        BufferedImage[] frames = new BufferedImage[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            int x = (i % cols) * width;
+            int y = (i / cols) * height;
+
+            BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = frame.createGraphics();
+            try {
+                g.drawImage(sheet, 0, 0, width, height, x, y, x + width, y + height, null);
+            } finally {
+                g.dispose();
+            }
+            frames[i] = frame;
+        }
+
+        return frames;
+    }
+
+
     public static BufferedImage loadBufferedImage(String path, String fileName) {
         File uri = Paths.get(path, fileName).toFile();
 //        String uri = path +fileName;
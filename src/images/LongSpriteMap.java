@@ -0,0 +1,284 @@
+package images;
+
+
+import java.util.concurrent.locks.StampedLock;
+
+
+/**
+ * LongSpriteMap
+ * ------------
+ *
+ * Open-addressing hash map from a primitive long key to a Sprite,
+ * used by ImageCache to look sprites up without allocating.
+ *
+ * - Keys live in a long[] and values in a parallel Sprite[]; an empty
+ * slot is a slot whose value is null, so every long is a valid key.
+ * - Capacity is a power of two and collisions are resolved with linear
+ * probing. The table doubles when it gets half full.
+ * - Removal uses backward-shift deletion (no tombstones), so probe chains
+ * stay short no matter how many entries are evicted over time.
+ * - Each slot carries a reference bit for CLOCK eviction: get() sets it and
+ * nextVictim() sweeps a hand around the table, clearing bits until it finds
+ * an unreferenced entry (second chance, an approximation of LRU that costs
+ * one boolean store per hit instead of relinking a list).
+ *
+ * Not thread safe for writers: ImageCache guards every call but peek() with
+ * its own lock. peek() is the lock-free read path: writers also mark every
+ * structural change in a StampedLock (uncontended, they are already
+ * serialised), so an optimistic read can tell whether it raced with one.
+ */
+final class LongSpriteMap {
+
+    private static final long HASH_MIX = 0x9E3779B97F4A7C15L; // Fibonacci hashing
+
+    private long[] keys;
+    private Sprite[] values;
+    private boolean[] referenced;
+    private int mask;
+    private int shift;
+    private int size = 0;
+    private int clockHand = 0;
+    private final StampedLock changes = new StampedLock(); // Validates peek()
+
+
+    LongSpriteMap(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEntries * 2) - 1) << 1;
+        this.allocate(capacity);
+    }
+
+
+    /**
+     * PUBLICS
+     */
+    Sprite get(long key) {
+        int slot = this.indexOf(key);
+        if (slot < 0) {
+            return null; // ===================================================>
+        }
+
+        this.referenced[slot] = true;
+        return this.values[slot];
+    }
+
+
+    /**
+     * get() without the caller holding any lock: an optimistic read,
+     * validated against structural changes made meanwhile. Null when the
+     * key is absent or a change raced with the read (callers then fall back
+     * on get() under their lock)
+     */
+    Sprite peek(long key) {
+        long stamp = this.changes.tryOptimisticRead();
+        if (stamp == 0L) {
+            return null; // ======================================= Writing ==>
+        }
+
+        long[] keys = this.keys;
+        Sprite[] values = this.values;
+        boolean[] referenced = this.referenced;
+        if (keys.length != values.length || referenced.length != values.length) {
+            return null; // ================================ Mid resize, torn ==>
+        }
+
+        int mask = values.length - 1;
+        int slot = (int) ((key * HASH_MIX) >>> (64 - Integer.numberOfTrailingZeros(values.length)));
+        Sprite sprite = null;
+
+        for (int probes = 0; probes < values.length; probes++) {
+            Sprite value = values[slot];
+            if (value == null) {
+                break;
+            }
+            if (keys[slot] == key) {
+                sprite = value;
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (sprite == null || !this.changes.validate(stamp)) {
+            return null; // ==================================================>
+        }
+
+        referenced[slot] = true; // CLOCK hint: racing with the sweep is harmless
+        return sprite;
+    }
+
+
+    boolean containsKey(long key) {
+        // Does not touch the reference bit
+        return this.indexOf(key) >= 0;
+    }
+
+
+    void put(long key, Sprite sprite) {
+        if (sprite == null) {
+            throw new IllegalArgumentException("Sprite cannot be null");
+        }
+
+        long stamp = this.changes.writeLock();
+        try {
+            if ((this.size + 1) * 2 > this.values.length) {
+                this.resize(this.values.length * 2);
+            }
+
+            int slot = this.hash(key);
+            while (this.values[slot] != null) {
+                if (this.keys[slot] == key) {
+                    this.values[slot] = sprite;
+                    this.referenced[slot] = true;
+                    return; // ================================================>
+                }
+                slot = (slot + 1) & this.mask;
+            }
+
+            this.keys[slot] = key;
+            this.values[slot] = sprite;
+            this.referenced[slot] = true;
+            this.size++;
+        } finally {
+            this.changes.unlockWrite(stamp);
+        }
+    }
+
+
+    /**
+     * CLOCK sweep: returns the slot of the next entry to evict, skipping
+     * keep. The caller must remove it with removeAt() before calling again.
+     * Returns -1 when there is nothing else to evict.
+     */
+    int nextVictim(long keep) {
+        if (this.size == 0 || (this.size == 1 && this.containsKey(keep))) {
+            return -1; // =====================================================>
+        }
+
+        while (true) {
+            int slot = this.clockHand;
+
+            if (this.values[slot] != null && this.keys[slot] != keep) {
+                if (!this.referenced[slot]) {
+                    return slot; // Hand stays here: removeAt() shifts into it
+                }
+                this.referenced[slot] = false; // Second chance
+            }
+
+            this.clockHand = (slot + 1) & this.mask;
+        }
+    }
+
+
+    long keyAt(int slot) {
+        return this.keys[slot];
+    }
+
+
+    Sprite valueAt(int slot) {
+        return this.values[slot];
+    }
+
+
+    /**
+     * Removes key and returns its sprite (null when absent)
+     */
+    Sprite remove(long key) {
+        int slot = this.indexOf(key);
+        if (slot < 0) {
+            return null; // ===================================================>
+        }
+
+        Sprite sprite = this.values[slot];
+        this.removeAt(slot);
+        return sprite;
+    }
+
+
+    void removeAt(int slot) {
+        long stamp = this.changes.writeLock();
+        try {
+            // Backward-shift deletion: pull later entries of the probe chain
+            // back into the hole while that does not move them before their
+            // home slot
+            int hole = slot;
+            int i = (slot + 1) & this.mask;
+
+            while (this.values[i] != null) {
+                int home = this.hash(this.keys[i]);
+
+                if (((i - home) & this.mask) >= ((i - hole) & this.mask)) {
+                    this.keys[hole] = this.keys[i];
+                    this.values[hole] = this.values[i];
+                    this.referenced[hole] = this.referenced[i];
+                    hole = i;
+                }
+                i = (i + 1) & this.mask;
+            }
+
+            this.values[hole] = null;
+            this.referenced[hole] = false;
+            this.size--;
+        } finally {
+            this.changes.unlockWrite(stamp);
+        }
+    }
+
+
+    int size() {
+        return this.size;
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Sprite[capacity];
+        this.referenced = new boolean[capacity];
+        this.mask = capacity - 1;
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        this.clockHand = 0;
+    }
+
+
+    private int hash(long key) {
+        return (int) ((key * HASH_MIX) >>> this.shift);
+    }
+
+
+    private int indexOf(long key) {
+        int slot = this.hash(key);
+
+        while (this.values[slot] != null) {
+            if (this.keys[slot] == key) {
+                return slot; // ===============================================>
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        return -1;
+    }
+
+
+    private void resize(int capacity) {
+        long[] oldKeys = this.keys;
+        Sprite[] oldValues = this.values;
+        boolean[] oldReferenced = this.referenced;
+
+        this.allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+
+            int slot = this.hash(oldKeys[i]);
+            while (this.values[slot] != null) {
+                slot = (slot + 1) & this.mask;
+            }
+
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+            this.referenced[slot] = oldReferenced[i];
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package images;
+
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+
+/**
+ * Sprite
+ * ------
+ *
+ * A render-ready, pre-rotated sprite handed out by the ImageCache: a
+ * rectangle (x, y, width, height) inside a source image.
+ *
+ * - Atlas sprites (page >= 0) live in a cell of a shared SpriteAtlas page,
+ * so many sprites share one source surface and consecutive draws of the same
+ * page do not switch textures.
+ * - Standalone sprites (page == STANDALONE) own their image, for sizes too
+ * large for the atlas.
+ *
+ * Once the cache evicts a sprite it is flagged (isEvicted()) so holders ask
+ * the cache again instead of keeping it (and its page) alive. Its pixels
+ * stay valid meanwhile: atlas cells are never handed to another sprite
+ * (see SpriteAtlas), so drawing an evicted sprite never shows another one.
+ */
+public final class Sprite {
+
+    public static final int STANDALONE = -1;
+
+    public final BufferedImage image; // Atlas page or own image
+    public final int page;
+    public final int x;
+    public final int y;
+    public final int width;
+    public final int height;
+    final int cell; // Cell index inside its atlas page
+    final long bytes; // Memory charged to the cache budget
+
+    volatile ImageCache owner = null; // Set when cached, charged for the copy below
+    volatile int[] premultiplied = null; // Software rasteriser copy · set and dropped under the cache lock
+    private volatile boolean evicted = false;
+
+
+    Sprite(BufferedImage image, int page, int cell, int x, int y, int width, int height, long bytes) {
+        this.image = image;
+        this.page = page;
+        this.cell = cell;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.bytes = bytes;
+    }
+
+
+    /**
+     * PUBLICS
+     */
+    public boolean isEvicted() {
+        return this.evicted;
+    }
+
+
+    /**
+     * Sprite pixels as premultiplied ARGB, row-major, width x height. Copied
+     * once (with getRGB(), so the source image keeps its acceleration) and
+     * kept with the sprite while it is cached: the copy is charged to the
+     * cache budget (it may evict other sprites) and eviction drops it, so an
+     * evicted sprite never keeps one. Render thread only
+     */
+    public int[] getPremultipliedPixels() {
+        int[] pixels = this.premultiplied;
+        if (pixels != null) {
+            return pixels; // ==================================================>
+        }
+
+        pixels = this.image.getRGB(this.x, this.y, this.width, this.height, null, 0, this.width);
+        for (int i = 0; i < pixels.length; i++) {
+            int argb = pixels[i];
+            int a = argb >>> 24;
+
+            if (a == 0) {
+                pixels[i] = 0;
+            } else if (a < 255) {
+                int r = (((argb >> 16) & 0xFF) * a + 127) / 255;
+                int g = (((argb >> 8) & 0xFF) * a + 127) / 255;
+                int b = ((argb & 0xFF) * a + 127) / 255;
+                pixels[i] = (a << 24) | (r << 16) | (g << 8) | b;
+            }
+        }
+
+        ImageCache owner = this.owner;
+        if (owner != null) {
+            owner.keepPremultiplied(this, pixels);
+        }
+
+        return pixels;
+    }
+
+
+    /**
+     * Untransformed blit of the sprite centered on (centerX, centerY)
+     */
+    public void draw(Graphics2D g, int centerX, int centerY) {
+        int dx = centerX - this.width / 2;
+        int dy = centerY - this.height / 2;
+
+        g.drawImage(this.image,
+                dx, dy, dx + this.width, dy + this.height,
+                this.x, this.y, this.x + this.width, this.y + this.height,
+                null);
+    }
+
+
+    /**
+     * Blit scaled by scale around (centerX, centerY). Slower than draw():
+     * only for callers that cannot ask the cache for a sprite at the final
+     * size (e.g. culled static items under camera zoom)
+     */
+    public void draw(Graphics2D g, int centerX, int centerY, double scale) {
+        if (scale == 1d) {
+            this.draw(g, centerX, centerY);
+            return; // =======================================================>
+        }
+
+        int width = (int) Math.round(this.width * scale);
+        int height = (int) Math.round(this.height * scale);
+        int dx = centerX - width / 2;
+        int dy = centerY - height / 2;
+
+        g.drawImage(this.image,
+                dx, dy, dx + width, dy + height,
+                this.x, this.y, this.x + this.width, this.y + this.height,
+                null);
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    void markEvicted() {
+        this.evicted = true;
+        this.premultiplied = null;
+    }
+}
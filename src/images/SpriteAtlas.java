@@ -0,0 +1,231 @@
+package images;
+
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+
+/**
+ * SpriteAtlas
+ * -----------
+ *
+ * Packs small cached sprites into a few large PAGE_SIZE x PAGE_SIZE images,
+ * so the Renderer can draw many sprites from the same source surface in a
+ * row.
+ *
+ * Packing is a slab allocator: every page is split into a grid of square
+ * cells of one size class (CELL_SIZES), and a sprite takes the next unused
+ * cell of a page of the smallest class it fits in.
+ *
+ * Cells are never handed out twice: a page is written only while it is
+ * being filled, and it is released as a whole when the last sprite packed
+ * in it is released (see ImageCache eviction). A sprite therefore keeps
+ * valid pixels for as long as someone holds it, even after eviction, and
+ * memory is returned in whole pages (PAGE_BYTES), which is what the cache
+ * charges to its budget.
+ *
+ * Sprites larger than the biggest class are not packed (pack() returns
+ * null) and stay standalone images.
+ *
+ * Not thread safe: ImageCache guards every call with its own lock.
+ */
+final class SpriteAtlas {
+
+    static final int PAGE_SIZE = 512;
+    static final long PAGE_BYTES = (long) PAGE_SIZE * PAGE_SIZE * 4L;
+    static final int[] CELL_SIZES = {16, 24, 32, 48, 64, 96, 128};
+
+    private final ArrayList<Page> pages = new ArrayList<>(16); // Index = page id
+    private int pageCount = 0;
+
+
+    /**
+     * PUBLICS
+     */
+    int getPageCount() {
+        return this.pageCount;
+    }
+
+
+    /**
+     * Pages are indexed [0, getPageSlots()); released pages leave a null
+     * slot that a new page reuses
+     */
+    int getPageSlots() {
+        return this.pages.size();
+    }
+
+
+    /**
+     * Cache keys of the sprites of page still packed (not released). Returns
+     * the count written into keys, which must hold cells per page
+     */
+    int getLiveKeys(int pageId, long[] keys) {
+        Page page = this.pageAt(pageId);
+        if (page == null) {
+            return 0; // ======================================================>
+        }
+
+        int count = 0;
+        for (int cell = 0; cell < page.nextCell; cell++) {
+            if (page.live[cell]) {
+                keys[count++] = page.keys[cell];
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Most cells a page can hold (smallest cell class)
+     */
+    static int getMaxCellsPerPage() {
+        int cellsPerRow = PAGE_SIZE / CELL_SIZES[0];
+
+        return cellsPerRow * cellsPerRow;
+    }
+
+
+    /**
+     * Copies sprite into an unused cell and returns its atlas Sprite, or null
+     * when the sprite is too large for the atlas
+     */
+    Sprite pack(BufferedImage sprite, GraphicsConfiguration gc, long key) {
+        int width = sprite.getWidth();
+        int height = sprite.getHeight();
+        int cellSize = SpriteAtlas.cellSizeFor(Math.max(width, height));
+
+        if (cellSize < 0 || gc == null) {
+            return null; // ===================================================>
+        }
+
+        Page page = this.pageWithFreeCell(cellSize, gc);
+        int cell = page.nextCell++;
+        int x = (cell % page.cellsPerRow) * cellSize;
+        int y = (cell / page.cellsPerRow) * cellSize;
+        page.keys[cell] = key;
+        page.live[cell] = true;
+        page.liveCount++;
+
+        Graphics2D g = page.image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(sprite, x, y, null);
+        } finally {
+            g.dispose();
+        }
+
+        return new Sprite(page.image, page.id, cell, x, y, width, height,
+                (long) cellSize * (long) cellSize * 4L);
+    }
+
+
+    /**
+     * The sprite leaves its page (its cell is not reused). Returns true when
+     * that released the whole page (PAGE_BYTES freed)
+     */
+    boolean release(Sprite sprite) {
+        Page page = this.pageAt(sprite.page);
+        if (page == null || page.image != sprite.image || !page.live[sprite.cell]) {
+            return false; // ========================= Page already released ==>
+        }
+
+        page.live[sprite.cell] = false;
+        page.liveCount--;
+
+        if (page.liveCount == 0) {
+            this.pages.set(page.id, null);
+            this.pageCount--;
+            return true; // ===================================================>
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Cell size class for a sprite side, -1 when it does not fit any class
+     */
+    static int cellSizeFor(int side) {
+        for (int cellSize : CELL_SIZES) {
+            if (side <= cellSize) {
+                return cellSize; // ============================================>
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * PRIVATES
+     */
+    private Page pageAt(int pageId) {
+        if (pageId < 0 || pageId >= this.pages.size()) {
+            return null; // ===================================================>
+        }
+
+        return this.pages.get(pageId);
+    }
+
+
+    private Page pageWithFreeCell(int cellSize, GraphicsConfiguration gc) {
+        int freeSlot = -1;
+
+        for (int i = 0; i < this.pages.size(); i++) {
+            Page page = this.pages.get(i);
+            if (page == null) {
+                if (freeSlot < 0) {
+                    freeSlot = i;
+                }
+                continue;
+            }
+
+            if (page.cellSize == cellSize && page.nextCell < page.keys.length) {
+                return page; // ================================================>
+            }
+        }
+
+        int id = (freeSlot >= 0) ? freeSlot : this.pages.size();
+        Page page = new Page(id, cellSize,
+                gc.createCompatibleImage(PAGE_SIZE, PAGE_SIZE, Transparency.BITMASK));
+
+        if (freeSlot >= 0) {
+            this.pages.set(id, page);
+        } else {
+            this.pages.add(page);
+        }
+        this.pageCount++;
+
+        return page;
+    }
+
+
+    private static final class Page {
+
+        final int id;
+        final int cellSize;
+        final int cellsPerRow;
+        final BufferedImage image;
+        final long[] keys; // Cache key packed in each cell
+        final boolean[] live; // Cell sprite still packed
+        int nextCell = 0; // Cells below are (or were) in use
+        int liveCount = 0;
+
+        Page(int id, int cellSize, BufferedImage image) {
+            this.id = id;
+            this.cellSize = cellSize;
+            this.cellsPerRow = PAGE_SIZE / cellSize;
+            this.image = image;
+
+            int cells = this.cellsPerRow * this.cellsPerRow;
+            this.keys = new long[cells];
+            this.live = new boolean[cells];
+        }
+    }
+}
@@ -12,12 +12,18 @@ package main;
  * 6) Comms
  * =====
  */
+import java.io.File;
+
 import assets.ProjectAssets;
+import benchmarks.RenderBenchmark;
 import controller.Controller;
+import controller.ports.ViewPort;
 import generators.LifeConfigDTO;
 import generators.LifeGenerator;
 import generators.SceneGenerator;
 import model.Model;
+import view.NullView;
+import view.OffscreenView;
 import view.View;
 import world.WorldDefinition;
 import world.providers.RandomWorldDefinitionProvider;
@@ -27,7 +33,24 @@ public class Main {
 
         public static void main(String[] args) {
 
-                System.setProperty("sun.java2d.uiScale", "1.0");
+                // --headless: simulation only, no window (servers, load tests)
+                // --offscreen [dir [frames]]: headless rendering at 30 FPS,
+                // optionally captured to a PNG sequence
+                // --render-bench [sprites [frames]]: headless sprites/sec of
+                // the sprite blit path against the former transformed one
+                if (args.length > 0 && args[0].equals("--render-bench")) {
+                        runRenderBenchmark(args);
+                        return; // ==================================================>
+                }
+
+                boolean offscreen = args.length > 0 && args[0].equals("--offscreen");
+                boolean headless = offscreen || (args.length > 0 && args[0].equals("--headless"));
+
+                if (headless) {
+                        System.setProperty("java.awt.headless", "true");
+                } else {
+                        System.setProperty("sun.java2d.uiScale", "1.0");
+                }
                 int worldWidth = 2450;
                 int worldHeight = 1450;
 
@@ -38,10 +61,26 @@ public class Main {
 
                 WorldDefinition worldDef = world.provide();
 
+                ViewPort view;
+                if (offscreen) {
+                        File captureDir = (args.length > 1) ? new File(args[1]) : null;
+                        long maxFrames = (args.length > 2) ? parseMaxFrames(args[2]) : 0;
+                        if (maxFrames < 0) {
+                                System.err.println("Usage: Main --offscreen [dir [frames]]");
+                                System.err.println("frames must be an integer >= 0, got '" + args[2] + "'");
+                                System.exit(2);
+                        }
+                        view = new OffscreenView(30, captureDir, maxFrames);
+                } else if (headless) {
+                        view = new NullView();
+                } else {
+                        view = new View();
+                }
+
                 Controller controller = new Controller(
                                 worldWidth, worldHeight, // World dimensions
                                 3500, // Max dynamic bodies
-                                new View(), new Model(),
+                                view, new Model(),
                                 worldDef.gameAssets);
 
                 controller.activate();
@@ -58,5 +97,72 @@ public class Main {
                 LifeGenerator lifeGenerator = new LifeGenerator(controller, worldDef, lifeConfig);
 
                 lifeGenerator.activate();
+
+                if (headless) {
+                        reportHeadless(controller, view);
+
+                        // Offscreen run done (frame limit reached): body threads never end
+                        // on their own, so stop the engine and leave
+                        controller.engineStop();
+                        System.exit(0);
+                }
+        }
+
+        private static void runRenderBenchmark(String[] args) {
+                System.setProperty("java.awt.headless", "true");
+                try {
+                        int sprites = (args.length > 1) ? Integer.parseInt(args[1]) : RenderBenchmark.DEFAULT_SPRITES;
+                        int frames = (args.length > 2) ? Integer.parseInt(args[2]) : RenderBenchmark.DEFAULT_FRAMES;
+                        RenderBenchmark.run(sprites, frames);
+                } catch (IllegalArgumentException ex) {
+                        System.err.println("Usage: Main --render-bench [sprites [frames]]");
+                        System.err.println(ex.getMessage());
+                        System.exit(2);
+                } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                }
+                System.exit(0); // Cache raster threads never end on their own
+        }
+
+        /**
+         * Frame limit of --offscreen, -1 when it is not an integer >= 0
+         */
+        private static long parseMaxFrames(String arg) {
+                try {
+                        return Math.max(-1, Long.parseLong(arg));
+                } catch (NumberFormatException ex) {
+                        return -1;
+                }
+        }
+
+        /**
+         * Prints the engine counters every second. Returns when an offscreen
+         * view stops (frame limit reached, every frame written); runs forever
+         * otherwise
+         */
+        private static void reportHeadless(Controller controller, ViewPort view) {
+                while (true) {
+                        try {
+                                Thread.sleep(1000);
+                        } catch (InterruptedException ex) {
+                                return;
+                        }
+
+                        String frames = "";
+                        if (view instanceof OffscreenView offscreenView) {
+                                frames = " | Frames " + offscreenView.getFramesRendered()
+                                                + String.format(" (%.2f ms avg)", offscreenView.getAverageRenderMs())
+                                                + " | Written " + offscreenView.getFramesWritten();
+                        }
+
+                        System.out.println("Alive " + controller.getEntityAliveQuantity()
+                                        + " | Dead " + controller.getEntityDeadQuantity()
+                                        + " | Created " + controller.getEntityCreatedQuantity()
+                                        + frames);
+
+                        if (view instanceof OffscreenView offscreenView && !offscreenView.isRunning()) {
+                                return; // ==========================================>
+                        }
+                }
         }
 }
\ No newline at end of file
@@ -4,24 +4,31 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import _helpers.DoubleVector;
+import _helpers.FastTrig;
 import controller.ports.DomainEventProcesor;
 import model.physics.PhysicsValuesDTO;
 
 import java.awt.Dimension;
 import static java.lang.System.nanoTime;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import model.bodies.AbstractBody;
 import model.bodies.BodyDTO;
-import model.bodies.DecoBody;
 import model.bodies.DynamicBody;
+import model.bodies.LifetimeWheel;
 import model.bodies.BodyState;
 import model.bodies.PlayerBody;
-import model.bodies.StaticBody;
+import model.bodies.ProjectilePool;
+import model.bodies.StaticBodyStore;
 import model.physics.BasicPhysicsEngine;
 import model.weapons.WeaponDto;
 import model.weapons.WeaponFactory;
+import model.weapons.WeaponType;
 import model.weapons.ports.Weapon;
 
 /**
@@ -56,18 +63,21 @@ import model.weapons.ports.Weapon;
  * - Keyed by player ID string
  * - Support thrust, rotation, and firing commands
  *
- * 3) Static Bodies (sBodies)
+ * 3) Static Bodies (staticBodies)
  * - Non-moving entities with fixed positions (obstacles, platforms)
- * - No physics thread
- * - Push-updated to View when created/modified
+ * - No physics thread and no per-entity object: stored packed in a
+ * StaticBodyStore (parallel primitive arrays, addressed by slot index)
+ * - Pushed once to the View when created (they never change)
  *
  * 4) Gravity Bodies (gravityBodies)
  * - Static bodies that exert gravitational influence
  * - Used for planetary bodies or black holes
+ * - Same packed StaticBodyStore, pushed once to the View when created
  *
  * 5) Decorators (decorators)
  * - Visual-only entities with no gameplay impact (background elements)
- * - Push-updated to View when created/modified
+ * - Same packed StaticBodyStore as static bodies, so scene decoration can
+ * scale to 100k+ items
  *
  * Lifecycle
  * ---------
@@ -80,14 +90,47 @@ import model.weapons.ports.Weapon;
  * - Transitions to ALIVE state
  * - After activation, entities can be created and activated
  *
+ * Life spans
+ * ----------
+ * Bodies with a max life register in one LifetimeWheel (LIFETIME_TICK_MILLIS
+ * ticks), advanced by the "Lifetime wheel" daemon thread started on
+ * activation. Each tick expires only the bodies due in it, which read
+ * isLifeOver() as a flag and report LIFE_OVER on their next tick; bodies
+ * without a life span cost nothing.
+ *
+ * Projectile pools
+ * ----------------
+ * Shots reuse dead projectiles of the same weapon type (one ProjectilePool
+ * per WeaponType, PROJECTILE_POOL_SIZE idle bodies at most): a reused
+ * projectile keeps its entity id, engine and thread and is reset in place,
+ * so sustained fire does not create a body, engine, UUID and thread per
+ * shot. Hit rates are available per type (getProjectilePool()) and overall
+ * (getProjectilePoolHitRate()). Idle projectiles park their thread without
+ * polling; stop() wakes them so they end with the model.
+ *
+ * Fragmentation
+ * -------------
+ * EXPLODE_IN_FRAGMENTS kills the body and, when its fragments would be at
+ * least FRAGMENT_MIN_SIZE, spawns FRAGMENTS children in one batch
+ * (addFragments()): capacity is reserved once for all of them, every child
+ * is built from the parent's last PhysicsValuesDTO (inherited velocity plus
+ * an even radial spread) and the Controller is notified once with all the
+ * ids, the parent's asset id (DynamicBody.getAssetId()) and their life span,
+ * so the View registers their renderables (and times their shrink-out
+ * effect) in one call. Fragments are
+ * short lived and may break again when their life is over, but every break
+ * halves the size and adds one generation: fragments of generation
+ * FRAGMENT_MAX_GENERATION (or below FRAGMENT_MIN_SIZE) only die, so a body
+ * spawns at most FRAGMENTS + FRAGMENTS^2 + ... bodies, whatever its size.
+ *
  * Snapshot generation
  * -------------------
  * The Model provides snapshot methods that return immutable DTOs:
- * - getDBodyInfo(): returns List<DBodyInfoDTO> for all active dynamic bodies
- * - getSBodyInfo(): returns List<EntityInfoDTO> for all active static bodies
- * - getDecoratorInfo(): returns List<EntityInfoDTO> for all decorators
+ * - getDynamicsData(): returns List<BodyDTO> for all active dynamic bodies
  *
  * These snapshots are pulled by the Controller and pushed to the View/Renderer.
+ * Static bodies and decorators are immutable, so they need no snapshot: their
+ * values are forwarded to the View once, when they are created.
  * The pattern ensures clean separation: rendering never accesses mutable
  * entity state directly.
  *
@@ -110,23 +153,37 @@ import model.weapons.ports.Weapon;
 public class Model {
 
     private int maxDBody;
+    private final AtomicInteger dBodySlots = new AtomicInteger(0); // Alive or being built
     private Dimension worldDim;
 
     private DomainEventProcesor domainEventProcessor = null;
     private volatile ModelState state = ModelState.STARTING;
 
     private static final int MAX_ENTITIES = 5000;
+    private static final int FRAGMENTS = 4;
+    private static final double FRAGMENT_SIZE_RATIO = 0.5d;
+    private static final double FRAGMENT_MIN_SIZE = 12d;
+    private static final int FRAGMENT_MAX_GENERATION = 2; // Fragments of fragments at most
+    private static final double FRAGMENT_SPREAD_SPEED = 60d;
+    private static final double FRAGMENT_SPIN = 120d; // Max degrees per second
+    private static final double FRAGMENT_LIFE_SECONDS = 1.5d;
+    private static final int PROJECTILE_POOL_SIZE = 256; // Idle bodies per weapon type
+    private static final long LIFETIME_TICK_MILLIS = 10;
     private final Map<String, AbstractBody> dynamicBodies = new ConcurrentHashMap<>(MAX_ENTITIES);
-    private final Map<String, AbstractBody> decorators = new ConcurrentHashMap<>(100);
-    private final Map<String, AbstractBody> gravityBodies = new ConcurrentHashMap<>(50);
+    private final StaticBodyStore decorators = new StaticBodyStore();
+    private final StaticBodyStore gravityBodies = new StaticBodyStore();
     private final Map<String, AbstractBody> playerBodies = new ConcurrentHashMap<>(10);
-    private final Map<String, AbstractBody> staticBodies = new ConcurrentHashMap<>(100);
+    private final StaticBodyStore staticBodies = new StaticBodyStore();
+    private final Map<WeaponType, ProjectilePool> projectilePools = new EnumMap<>(WeaponType.class);
+    private final LifetimeWheel lifetimes = new LifetimeWheel(LIFETIME_TICK_MILLIS * 1_000_000L);
 
     /**
      * CONSTRUCTORS
      */
     public Model() {
-
+        for (WeaponType type : WeaponType.values()) {
+            this.projectilePools.put(type, new ProjectilePool(type, PROJECTILE_POOL_SIZE));
+        }
     }
 
     /**
@@ -145,21 +202,22 @@ public class Model {
             throw new IllegalArgumentException("Max visual objects not set");
         }
         this.state = ModelState.ALIVE;
+        this.startLifetimeWheel();
     }
 
-    public String addDynamicBody(double size, double posX, double posY,
+    public String addDynamicBody(String assetId, double size, double posX, double posY,
             double speedX, double speedY, double accX, double accY,
             double angle, double angularSpeed, double angularAcc, double thrust) {
 
-        return this.addDynamicBody(size, posX, posY, speedX, speedY, accX, accY, angle, angularSpeed, angularAcc,
-                thrust, -1L);
+        return this.addDynamicBody(assetId, size, posX, posY, speedX, speedY, accX, accY, angle, angularSpeed,
+                angularAcc, thrust, -1L);
     }
 
-    public String addDynamicBody(double size, double posX, double posY,
+    public String addDynamicBody(String assetId, double size, double posX, double posY,
             double speedX, double speedY, double accX, double accY,
             double angle, double angularSpeed, double angularAcc, double thrust, double maxLifeInSeconds) {
 
-        if (AbstractBody.getAliveQuantity() >= this.maxDBody) {
+        if (this.reserveDBodySlots(1) == 0) {
             return null; // ========= Max vObject quantity reached ==========>>
         }
 
@@ -169,29 +227,80 @@ public class Model {
         DynamicBody dBody = new DynamicBody(new BasicPhysicsEngine(phyVals), maxLifeInSeconds);
 
         dBody.setModel(this);
+        dBody.setAssetId(assetId);
         dBody.activate();
         this.dynamicBodies.put(dBody.getEntityId(), dBody);
 
         return dBody.getEntityId();
     }
 
-    public String addDecorator(double size, double posX, double posY, double angle) {
-        DecoBody deco = new DecoBody(size, posX, posY, angle);
+    /**
+     * Batch spawn of count bodies broken off parent: sizeRatio of its size,
+     * spread evenly around it, each one with the parent velocity plus
+     * spreadSpeed outwards. Capacity is reserved once (the batch is cut to
+     * the free room) and bodies are only activated and published when all
+     * of them are built. Every fragment shows assetId and belongs to
+     * generation. Returns the ids of the bodies spawned
+     */
+    public String[] addFragments(PhysicsValuesDTO parent, String assetId, int generation, int count,
+            double sizeRatio, double spreadSpeed, double maxLifeInSeconds) {
+
+        if (count <= 0 || sizeRatio <= 0) {
+            throw new IllegalArgumentException("Fragment count and size ratio must be > 0");
+        }
+
+        int quantity = this.reserveDBodySlots(count);
+        if (quantity == 0) {
+            return new String[0]; // ===== Max vObject quantity reached ======>>
+        }
+
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        long now = nanoTime();
+        double size = parent.size * sizeRatio;
+        double step = 360d / quantity;
+        double firstAngle = rnd.nextDouble(360d);
+        DynamicBody[] fragments = new DynamicBody[quantity];
+
+        for (int i = 0; i < quantity; i++) {
+            double angleRad = Math.toRadians(firstAngle + step * i + rnd.nextDouble(-step, step) * 0.25d);
+            double dirX = Math.cos(angleRad);
+            double dirY = Math.sin(angleRad);
+            double speed = spreadSpeed * rnd.nextDouble(0.75d, 1.25d);
+
+            PhysicsValuesDTO phyVals = new PhysicsValuesDTO(now,
+                    parent.posX + dirX * size * 0.5d, parent.posY + dirY * size * 0.5d,
+                    rnd.nextDouble(360d), size,
+                    parent.speedX + dirX * speed, parent.speedY + dirY * speed,
+                    0d, 0d,
+                    rnd.nextDouble(-FRAGMENT_SPIN, FRAGMENT_SPIN), 0d, 0d);
 
-        deco.setModel(this);
-        deco.activate();
-        this.decorators.put(deco.getEntityId(), deco);
+            fragments[i] = new DynamicBody(new BasicPhysicsEngine(phyVals), maxLifeInSeconds);
+            fragments[i].setModel(this);
+            fragments[i].setAssetId(assetId);
+            fragments[i].setGeneration(generation);
+        }
+
+        String[] entityIds = new String[quantity];
+        for (int i = 0; i < quantity; i++) {
+            fragments[i].activate();
+            entityIds[i] = fragments[i].getEntityId();
+            this.dynamicBodies.put(entityIds[i], fragments[i]);
+        }
+
+        return entityIds;
+    }
 
-        return deco.getEntityId();
+    public int addDecorator(double size, double posX, double posY, double angle) {
+        return this.decorators.add(size, posX, posY, angle);
     }
 
-    public String addPlayer(double size,
+    public String addPlayer(String assetId, double size,
             double posX, double posY, double speedX, double speedY,
             double accX, double accY,
             double angle, double angularSpeed, double angularAcc,
             double thrust) {
 
-        if (AbstractBody.getAliveQuantity() >= this.maxDBody) {
+        if (this.reserveDBodySlots(1) == 0) {
             return null; // ========= Max vObject quantity reached ==========>>
         }
 
@@ -203,6 +312,7 @@ public class Model {
         PlayerBody pBody = new PlayerBody(new BasicPhysicsEngine(phyVals));
 
         pBody.setModel(this);
+        pBody.setAssetId(assetId);
         pBody.activate();
         String entityId = pBody.getEntityId();
         this.dynamicBodies.put(entityId, pBody);
@@ -211,16 +321,16 @@ public class Model {
         return entityId;
     }
 
-    public String addStaticBody(double size,
+    public int addGravityBody(double size,
             double posX, double posY, double angle) {
 
-        StaticBody sBody = new StaticBody(size, posX, posY, angle);
+        return this.gravityBodies.add(size, posX, posY, angle);
+    }
 
-        sBody.setModel(this);
-        sBody.activate();
-        this.staticBodies.put(sBody.getEntityId(), sBody);
+    public int addStaticBody(double size,
+            double posX, double posY, double angle) {
 
-        return sBody.getEntityId();
+        return this.staticBodies.add(size, posX, posY, angle);
     }
 
     public void addWeaponToPlayer(
@@ -244,14 +354,16 @@ public class Model {
         return this.getBodyData(this.dynamicBodies);
     }
 
-    public ArrayList<BodyDTO> getStaticsData() {
-        ArrayList<BodyDTO> staticsInfo;
+    public int getDecoratorsQuantity() {
+        return this.decorators.size();
+    }
 
-        staticsInfo = this.getBodyData(this.decorators);
-        staticsInfo.addAll(this.getBodyData(this.staticBodies));
-        staticsInfo.addAll(this.getBodyData(this.gravityBodies));
+    public int getGravityBodiesQuantity() {
+        return this.gravityBodies.size();
+    }
 
-        return staticsInfo;
+    public int getStaticBodiesQuantity() {
+        return this.staticBodies.size();
     }
 
     public ArrayList<BodyDTO> getBodyData(Map<String, AbstractBody> bodies) {
@@ -267,6 +379,32 @@ public class Model {
         return bodyData;
     }
 
+    /**
+     * Life spans of every mortal body (bodies register themselves)
+     */
+    public LifetimeWheel getLifetimes() {
+        return this.lifetimes;
+    }
+
+    public ProjectilePool getProjectilePool(WeaponType type) {
+        return this.projectilePools.get(type);
+    }
+
+    /**
+     * Reused shots over all shots of every weapon type, in %
+     */
+    public double getProjectilePoolHitRate() {
+        long hits = 0;
+        long shots = 0;
+        for (ProjectilePool pool : this.projectilePools.values()) {
+            long poolHits = pool.getHits();
+            hits += poolHits;
+            shots += poolHits + pool.getMisses();
+        }
+
+        return (shots == 0) ? 0d : hits * 100d / shots;
+    }
+
     public ModelState getState() {
         return this.state;
     }
@@ -292,8 +430,12 @@ public class Model {
     }
 
     public void killDBody(DynamicBody dBody) {
+        // Out of the map before dying: a dead pooled projectile may be
+        // reused (and put back under the same id) right away
+        if (this.dynamicBodies.remove(dBody.getEntityId(), dBody)) {
+            this.dBodySlots.decrementAndGet();
+        }
         dBody.die();
-        this.dynamicBodies.remove(dBody.getEntityId());
     }
 
     public void playerFire(String playerId) {
@@ -398,6 +540,18 @@ public class Model {
         this.maxDBody = maxDynamicBody;
     }
 
+    /**
+     * Ends the simulation: body threads and the lifetime wheel leave their
+     * loops, and pooled projectiles parked idle are woken to end too
+     */
+    public void stop() {
+        this.state = ModelState.STOPPED;
+
+        for (ProjectilePool pool : this.projectilePools.values()) {
+            pool.wakeIdle();
+        }
+    }
+
     /**
      * PRIVATE
      */
@@ -448,7 +602,8 @@ public class Model {
         List<EventDTO> events = this.checkLimitEvents(body, newPhyValues);
 
         if (body instanceof PlayerBody) {
-            if (((PlayerBody) body).mustFireNow(newPhyValues)) {
+            double dtSeconds = (newPhyValues.timeStamp - oldPhyValues.timeStamp) / 1_000_000_000.0d;
+            if (((PlayerBody) body).mustFireNow(dtSeconds)) {
                 events.add(new EventDTO(body, EventType.MUST_FIRE));
             }
         }
@@ -550,12 +705,85 @@ public class Model {
                 break;
 
             case EXPLODE_IN_FRAGMENTS:
+                this.explodeDBody(dBody, newPhyValues);
                 break;
 
             default:
         }
     }
 
+    private void explodeDBody(DynamicBody dBody, PhysicsValuesDTO phyValues) {
+        this.killDBody(dBody);
+
+        this.domainEventProcessor.notifyExplosion(phyValues.posX, phyValues.posY,
+                phyValues.speedX, phyValues.speedY, phyValues.size);
+
+        String assetId = dBody.getAssetId();
+        int generation = dBody.getGeneration();
+        if (assetId == null || generation >= FRAGMENT_MAX_GENERATION
+                || phyValues.size * FRAGMENT_SIZE_RATIO < FRAGMENT_MIN_SIZE) {
+            return; // ========= Nothing to show, last generation or too small >>
+        }
+
+        String[] fragmentIds = this.addFragments(phyValues, assetId, generation + 1, FRAGMENTS,
+                FRAGMENT_SIZE_RATIO, FRAGMENT_SPREAD_SPEED, FRAGMENT_LIFE_SECONDS);
+
+        if (fragmentIds.length > 0) {
+            this.domainEventProcessor.notifyFragmentsSpawned(assetId, fragmentIds, FRAGMENT_LIFE_SECONDS);
+        }
+    }
+
+    /**
+     * Projectile from the pool of the weapon type (reset in place), or a
+     * new pooled one when the pool is empty. Null when the entity limit is
+     * reached
+     */
+    private String addProjectile(WeaponDto weaponConfig, double posX, double posY,
+            double speedX, double speedY, double accX, double accY, double angle) {
+
+        if (this.reserveDBodySlots(1) == 0) {
+            return null; // ========= Max vObject quantity reached ==========>>
+        }
+
+        PhysicsValuesDTO phyVals = new PhysicsValuesDTO(nanoTime(), posX, posY, angle,
+                weaponConfig.projectileSize, speedX, speedY, accX, accY, 0d, 0d, 0d);
+
+        ProjectilePool pool = (weaponConfig.type != null) ? this.projectilePools.get(weaponConfig.type) : null;
+        DynamicBody projectile = (pool != null) ? pool.acquire() : null;
+
+        if (projectile != null) {
+            projectile.reuse(phyVals, weaponConfig.maxlifeTime);
+        } else {
+            projectile = new DynamicBody(new BasicPhysicsEngine(phyVals), weaponConfig.maxlifeTime, pool);
+            projectile.setModel(this);
+            projectile.setAssetId(weaponConfig.projectileAssetId);
+            projectile.activate();
+        }
+
+        this.dynamicBodies.put(projectile.getEntityId(), projectile);
+        return projectile.getEntityId();
+    }
+
+    /**
+     * Takes up to count dynamic body slots out of maxDBody in one atomic
+     * step (CAS), so concurrent spawns on body threads never exceed the
+     * limit. Returns the slots granted (0 when full); each one is given
+     * back by killDBody()
+     */
+    private int reserveDBodySlots(int count) {
+        while (true) {
+            int used = this.dBodySlots.get();
+            int granted = Math.max(0, Math.min(count, this.maxDBody - used));
+
+            if (granted == 0) {
+                return 0; // ==================================================>
+            }
+            if (this.dBodySlots.compareAndSet(used, used + granted)) {
+                return granted; // ============================================>
+            }
+        }
+    }
+
     private boolean isProcessable(AbstractBody entity) {
         return entity != null
                 && this.state == ModelState.ALIVE
@@ -578,15 +806,14 @@ public class Model {
             return;
         }
 
-        double angleDeg = shooterNewPhy.angle;
-        double angleRad = Math.toRadians(angleDeg);
+        // One direction vector for the whole shot (shared, not allocated):
+        // the muzzle offset is perpendicular to it (angle - 90: (sin, -cos))
+        DoubleVector dir = FastTrig.unitVector(shooterNewPhy.angle);
+        double dirX = dir.x;
+        double dirY = dir.y;
 
-        double dirX = Math.cos(angleRad);
-        double dirY = Math.sin(angleRad);
-
-        double angleInRads = Math.toRadians(shooterNewPhy.angle - 90);
-        double posX = shooterNewPhy.posX + Math.cos(angleInRads) * weaponConfig.shootingOffset;
-        double posY = shooterNewPhy.posY + Math.sin(angleInRads) * weaponConfig.shootingOffset;
+        double posX = shooterNewPhy.posX + dirY * weaponConfig.shootingOffset;
+        double posY = shooterNewPhy.posY - dirX * weaponConfig.shootingOffset;
 
         // double projSpeedX = weaponConfig.firingSpeed * dirX;
         // double projSpeedY = weaponConfig.firingSpeed * dirY;
@@ -596,9 +823,8 @@ public class Model {
         double accX = weaponConfig.acceleration * dirX;
         double accY = weaponConfig.acceleration * dirY;
 
-        String entityId = this.addDynamicBody(weaponConfig.projectileSize,
-                posX, posY, projSpeedX, projSpeedY,
-                accX, accY, angleDeg, 0d, 0d, 0d, weaponConfig.maxlifeTime);
+        String entityId = this.addProjectile(weaponConfig,
+                posX, posY, projSpeedX, projSpeedY, accX, accY, shooterNewPhy.angle);
 
         if (entityId == null || entityId.isEmpty()) {
             return; // ======= Max entity quantity reached =======>>
@@ -606,4 +832,21 @@ public class Model {
         this.domainEventProcessor.notifyNewProjectileFired(
                 entityId, weaponConfig.projectileAssetId);
     }
+
+    private void startLifetimeWheel() {
+        Thread thread = new Thread(() -> {
+            while (this.state != ModelState.STOPPED) {
+                this.lifetimes.advance(nanoTime());
+
+                try {
+                    Thread.sleep(LIFETIME_TICK_MILLIS);
+                } catch (InterruptedException ex) {
+                    System.err.println("ERROR Sleeping in lifetime wheel thread! (Model) · " + ex.getMessage());
+                }
+            }
+        }, "Lifetime wheel");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
 }
\ No newline at end of file
@@ -9,6 +9,13 @@ import model.physics.ports.PhysicsEngine;
 /**
  *
  * @author juanm
+ *
+ * Life span
+ * ---------
+ * A body with a max life is registered in the Model's LifetimeWheel when it
+ * is activated (or revived) and cancelled when it dies. The wheel expires it
+ * in bulk with the other bodies due in the same tick, so isLifeOver() is a
+ * plain flag read: no clock and no division per body per tick.
  */
 public abstract class AbstractBody {
 
@@ -21,8 +28,16 @@ public abstract class AbstractBody {
     private volatile BodyState state;
     private final String entityId;
     private final PhysicsEngine phyEngine;
-    private final long bornTime = System.nanoTime();
-    private final double maxLifeInSeconds; // Infinite life by default
+    private volatile long bornTime = System.nanoTime(); // Reset when a pooled body is reused
+    private volatile double maxLifeInSeconds; // Infinite life by default
+    private volatile boolean lifeOver = false;
+    private volatile int lifeEpoch = 0; // One per life (pooled bodies live many)
+
+    // LifetimeWheel entry, guarded by the wheel lock
+    AbstractBody wheelNext = null;
+    AbstractBody wheelPrev = null;
+    int wheelSlot = -1; // Not scheduled
+    long wheelExpiryTick = 0;
 
     /**
      * CONSTRUCTORS
@@ -54,9 +69,32 @@ public abstract class AbstractBody {
 
         AbstractBody.aliveQuantity++;
         this.state = BodyState.ALIVE;
+        this.scheduleLife();
+    }
+
+    /**
+     * Brings a dead body back to life (pooled bodies): new life span, born
+     * now, counted as alive again
+     */
+    protected synchronized void revive(double maxLifeInSeconds) {
+        if (this.state != BodyState.DEAD) {
+            throw new IllegalArgumentException("Entity revival error due is not dead!");
+        }
+
+        this.bornTime = System.nanoTime();
+        this.maxLifeInSeconds = maxLifeInSeconds;
+        this.lifeOver = false;
+        this.lifeEpoch++;
+        AbstractBody.aliveQuantity++;
+        this.state = BodyState.ALIVE;
+        this.scheduleLife();
     }
 
     public synchronized void die() {
+        if (this.model != null) {
+            this.model.getLifetimes().cancel(this);
+        }
+
         this.state = BodyState.DEAD;
         AbstractBody.deadQuantity++;
         AbstractBody.aliveQuantity--;
@@ -74,12 +112,11 @@ public abstract class AbstractBody {
         return (System.nanoTime() - this.bornTime) / 1_000_000_000.0D;
     }
 
+    /**
+     * Set by the LifetimeWheel when the max life has elapsed
+     */
     public boolean isLifeOver() {
-        if (this.maxLifeInSeconds <= 0) {
-            return false;
-        }
-
-        return this.getLifeInSeconds() >= this.maxLifeInSeconds;
+        return this.lifeOver;
     }
 
     public double getMaxLife() {
@@ -106,6 +143,46 @@ public abstract class AbstractBody {
         this.state = state;
     }
 
+    /**
+     * PROTECTED
+     */
+
+    /**
+     * Called when the life span is over, right after isLifeOver() turns
+     * true (LifetimeWheel thread). Bodies with their own thread consume the
+     * flag as a LIFE_OVER event; the rest may react here
+     */
+    protected void onLifeOver() {
+    }
+
+    int getLifeEpoch() {
+        return this.lifeEpoch;
+    }
+
+    /**
+     * LifetimeWheel delivery: ignored if the body died (or was reused)
+     * since the wheel collected it
+     */
+    void expireLife(int epoch) {
+        synchronized (this) {
+            if (epoch != this.lifeEpoch || this.state == BodyState.DEAD) {
+                return; // ==================================================>
+            }
+            this.lifeOver = true;
+        }
+
+        this.onLifeOver();
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void scheduleLife() {
+        if (this.maxLifeInSeconds > 0) {
+            this.model.getLifetimes().schedule(this, this.maxLifeInSeconds);
+        }
+    }
+
     /**
      * STATICS
      */
@@ -11,6 +11,10 @@ public class DecoBody extends AbstractBody {
         super(new NullPhysicsEngine(size, posX, posY, angle));
     }
 
+    public DecoBody(double size, double posX, double posY, double angle, double maxLifeInSeconds) {
+        super(new NullPhysicsEngine(size, posX, posY, angle), maxLifeInSeconds);
+    }
+
     /**
      * PUBLICS
      */
@@ -1,5 +1,7 @@
 package model.bodies;
 
+import java.util.concurrent.locks.LockSupport;
+
 import model.physics.BasicPhysicsEngine;
 import model.physics.PhysicsValuesDTO;
 import model.physics.ports.PhysicsEngine;
@@ -35,6 +37,15 @@ import model.bodies.ports.PhysicsBody;
  * for events and processing actions based on game rules determined by the
  * Controller.
  *
+ * Pooled projectiles
+ * ------------------
+ * A body created with a ProjectilePool does not end its thread when it
+ * dies: the thread returns the body to the pool and parks (LockSupport, no
+ * timed polling) until reuse() resets it in place (same entity id, engine
+ * and thread) for a new shot and unparks it, or until Model.stop() wakes
+ * the idle bodies of every pool. If the pool is full the thread ends as
+ * usual.
+ *
  * The goal of this class is to isolate per-object behavior and physics
  * evolution
  * while keeping the simulation thread-safe through immutable snapshots and a
@@ -42,8 +53,11 @@ import model.bodies.ports.PhysicsBody;
  */
 public class DynamicBody extends AbstractBody implements PhysicsBody, Runnable {
 
-    private Thread thread;
+    private volatile Thread thread; // Unparked from other threads (wake())
     private final BasicPhysicsEngine phyEngine;
+    private final ProjectilePool pool; // Null: not pooled
+    private volatile String assetId = null; // Shown by the View, inherited by fragments
+    private volatile int generation = 0; // Fragments: parent generation + 1
 
     /**
      * CONSTRUCTORS
@@ -52,12 +66,18 @@ public class DynamicBody extends AbstractBody implements PhysicsBody, Runnable {
         super(phyEngine);
 
         this.phyEngine = phyEngine;
+        this.pool = null;
     }
 
     public DynamicBody(BasicPhysicsEngine phyEngine, double maxLifeInSeconds) {
+        this(phyEngine, maxLifeInSeconds, null);
+    }
+
+    public DynamicBody(BasicPhysicsEngine phyEngine, double maxLifeInSeconds, ProjectilePool pool) {
         super(phyEngine, maxLifeInSeconds);
 
         this.phyEngine = phyEngine;
+        this.pool = pool;
     }
 
     /**
@@ -78,6 +98,17 @@ public class DynamicBody extends AbstractBody implements PhysicsBody, Runnable {
         this.phyEngine.addAngularAcceleration(angularSpeed);
     }
 
+    public String getAssetId() {
+        return this.assetId;
+    }
+
+    /**
+     * Times the body's lineage has broken into fragments (0: not a fragment)
+     */
+    public int getGeneration() {
+        return this.generation;
+    }
+
     public PhysicsEngine getPhysicsEngine() {
         return this.phyEngine;
     }
@@ -86,12 +117,29 @@ public class DynamicBody extends AbstractBody implements PhysicsBody, Runnable {
         this.phyEngine.resetAcceleration();
     }
 
+    /**
+     * Pooled bodies only: restarts a dead body taken from its pool as a new
+     * one (physics values, life span), and wakes its parked thread
+     */
+    public void reuse(PhysicsValuesDTO phyValues, double maxLifeInSeconds) {
+        if (this.pool == null) {
+            throw new IllegalArgumentException("Entity reuse error due is not pooled!");
+        }
+
+        this.phyEngine.setPhysicsValues(phyValues);
+        this.revive(maxLifeInSeconds);
+        this.wake();
+    }
+
     @Override
     public void run() {
         PhysicsValuesDTO newPhyValues;
 
-        while ((this.getState() != BodyState.DEAD)
-                && (this.getModel().getState() != ModelState.STOPPED)) {
+        while (this.getModel().getState() != ModelState.STOPPED) {
+
+            if (this.getState() == BodyState.DEAD && !this.parkUntilReused()) {
+                break; // Not pooled (or pool full): the thread ends with the body
+            }
 
             if ((this.getState() == BodyState.ALIVE)
                     && (this.getModel().getState() == ModelState.ALIVE)) {
@@ -108,6 +156,14 @@ public class DynamicBody extends AbstractBody implements PhysicsBody, Runnable {
         }
     }
 
+    public void setAssetId(String assetId) {
+        this.assetId = assetId;
+    }
+
+    public void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
     public void setAngularAcceleration(double angularAcc) {
         this.phyEngine.setAngularAcceleration(angularAcc);
     }
@@ -119,4 +175,40 @@ public class DynamicBody extends AbstractBody implements PhysicsBody, Runnable {
     public void setThrust(double thrust) {
         this.phyEngine.setThrust(thrust);
     }
+
+    /**
+     * PRIVATES
+     */
+
+    /**
+     * Dead body: back to its pool, then waits to be reused. False when the
+     * thread must end (not pooled, pool full, model stopped, interrupted)
+     */
+    private boolean parkUntilReused() {
+        if (this.pool == null || !this.pool.release(this)) {
+            return false; // ==========================================================>
+        }
+
+        // A wake() that comes before park() leaves a permit: park() returns
+        // at once and the state is checked again, so no wake-up is lost
+        while (this.getState() == BodyState.DEAD
+                && this.getModel().getState() != ModelState.STOPPED) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                return false; // ======================================================>
+            }
+        }
+
+        return this.getState() != BodyState.DEAD;
+    }
+
+    /**
+     * Unparks the body thread if it waits in its pool (reuse or model stop)
+     */
+    void wake() {
+        Thread thread = this.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
 }
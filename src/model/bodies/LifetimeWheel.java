@@ -0,0 +1,245 @@
+package model.bodies;
+
+import java.util.Arrays;
+
+/**
+ * LifetimeWheel
+ * -------------
+ *
+ * Hierarchical timing wheel holding the life span of every mortal body, so
+ * life expiry costs O(expiring bodies) per tick instead of a clock read and
+ * a division per alive body per tick. Bodies without a life span are never
+ * registered and pay nothing.
+ *
+ * Time
+ * ----
+ * Simulation time since the wheel was created, in ticks of tickNanos. The
+ * Model advances the wheel from one thread (advance(now)); every tick
+ * whose time has come is processed in order, so a late call only catches
+ * up.
+ *
+ * Levels
+ * ------
+ * 256 slots of one tick, then three levels of 64 slots, each slot as long
+ * as the whole level below (with 10 ms ticks: 2.56 s, 2.7 min, 2.9 h and
+ * 7.8 days). A body sits in the finest level that can hold its remaining
+ * time; when the first level wraps around, the matching slot of the next
+ * level is cascaded down (Linux style). Longer lives are clamped to the
+ * wheel span.
+ *
+ * Entries are the bodies themselves (intrusive doubly linked lists, fields
+ * in AbstractBody), so schedule() and cancel() are O(1) and allocate
+ * nothing.
+ *
+ * Delivery
+ * --------
+ * Bodies due in a tick are collected under the lock and then expired
+ * outside of it (AbstractBody.expireLife()), so no body lock is ever taken
+ * while the wheel is locked. The life epoch recorded at collection time
+ * discards an expiry that raced with the death and reuse of the body.
+ *
+ * Thread safe: bodies schedule and cancel from any thread.
+ */
+public class LifetimeWheel {
+
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int ROOT_MASK = ROOT_SIZE - 1;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+    private static final int LEVELS = 3; // Above the root one
+    private static final long MAX_TICKS = (1L << (ROOT_BITS + LEVELS * LEVEL_BITS)) - 1;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final AbstractBody[] slots = new AbstractBody[ROOT_SIZE + LEVELS * LEVEL_SIZE];
+    private long tick = 0; // Next tick to process
+    private int scheduled = 0;
+    private long expired = 0;
+
+    // Due bodies of the current advance() (advancing thread only)
+    private AbstractBody[] due = new AbstractBody[64];
+    private int[] dueEpochs = new int[64];
+
+    /**
+     * CONSTRUCTORS
+     */
+    public LifetimeWheel(long tickNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Wheel tick must be > 0");
+        }
+
+        this.tickNanos = tickNanos;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * PUBLICS
+     */
+
+    /**
+     * Expires every body due up to nowNanos. Returns the bodies expired
+     */
+    public int advance(long nowNanos) {
+        long target = (nowNanos - this.startNanos) / this.tickNanos;
+        int dueCount = 0;
+
+        synchronized (this) {
+            while (this.tick <= target) {
+                int index = (int) (this.tick & ROOT_MASK);
+
+                if (index == 0) {
+                    for (int level = 0; level < LEVELS; level++) {
+                        int levelIndex = (int) ((this.tick >>> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK);
+                        this.cascade(ROOT_SIZE + level * LEVEL_SIZE + levelIndex);
+                        if (levelIndex != 0) {
+                            break;
+                        }
+                    }
+                }
+
+                AbstractBody body = this.slots[index];
+                this.slots[index] = null;
+                while (body != null) {
+                    AbstractBody next = body.wheelNext;
+                    body.wheelNext = null;
+                    body.wheelPrev = null;
+                    body.wheelSlot = -1;
+
+                    if (dueCount == this.due.length) {
+                        this.due = Arrays.copyOf(this.due, dueCount * 2);
+                        this.dueEpochs = Arrays.copyOf(this.dueEpochs, dueCount * 2);
+                    }
+                    this.due[dueCount] = body;
+                    this.dueEpochs[dueCount] = body.getLifeEpoch();
+                    dueCount++;
+                    body = next;
+                }
+
+                this.tick++;
+            }
+
+            this.scheduled -= dueCount;
+            this.expired += dueCount;
+        }
+
+        for (int i = 0; i < dueCount; i++) {
+            this.due[i].expireLife(this.dueEpochs[i]);
+            this.due[i] = null;
+        }
+
+        return dueCount;
+    }
+
+    /**
+     * Removes the body from the wheel (no effect if it is not scheduled)
+     */
+    public synchronized void cancel(AbstractBody body) {
+        if (body.wheelSlot < 0) {
+            return; // ==========================================================>
+        }
+
+        this.unlink(body);
+        this.scheduled--;
+    }
+
+    public synchronized long getExpired() {
+        return this.expired;
+    }
+
+    /**
+     * Bodies waiting for their life to end
+     */
+    public synchronized int getScheduled() {
+        return this.scheduled;
+    }
+
+    public long getTickNanos() {
+        return this.tickNanos;
+    }
+
+    /**
+     * Registers the body to expire lifeSeconds from now (rescheduled if it
+     * already was)
+     */
+    public synchronized void schedule(AbstractBody body, double lifeSeconds) {
+        if (lifeSeconds <= 0) {
+            throw new IllegalArgumentException("Life span must be > 0");
+        }
+
+        if (body.wheelSlot >= 0) {
+            this.unlink(body);
+        } else {
+            this.scheduled++;
+        }
+
+        long lifeTicks = (long) Math.ceil(lifeSeconds * 1_000_000_000d / this.tickNanos);
+        long now = (System.nanoTime() - this.startNanos) / this.tickNanos;
+        body.wheelExpiryTick = now + Math.max(1, lifeTicks);
+        this.insert(body);
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void cascade(int slot) {
+        AbstractBody body = this.slots[slot];
+        this.slots[slot] = null;
+
+        while (body != null) {
+            AbstractBody next = body.wheelNext;
+            this.insert(body); // One level down (or more)
+            body = next;
+        }
+    }
+
+    private void insert(AbstractBody body) {
+        long expiry = body.wheelExpiryTick;
+        long delta = expiry - this.tick;
+        int slot;
+
+        if (delta < 0) {
+            expiry = this.tick; // Overdue: next processed tick
+            slot = (int) (expiry & ROOT_MASK);
+        } else if (delta < ROOT_SIZE) {
+            slot = (int) (expiry & ROOT_MASK);
+        } else {
+            if (delta > MAX_TICKS) {
+                expiry = this.tick + MAX_TICKS; // Beyond the wheel span
+                delta = MAX_TICKS;
+            }
+
+            int level = 0;
+            while (level < LEVELS - 1 && delta >= (1L << (ROOT_BITS + (level + 1) * LEVEL_BITS))) {
+                level++;
+            }
+            slot = ROOT_SIZE + level * LEVEL_SIZE
+                    + (int) ((expiry >>> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK);
+        }
+
+        body.wheelExpiryTick = expiry;
+        body.wheelSlot = slot;
+        body.wheelPrev = null;
+        body.wheelNext = this.slots[slot];
+        if (body.wheelNext != null) {
+            body.wheelNext.wheelPrev = body;
+        }
+        this.slots[slot] = body;
+    }
+
+    private void unlink(AbstractBody body) {
+        if (body.wheelPrev != null) {
+            body.wheelPrev.wheelNext = body.wheelNext;
+        } else {
+            this.slots[body.wheelSlot] = body.wheelNext;
+        }
+        if (body.wheelNext != null) {
+            body.wheelNext.wheelPrev = body.wheelPrev;
+        }
+
+        body.wheelNext = null;
+        body.wheelPrev = null;
+        body.wheelSlot = -1;
+    }
+}
@@ -116,7 +116,11 @@ public class PlayerBody extends DynamicBody {
         this.maxAngularAcc = maxAngularAcc;
     }
 
-    public boolean mustFireNow(PhysicsValuesDTO newPhyValues) {
+    /**
+     * Ticks the active weapon. dtSeconds is the step the Model has just
+     * integrated (computed once per tick by the caller)
+     */
+    public boolean mustFireNow(double dtSeconds) {
         if (this.currentWeaponIndex < 0 || this.currentWeaponIndex >= this.weapons.size()) {
             return false;
         }
@@ -126,9 +130,6 @@ public class PlayerBody extends DynamicBody {
             return false;
         }
 
-        double dtNanos = newPhyValues.timeStamp - this.getPhysicsValues().timeStamp;
-        double dtSeconds = dtNanos / 1_000_000_000;
-
         return weapon.mustFireNow(dtSeconds);
     }
 }
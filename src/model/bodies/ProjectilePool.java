@@ -0,0 +1,120 @@
+package model.bodies;
+
+import model.weapons.WeaponType;
+
+/**
+ * ProjectilePool
+ * --------------
+ *
+ * Idle projectile bodies of one weapon type, ready to be fired again.
+ *
+ * A pooled projectile keeps its entity id, physics engine and thread for
+ * its whole life: when it dies (DIE, LIFE_OVER...) its own thread puts it
+ * back here and parks; the next shot of the same weapon type takes it with
+ * acquire() and resets it in place (DynamicBody.reuse()), which wakes the
+ * thread. Sustained fire therefore stops creating a body, an engine, a
+ * UUID and a thread per shot.
+ *
+ * The pool is bounded: a projectile released when it is full is discarded
+ * (its thread ends as for any other body). Hits and misses of acquire()
+ * give the hit rate.
+ *
+ * Thread safe: shooters acquire from their body threads, dead projectiles
+ * release from theirs.
+ */
+public class ProjectilePool {
+
+    private final WeaponType type;
+    private final DynamicBody[] idle;
+    private int idleCount = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long discarded = 0;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public ProjectilePool(WeaponType type, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Projectile pool capacity must be > 0");
+        }
+
+        this.type = type;
+        this.idle = new DynamicBody[capacity];
+    }
+
+    /**
+     * PUBLICS
+     */
+
+    /**
+     * An idle projectile (to be reset with DynamicBody.reuse()), or null when
+     * there is none and a new one must be created
+     */
+    public synchronized DynamicBody acquire() {
+        if (this.idleCount == 0) {
+            this.misses++;
+            return null; // ==========================================================>
+        }
+
+        this.hits++;
+        DynamicBody projectile = this.idle[--this.idleCount];
+        this.idle[this.idleCount] = null;
+
+        return projectile;
+    }
+
+    public synchronized long getDiscarded() {
+        return this.discarded;
+    }
+
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Reused shots over all shots, in % (0 before the first shot)
+     */
+    public synchronized double getHitRate() {
+        long shots = this.hits + this.misses;
+
+        return (shots == 0) ? 0d : this.hits * 100d / shots;
+    }
+
+    public synchronized int getIdleCount() {
+        return this.idleCount;
+    }
+
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    public WeaponType getType() {
+        return this.type;
+    }
+
+    /**
+     * Wakes the parked thread of every idle projectile, so it sees the model
+     * stopped and ends
+     */
+    public synchronized void wakeIdle() {
+        for (int i = 0; i < this.idleCount; i++) {
+            this.idle[i].wake();
+        }
+    }
+
+
+    /**
+     * Returns a dead projectile to the pool. False when the pool is full
+     * (the projectile is discarded)
+     */
+    public synchronized boolean release(DynamicBody projectile) {
+        if (this.idleCount == this.idle.length) {
+            this.discarded++;
+            return false; // ========================================================>
+        }
+
+        this.idle[this.idleCount++] = projectile;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package model.bodies;
+
+/**
+ * StaticBodyStore
+ * ---------------
+ *
+ * Packed, append-only store for non-moving entities (static bodies and
+ * decorators).
+ *
+ * A static entity never changes after creation: it only holds a fixed
+ * position, size and angle. Modelling each one as a full AbstractBody (UUID,
+ * physics engine, AtomicReference, PhysicsValuesDTO) costs several hundred
+ * bytes and a handful of objects per item. This store keeps the same data in
+ * parallel primitive arrays, so an entity is just a slot index and the cost
+ * per item is a few doubles.
+ *
+ * Concurrency strategy
+ * --------------------
+ * - Writers (world building: SceneGenerator -> Controller -> Model) are
+ * serialized through synchronized methods.
+ * - Readers never lock. They take the current Columns reference and read its
+ * volatile count; every slot below that count has been fully written before
+ * the count was published.
+ * - Growing the arrays creates a new Columns instance, copies the old slots
+ * and swaps the reference, so a reader always sees a consistent pair of
+ * (arrays, count).
+ *
+ * Entities cannot be removed individually. clear() swaps in an empty
+ * instance.
+ */
+public class StaticBodyStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+
+    /**
+     * PUBLICS
+     */
+    public synchronized int add(double size, double posX, double posY, double angle) {
+        Columns cols = this.columns;
+        int index = cols.count;
+
+        if (index == cols.size.length) {
+            cols = cols.grow(cols.size.length * 2);
+        }
+
+        cols.size[index] = size;
+        cols.posX[index] = posX;
+        cols.posY[index] = posY;
+        cols.angle[index] = angle;
+        cols.count = index + 1; // Publish slot
+
+        this.columns = cols; // Atomic swap (only changes when grown)
+
+        return index;
+    }
+
+    public synchronized void clear() {
+        this.columns = new Columns(INITIAL_CAPACITY);
+    }
+
+    public double getAngle(int index) {
+        return this.columns.angle[index];
+    }
+
+    public double getPosX(int index) {
+        return this.columns.posX[index];
+    }
+
+    public double getPosY(int index) {
+        return this.columns.posY[index];
+    }
+
+    public double getSize(int index) {
+        return this.columns.size[index];
+    }
+
+    public int size() {
+        return this.columns.count;
+    }
+
+    /**
+     * PRIVATE
+     */
+    private static final class Columns {
+
+        final double[] size;
+        final double[] posX;
+        final double[] posY;
+        final double[] angle;
+        volatile int count = 0;
+
+        Columns(int capacity) {
+            this.size = new double[capacity];
+            this.posX = new double[capacity];
+            this.posY = new double[capacity];
+            this.angle = new double[capacity];
+        }
+
+        Columns grow(int capacity) {
+            Columns grown = new Columns(capacity);
+            int n = this.count;
+
+            System.arraycopy(this.size, 0, grown.size, 0, n);
+            System.arraycopy(this.posX, 0, grown.posX, 0, n);
+            System.arraycopy(this.posY, 0, grown.posY, 0, n);
+            System.arraycopy(this.angle, 0, grown.angle, 0, n);
+            grown.count = n;
+
+            return grown;
+        }
+    }
+}
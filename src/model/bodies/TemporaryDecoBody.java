@@ -1,18 +1,16 @@
 package model.bodies;
 
-import model.ModelState;
-
-public class TemporaryDecoBody extends DecoBody implements Runnable {
-
-    private final long maxLifeInSeconds; // Infinite life by default
+/**
+ * Decorator that dies when its life is over. It has no thread of its own:
+ * the Model's LifetimeWheel expires it (onLifeOver()).
+ */
+public class TemporaryDecoBody extends DecoBody {
 
     /**
      * CONSTRUCTORS
      */
     public TemporaryDecoBody(double size, double posX, double posY, double angle, long maxLifeInSeconds) {
-        super(size, posX, posY, angle);
-
-        this.maxLifeInSeconds = maxLifeInSeconds;
+        super(size, posX, posY, angle, maxLifeInSeconds);
     }
 
     /**
@@ -24,25 +22,11 @@ public class TemporaryDecoBody extends DecoBody implements Runnable {
         this.setState(BodyState.ALIVE);
     }
 
+    /**
+     * PROTECTED
+     */
     @Override
-    public void run() {
-        while ((this.getState() != BodyState.DEAD)
-                && (this.getModel().getState() != ModelState.STOPPED)) {
-
-            if ((this.getState() == BodyState.ALIVE)
-                    && (this.getModel().getState() == ModelState.ALIVE)) {
-
-                if ((this.maxLifeInSeconds > 0)
-                        && (this.getLifeInSeconds() >= this.maxLifeInSeconds)) {
-                    this.die();
-                }
-            }
-
-            try {
-                Thread.sleep(30);
-            } catch (InterruptedException ex) {
-                System.err.println("ERROR Sleeping in vObject thread! (VObject) · " + ex.getMessage());
-            }
-        }
+    protected void onLifeOver() {
+        this.die();
     }
 }
@@ -2,6 +2,8 @@ package model.physics;
 
 import static java.lang.System.nanoTime;
 
+import _helpers.FastTrig;
+
 import model.physics.ports.PhysicsEngine;
 
 public class BasicPhysicsEngine extends AbstractPhysicsEngine implements PhysicsEngine {
@@ -33,10 +35,9 @@ public class BasicPhysicsEngine extends AbstractPhysicsEngine implements Physics
         // Applying thrust according actual angle
         double newAccX = phyVals.accX;
         double newAccY = phyVals.accY;
-        double angleRad = Math.toRadians(phyVals.angle);
         if (phyVals.thrust != 0.0d) {
-            newAccX += Math.cos(angleRad) * phyVals.thrust;
-            newAccY += Math.sin(angleRad) * phyVals.thrust;
+            newAccX += FastTrig.cosDeg(phyVals.angle) * phyVals.thrust;
+            newAccY += FastTrig.sinDeg(phyVals.angle) * phyVals.thrust;
         }
 
         // v1 = v0 + a*dt
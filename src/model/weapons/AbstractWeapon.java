@@ -13,7 +13,8 @@ import model.weapons.ports.Weapon;
  *
  * This class provides:
  * - Immutable identification (weapon id)
- * - A static configuration object (WeaponDto)
+ * - A static configuration object (WeaponDto), immutable and therefore
+ * shared by reference: reading it on every tick allocates nothing
  * - A thread-safe monotonic firing-request mechanism
  * - A unified API for discrete-tick weapon updates
  *
@@ -93,6 +94,7 @@ public abstract class AbstractWeapon implements Weapon {
 
     private final String id;
     private final WeaponDto weaponConfig;
+    protected final double fireInterval; // Seconds between shots (1 / fireRate)
     private final AtomicLong lastFireRequest = new AtomicLong(0L);
     protected long lastHandledRequest = 0L;
     protected int currentAmmo;
@@ -106,6 +108,7 @@ public abstract class AbstractWeapon implements Weapon {
 
         this.id = UUID.randomUUID().toString();
         this.weaponConfig = weaponConfig;
+        this.fireInterval = 1.0d / weaponConfig.fireRate;
         this.currentAmmo = weaponConfig.maxAmmo;
     }
 
@@ -113,9 +116,12 @@ public abstract class AbstractWeapon implements Weapon {
         return this.id;
     }
 
+    /**
+     * The weapon configuration itself (immutable, no copy)
+     */
     @Override
     public WeaponDto getWeaponConfig() {
-        return new WeaponDto(this.weaponConfig);
+        return this.weaponConfig;
     }
 
     protected boolean hasRequest() {
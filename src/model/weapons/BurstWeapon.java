@@ -4,9 +4,11 @@ public class BurstWeapon extends AbstractWeapon {
 
     private double cooldown = 0.0d; // seconds until next shot is allowed
     private int shotsRemainingInBurst = 0;
+    private final double burstInterval; // Seconds between shots of a burst
 
     public BurstWeapon(WeaponDto weaponConfig) {
         super(weaponConfig);
+        this.burstInterval = 1.0d / weaponConfig.burstFireRate;
     }
 
     @Override
@@ -39,10 +41,10 @@ public class BurstWeapon extends AbstractWeapon {
 
             if (this.shotsRemainingInBurst == 0) {
                 // Burst finished. Cooldown between bursts
-                this.cooldown = 1.0 / this.getWeaponConfig().fireRate;
+                this.cooldown = this.fireInterval;
             } else {
                 // More shots to fire in this burst. Cooldown between shots
-                this.cooldown = 1.0 / this.getWeaponConfig().burstFireRate;
+                this.cooldown = this.burstInterval;
             }
 
             return true; // ======== Requesting shot ======>
@@ -62,9 +64,9 @@ public class BurstWeapon extends AbstractWeapon {
 
         // Cooldown depends on whether burst continues
         if (this.shotsRemainingInBurst == 0) {
-            this.cooldown = 1.0 / this.getWeaponConfig().fireRate; // between bursts
+            this.cooldown = this.fireInterval; // between bursts
         } else {
-            this.cooldown = 1.0 / this.getWeaponConfig().burstFireRate; // between burst shots
+            this.cooldown = this.burstInterval; // between burst shots
         }
         
         return true; // ====== Requesting first shot ======>
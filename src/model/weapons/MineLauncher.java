@@ -33,7 +33,7 @@ public class MineLauncher extends AbstractWeapon {
         // Fire
         this.markAllRequestsHandled();
         this.currentAmmo--;
-        cooldown = 1.0 / this.getWeaponConfig().fireRate;
+        cooldown = this.fireInterval;
         return true;
     }
 }
@@ -34,7 +34,7 @@ public class MissileLauncher extends AbstractWeapon {
         // Fire
         this.markAllRequestsHandled();
         this.currentAmmo--;
-        cooldown = 1.0 / this.getWeaponConfig().fireRate;
+        cooldown = this.fireInterval;
         return true;
     }
 }
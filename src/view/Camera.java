@@ -0,0 +1,242 @@
+package view;
+
+/**
+ * Camera
+ * ------
+ *
+ * 2D camera over the world: a center position in world coordinates plus a
+ * zoom factor, projected onto a fixed-size viewport (the Renderer canvas).
+ *
+ * Responsibilities
+ * ----------------
+ * - World -> screen projection (toScreenX / toScreenY / toScreenSize).
+ * - Visibility test against the camera rectangle (isVisible), used by the
+ * Renderer to cull renderables before they are updated and painted, so the
+ * render cost follows what is on screen instead of the world population.
+ * - Optional follow of one entity (usually the local player): the Renderer
+ * feeds the followed entity position with followTo() every frame.
+ * - Clamping: the camera never shows outside the world. When the visible
+ * area is larger than the world on one axis, that axis is centered.
+ * - Render scale: the frame may be rendered into a smaller target
+ * (getFrameWidth() x getFrameHeight()) and upscaled to the viewport. The
+ * visible world area does not change; only the world -> pixel factor
+ * (getZoom() = zoom * render scale) does, so sprites are requested from
+ * the cache at the reduced size.
+ *
+ * Threading
+ * ---------
+ * Setters (zoom, center, follow) may be called from any thread (Swing EDT
+ * key handlers, controller). They only write volatile fields. The render
+ * thread calls beginFrame() once per frame, which takes a snapshot of them
+ * and computes the frame projection; all projection/visibility getters use
+ * that snapshot, so a frame is always drawn with one consistent camera.
+ */
+public class Camera {
+
+    public static final double MIN_ZOOM = 0.25d;
+    public static final double MAX_ZOOM = 4d;
+
+    private final double worldWidth;
+    private final double worldHeight;
+    private final int viewportWidth;
+    private final int viewportHeight;
+
+    private volatile double centerX;
+    private volatile double centerY;
+    private volatile double zoom = 1d;
+    private volatile double renderScale = 1d;
+    private volatile String followedEntityId = null;
+
+    // Frame snapshot · render thread only
+    private double frameLeft = 0;
+    private double frameTop = 0;
+    private double frameZoom = 1d; // zoom * render scale
+    private double frameRenderScale = 1d;
+    private double frameVisibleWidth;
+    private double frameVisibleHeight;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public Camera(double worldWidth, double worldHeight, int viewportWidth, int viewportHeight) {
+        if (worldWidth <= 0 || worldHeight <= 0) {
+            throw new IllegalArgumentException("World size must be > 0");
+        }
+        if (viewportWidth <= 0 || viewportHeight <= 0) {
+            throw new IllegalArgumentException("Viewport size must be > 0");
+        }
+
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.centerX = worldWidth / 2d;
+        this.centerY = worldHeight / 2d;
+        this.frameVisibleWidth = viewportWidth;
+        this.frameVisibleHeight = viewportHeight;
+    }
+
+    /**
+     * PUBLICS
+     */
+    public void beginFrame() {
+        double z = this.zoom;
+        double scale = this.renderScale;
+        double visibleWidth = this.viewportWidth / z;
+        double visibleHeight = this.viewportHeight / z;
+
+        this.frameZoom = z * scale;
+        this.frameRenderScale = scale;
+        this.frameVisibleWidth = visibleWidth;
+        this.frameVisibleHeight = visibleHeight;
+        this.frameLeft = Camera.clampAxis(this.centerX, visibleWidth, this.worldWidth);
+        this.frameTop = Camera.clampAxis(this.centerY, visibleHeight, this.worldHeight);
+    }
+
+    public void follow(String entityId) {
+        this.followedEntityId = entityId;
+    }
+
+    /**
+     * Moves the camera center to the followed entity position (render
+     * thread, before beginFrame())
+     */
+    public void followTo(double posX, double posY) {
+        this.centerX = posX;
+        this.centerY = posY;
+    }
+
+    public String getFollowedEntityId() {
+        return this.followedEntityId;
+    }
+
+    public double getLeft() {
+        return this.frameLeft;
+    }
+
+    public double getTop() {
+        return this.frameTop;
+    }
+
+    public double getVisibleWidth() {
+        return this.frameVisibleWidth;
+    }
+
+    public double getVisibleHeight() {
+        return this.frameVisibleHeight;
+    }
+
+    /**
+     * Render target size for this frame, in px (viewport * render scale)
+     */
+    public int getFrameWidth() {
+        return (int) Math.round(this.viewportWidth * this.frameRenderScale);
+    }
+
+    public int getFrameHeight() {
+        return (int) Math.round(this.viewportHeight * this.frameRenderScale);
+    }
+
+    public double getRenderScale() {
+        return this.frameRenderScale;
+    }
+
+    public int getViewportWidth() {
+        return this.viewportWidth;
+    }
+
+    public int getViewportHeight() {
+        return this.viewportHeight;
+    }
+
+    /**
+     * World -> render target pixels factor for this frame (user zoom times
+     * render scale)
+     */
+    public double getZoom() {
+        return this.frameZoom;
+    }
+
+    /**
+     * Zoom chosen by the user, without the render scale
+     */
+    public double getUserZoom() {
+        return this.frameZoom / this.frameRenderScale;
+    }
+
+    public double getWorldWidth() {
+        return this.worldWidth;
+    }
+
+    public double getWorldHeight() {
+        return this.worldHeight;
+    }
+
+    /**
+     * True when a body of the given size centered on (posX, posY) overlaps
+     * the camera rectangle. Uses the padded (rotated) sprite half side as
+     * margin so bodies entering the screen are never popped in late.
+     */
+    public boolean isVisible(double posX, double posY, double size) {
+        double half = size * 0.75d; // >= size * sqrt(2) / 2
+
+        return posX + half >= this.frameLeft
+                && posX - half <= this.frameLeft + this.frameVisibleWidth
+                && posY + half >= this.frameTop
+                && posY - half <= this.frameTop + this.frameVisibleHeight;
+    }
+
+    public void setCenter(double posX, double posY) {
+        this.followedEntityId = null;
+        this.centerX = posX;
+        this.centerY = posY;
+    }
+
+    /**
+     * Fraction of the viewport resolution the frame is rendered at, in
+     * (0, 1]. Applied at the next beginFrame()
+     */
+    public void setRenderScale(double renderScale) {
+        if (renderScale <= 0 || renderScale > 1) {
+            throw new IllegalArgumentException("Render scale must be in (0, 1]");
+        }
+
+        this.renderScale = renderScale;
+    }
+
+    public void setZoom(double zoom) {
+        this.zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+    }
+
+    public void zoomBy(double factor) {
+        if (factor <= 0) {
+            throw new IllegalArgumentException("Zoom factor must be > 0");
+        }
+
+        this.setZoom(this.zoom * factor);
+    }
+
+    public double toScreenSize(double size) {
+        return size * this.frameZoom;
+    }
+
+    public double toScreenX(double posX) {
+        return (posX - this.frameLeft) * this.frameZoom;
+    }
+
+    public double toScreenY(double posY) {
+        return (posY - this.frameTop) * this.frameZoom;
+    }
+
+    /**
+     * PRIVATES
+     */
+    private static double clampAxis(double center, double visible, double world) {
+        if (visible >= world) {
+            return (world - visible) / 2d; // Whole axis fits: center it
+        }
+
+        double min = center - visible / 2d;
+        return Math.max(0d, Math.min(world - visible, min));
+    }
+}
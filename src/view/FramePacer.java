@@ -0,0 +1,152 @@
+package view;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * FramePacer
+ * ----------
+ *
+ * Paces the Renderer loop at a target frame rate and keeps frame-time
+ * statistics.
+ *
+ * Scheduling
+ * ----------
+ * Frames are scheduled against absolute deadlines (previous deadline +
+ * period), not "sleep N ms after the frame", so the frame cost does not
+ * shift the rate. waitNextFrame() parks the thread until SPIN_THRESHOLD
+ * before the deadline (parkNanos wakes up late by tens or hundreds of
+ * microseconds) and busy-waits the rest with Thread.onSpinWait(). If the
+ * loop falls more than one period behind, the schedule is re-anchored to
+ * now instead of rushing frames to catch up.
+ *
+ * targetFps <= 0 means unlimited: waitNextFrame() only yields.
+ *
+ * Statistics
+ * ----------
+ * Every presented frame records the interval since the previous presented
+ * one in a ring buffer of WINDOW samples; getPercentileMs() sorts a copy of
+ * it (meant for the HUD, a few times per second). Skipped frames (nothing
+ * new to draw) are only counted.
+ *
+ * Not thread safe: render thread only, except the volatile target rate.
+ */
+public class FramePacer {
+
+    public static final int WINDOW = 240; // Samples (~4 s at 60 FPS)
+    private static final long SPIN_THRESHOLD_NANOS = 1_000_000L; // 1 ms
+
+    private volatile long periodNanos;
+
+    private long nextDeadline = 0;
+    private long lastPresentNanos = 0;
+    private final long[] intervals = new long[WINDOW];
+    private int intervalCount = 0;
+    private int intervalNext = 0;
+    private long framesPresented = 0;
+    private long framesSkipped = 0;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public FramePacer(int targetFps) {
+        this.setTargetFps(targetFps);
+    }
+
+    /**
+     * PUBLICS
+     */
+    public long getFramesPresented() {
+        return this.framesPresented;
+    }
+
+    public long getFramesSkipped() {
+        return this.framesSkipped;
+    }
+
+    /**
+     * Frame interval percentile (0..100) over the last WINDOW presented
+     * frames, in ms. 0 when there are no samples yet
+     */
+    public double getPercentileMs(double percentile) {
+        int n = this.intervalCount;
+        if (n == 0) {
+            return 0; // ========================================================>
+        }
+
+        long[] sorted = Arrays.copyOf(this.intervals, n);
+        Arrays.sort(sorted);
+
+        int index = (int) Math.ceil(percentile / 100d * n) - 1;
+        index = Math.max(0, Math.min(n - 1, index));
+
+        return sorted[index] / 1_000_000d;
+    }
+
+    public int getTargetFps() {
+        long period = this.periodNanos;
+        return (period == 0) ? 0 : (int) Math.round(1_000_000_000d / period);
+    }
+
+    /**
+     * Records a presented frame (call right after BufferStrategy.show())
+     */
+    public void framePresented() {
+        long now = System.nanoTime();
+
+        if (this.lastPresentNanos != 0) {
+            this.intervals[this.intervalNext] = now - this.lastPresentNanos;
+            this.intervalNext = (this.intervalNext + 1) % WINDOW;
+            if (this.intervalCount < WINDOW) {
+                this.intervalCount++;
+            }
+        }
+
+        this.lastPresentNanos = now;
+        this.framesPresented++;
+    }
+
+    public void frameSkipped() {
+        this.framesSkipped++;
+    }
+
+    /**
+     * Target frame rate; zero or negative means unlimited
+     */
+    public void setTargetFps(int targetFps) {
+        this.periodNanos = (targetFps <= 0) ? 0 : 1_000_000_000L / targetFps;
+        this.nextDeadline = 0; // Re-anchor on next wait
+    }
+
+    /**
+     * Blocks until the next frame deadline
+     */
+    public void waitNextFrame() {
+        long period = this.periodNanos;
+        if (period == 0) {
+            Thread.yield(); // Unlimited
+            return; // ==========================================================>
+        }
+
+        long now = System.nanoTime();
+        long deadline = this.nextDeadline + period;
+        if (this.nextDeadline == 0 || now - deadline > period) {
+            deadline = now + period; // First frame or too far behind: re-anchor
+        }
+        this.nextDeadline = deadline;
+
+        long remaining = deadline - now;
+        while (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt(); // Keep the flag for the loop
+                return; // ======================================================>
+            }
+            remaining = deadline - System.nanoTime();
+        }
+
+        while (System.nanoTime() - deadline < 0) {
+            Thread.onSpinWait(); // Precise tail
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package view;
+
+import java.awt.Dimension;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import assets.AssetCatalog;
+import controller.Controller;
+import controller.ports.ViewPort;
+
+/**
+ * NullView
+ * --------
+ *
+ * Headless ViewPort: no window, no Renderer, no images loaded. Every call
+ * is accepted and only counted, so the Model, the Controller and the world
+ * generators run exactly as with the Swing View, on machines without a
+ * display (dedicated servers, simulation-only load tests).
+ *
+ * It never touches AWT beyond the Dimension value class, so it works under
+ * java.awt.headless=true.
+ */
+public class NullView implements ViewPort {
+
+    private final AtomicInteger dynamicRenderables = new AtomicInteger();
+    private final AtomicInteger explosions = new AtomicInteger();
+    private final AtomicInteger staticRenderables = new AtomicInteger();
+    private volatile Controller controller;
+    private volatile Dimension worldDimension;
+    private volatile String localPlayerId;
+    private volatile boolean active = false;
+
+    /**
+     * PUBLICS
+     */
+    @Override
+    public void activate() {
+        if (this.worldDimension == null) {
+            throw new IllegalArgumentException("View dimensions not setted");
+        }
+
+        this.active = true;
+    }
+
+    @Override
+    public void addDynamicRenderable(String entityId, String assetId) {
+        this.dynamicRenderables.incrementAndGet();
+    }
+
+    @Override
+    public void addExplosion(double posX, double posY, double speedX, double speedY, double size) {
+        this.explosions.incrementAndGet();
+    }
+
+    @Override
+    public void addFragmentRenderables(String assetId, String[] entityIds, double lifeSeconds) {
+        this.dynamicRenderables.addAndGet(entityIds.length);
+    }
+
+    @Override
+    public void addStaticRenderable(String assetId, double size, double posX, double posY, double angle) {
+        this.staticRenderables.incrementAndGet();
+    }
+
+    public Controller getController() {
+        return this.controller;
+    }
+
+    /**
+     * Dynamic renderables announced so far (bodies, players, projectiles)
+     */
+    public int getDynamicRenderablesAdded() {
+        return this.dynamicRenderables.get();
+    }
+
+    /**
+     * Explosions announced so far
+     */
+    public int getExplosionsAdded() {
+        return this.explosions.get();
+    }
+
+    public String getLocalPlayerId() {
+        return this.localPlayerId;
+    }
+
+    public int getStaticRenderablesAdded() {
+        return this.staticRenderables.get();
+    }
+
+    public boolean isActive() {
+        return this.active;
+    }
+
+    @Override
+    public void loadAssets(AssetCatalog assets) {
+        // No images to load
+    }
+
+    @Override
+    public void prewarmSprites(String assetId, int minSize, int maxSize) {
+        // No sprite cache
+    }
+
+    @Override
+    public void setController(Controller controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void setDimension(Dimension worldDim) {
+        this.worldDimension = worldDim;
+    }
+
+    @Override
+    public void setLocalPlayer(String playerId) {
+        this.localPlayerId = playerId;
+    }
+}
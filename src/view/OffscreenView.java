@@ -0,0 +1,348 @@
+package view;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+
+import assets.AssetCatalog;
+import assets.AssetInfoDTO;
+import assets.AssetType;
+import controller.Controller;
+import controller.EngineState;
+import controller.ports.ViewPort;
+import fx.FxScheduler;
+import images.Images;
+import view.renderables.DynamicRenderDTO;
+import view.renderables.ParticleSystem;
+
+/**
+ * OffscreenView
+ * -------------
+ *
+ * Headless ViewPort that runs the full Renderer pipeline (parallax
+ * background, static layer, dynamic renderables, HUD) into a BufferedImage
+ * instead of a window. Works under java.awt.headless=true, so render
+ * throughput can be measured on CI machines and gameplay can be captured
+ * without a display.
+ *
+ * Clock
+ * -----
+ * There is no BufferStrategy: a dedicated thread asks the Renderer for one
+ * frame (Renderer.renderFrame()) per tick of a FramePacer running at a
+ * fixed target rate. Every tick draws a frame (the on-screen "skip
+ * unchanged frames" logic does not apply), so a capture has exactly one
+ * image per tick. targetFps <= 0 renders as fast as possible (throughput
+ * benchmarks). Dynamic resolution is off by default: frames are always
+ * viewport sized and comparable from run to run.
+ *
+ * Capture
+ * -------
+ * With a capture directory, every frame is handed to a PngSequenceWriter,
+ * which copies it and encodes it on its own thread. The loop stops after
+ * maxFrames frames (0 = until the engine stops or stop() is called) and
+ * then flushes the writer.
+ *
+ * Asset loading and parallax routing are the same as in View; there is no
+ * input, the camera just follows the local player.
+ */
+public class OffscreenView implements RenderSource, ViewPort {
+
+    private static final int IDLE_DELAY_MILLIS = 5;
+
+    private final File captureDir; // Null: no capture
+    private final long maxFrames; // 0: unlimited
+    private final Images images;
+    private final Renderer renderer;
+    private final FramePacer clock;
+
+    private AssetCatalog assets;
+    private BufferedImage background;
+    private volatile Controller controller;
+    private String localPlayerId;
+    private Dimension viewDimension; // World
+    private Dimension viewportDimension; // Frame size
+    private Camera camera;
+    private Thread thread;
+    private PngSequenceWriter writer;
+    private volatile boolean running = false;
+    private volatile long framesRendered = 0;
+    private volatile long renderNanos = 0;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public OffscreenView(int targetFps) {
+        this(targetFps, null, 0);
+    }
+
+    public OffscreenView(int targetFps, File captureDir, long maxFrames) {
+        if (maxFrames < 0) {
+            throw new IllegalArgumentException("Max frames must be >= 0");
+        }
+
+        this.captureDir = captureDir;
+        this.maxFrames = maxFrames;
+        this.images = new Images("");
+        this.clock = new FramePacer(targetFps);
+
+        // Any BufferedImage configuration: no screen device is needed
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        g.dispose();
+
+        this.renderer = new Renderer(this, gc);
+        this.renderer.setTargetFps(targetFps);
+        this.renderer.setDynamicResolution(false);
+    }
+
+    /**
+     * PUBLICS
+     */
+    @Override
+    public void activate() {
+        if (this.viewDimension == null) {
+            throw new IllegalArgumentException("View dimensions not setted");
+        }
+
+        Dimension viewport = this.viewportDimension;
+        if (viewport == null) {
+            viewport = new Dimension(this.viewDimension);
+        }
+
+        this.camera = new Camera(this.viewDimension.width, this.viewDimension.height,
+                viewport.width, viewport.height);
+        if (this.localPlayerId != null) {
+            this.camera.follow(this.localPlayerId);
+        }
+
+        this.renderer.SetViewDimension(viewport);
+        this.renderer.setCamera(this.camera);
+        this.renderer.setImages(this.background, this.images);
+        this.renderer.activateOffscreen();
+
+        if (this.captureDir != null) {
+            this.writer = new PngSequenceWriter(this.captureDir);
+        }
+
+        this.running = true;
+        this.thread = new Thread(this::renderLoop);
+        this.thread.setName("Offscreen renderer");
+        this.thread.start();
+    }
+
+    @Override
+    public void addDynamicRenderable(String entityId, String assetId) {
+        this.renderer.addDynamicRenderable(entityId, assetId);
+    }
+
+    @Override
+    public void addExplosion(double posX, double posY, double speedX, double speedY, double size) {
+        this.renderer.addExplosion(posX, posY, speedX, speedY, size);
+    }
+
+    @Override
+    public void addFragmentRenderables(String assetId, String[] entityIds, double lifeSeconds) {
+        this.renderer.addFragmentRenderables(assetId, entityIds, lifeSeconds);
+    }
+
+    @Override
+    public void addStaticRenderable(String assetId, double size, double posX, double posY, double angle) {
+        double parallax = View.parallaxFactorOf(this.assets, assetId);
+
+        if (parallax < 1d) {
+            // Far decorator: drawn in a slower parallax plane
+            this.renderer.addParallaxRenderable(parallax, assetId, size, posX, posY, angle);
+            return; // =======================================================>
+        }
+
+        this.renderer.addStaticRenderable(assetId, size, posX, posY, angle);
+    }
+
+    /**
+     * Average render cost per frame so far, in ms (without PNG encoding)
+     */
+    public double getAverageRenderMs() {
+        long frames = this.framesRendered;
+        return (frames == 0) ? 0 : this.renderNanos / (double) frames / 1_000_000d;
+    }
+
+    /**
+     * Effects on dynamic renderables (spin, scale, sprite animations,
+     * overprints), run by the render loop. Available after activate()
+     */
+    public FxScheduler getFx() {
+        return this.renderer.getFx();
+    }
+
+    /**
+     * Explosion and thrust particles of the render loop
+     */
+    public ParticleSystem getParticles() {
+        return this.renderer.getParticles();
+    }
+
+    @Override
+    public ArrayList<DynamicRenderDTO> getDynamicRenderablesData() {
+        if (this.controller == null) {
+            throw new IllegalArgumentException("Controller not setted");
+        }
+
+        return this.controller.getDynamicRenderablesData();
+    }
+
+    @Override
+    public EngineState getEngineState() {
+        return this.controller.getEngineState();
+    }
+
+    @Override
+    public int getEntityAliveQuantity() {
+        return this.controller.getEntityAliveQuantity();
+    }
+
+    @Override
+    public int getEntityDeadQuantity() {
+        return this.controller.getEntityDeadQuantity();
+    }
+
+    @Override
+    public double getProjectilePoolHitRate() {
+        return this.controller.getProjectilePoolHitRate();
+    }
+
+    public long getFramesRendered() {
+        return this.framesRendered;
+    }
+
+    /**
+     * Frames encoded to disk so far (0 without capture)
+     */
+    public long getFramesWritten() {
+        PngSequenceWriter writer = this.writer;
+        return (writer == null) ? 0 : writer.getWritten();
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public void loadAssets(AssetCatalog assets) {
+        String fileName;
+        String path = assets.getPath();
+
+        this.assets = assets;
+
+        for (String assetId : assets.getAssetIds()) {
+            AssetInfoDTO info = assets.get(assetId);
+            fileName = info.fileName;
+            this.images.add(assetId, path + fileName, assets.getAngleSteps(assetId),
+                    info.frameCols, info.frameRows, info.frameCount, info.framesPerSecond);
+        }
+
+        // Setting background
+        String backgroundId = assets.randomId(AssetType.BACKGROUND);
+        this.background = this.images.getImage(backgroundId).image;
+    }
+
+    @Override
+    public void prewarmSprites(String assetId, int minSize, int maxSize) {
+        this.renderer.prewarmSprites(assetId, minSize, maxSize);
+    }
+
+    @Override
+    public void setController(Controller controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void setDimension(Dimension worldDim) {
+        this.viewDimension = worldDim;
+    }
+
+    public void setDynamicResolution(boolean enabled) {
+        this.renderer.setDynamicResolution(enabled);
+    }
+
+    @Override
+    public void setLocalPlayer(String localPlayerId) {
+        this.localPlayerId = localPlayerId;
+
+        if (this.camera != null) {
+            this.camera.follow(localPlayerId);
+        }
+    }
+
+    public void setSoftwareRasterizer(boolean enabled) {
+        this.renderer.setSoftwareRasterizer(enabled);
+    }
+
+    /**
+     * Frame size; the world size when not setted. Before activate()
+     */
+    public void setViewportDimension(Dimension viewportDim) {
+        this.viewportDimension = viewportDim;
+    }
+
+    /**
+     * Stops the render loop and waits for pending PNG frames
+     */
+    public void stop() {
+        this.running = false;
+
+        Thread thread = this.thread;
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void renderLoop() {
+        BufferedImage frame = new BufferedImage(
+                this.camera.getViewportWidth(), this.camera.getViewportHeight(), BufferedImage.TYPE_INT_RGB);
+
+        while (this.running) {
+            EngineState engineState = this.getEngineState();
+            if (engineState == EngineState.STOPPED) {
+                break;
+            }
+
+            if (engineState != EngineState.ALIVE) {
+                try {
+                    Thread.sleep(IDLE_DELAY_MILLIS);
+                } catch (InterruptedException ex) {
+                    break;
+                }
+                continue;
+            }
+
+            this.renderNanos += this.renderer.renderFrame(frame);
+            this.framesRendered++;
+
+            if (this.writer != null) {
+                this.writer.submit(frame);
+            }
+
+            if (this.maxFrames > 0 && this.framesRendered >= this.maxFrames) {
+                break;
+            }
+
+            this.clock.waitNextFrame();
+        }
+
+        this.renderer.shutdownOffscreen();
+        if (this.writer != null) {
+            this.writer.close();
+        }
+        this.running = false; // Only once every frame is on disk
+    }
+}
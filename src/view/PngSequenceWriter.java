@@ -0,0 +1,169 @@
+package view;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+/**
+ * PngSequenceWriter
+ * -----------------
+ *
+ * Encodes frames to numbered PNG files (frame_000000.png, ...) on a
+ * background thread, so PNG compression (tens of ms per full HD frame) is
+ * not paid by the render loop.
+ *
+ * Frames are copied into one of BUFFERS reusable images (no allocation per
+ * frame) and queued; the writer thread encodes them and returns the image
+ * to the free list. When every buffer is waiting to be written, submit()
+ * blocks: a capture never drops frames, it slows the producer down to the
+ * encoding rate instead (getStallMs() tells how long it waited).
+ *
+ * submit() and close() are meant to be called from one producer thread.
+ */
+public class PngSequenceWriter {
+
+    private static final int BUFFERS = 4;
+    private static final String FILE_PATTERN = "frame_%06d.png";
+
+    private final File directory;
+    private final BlockingQueue<BufferedImage> free = new ArrayBlockingQueue<>(BUFFERS);
+    private final BlockingQueue<BufferedImage> pending = new ArrayBlockingQueue<>(BUFFERS);
+    private final Thread thread;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private int allocated = 0;
+    private long submitted = 0;
+    private long stallNanos = 0;
+    private volatile boolean closing = false;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public PngSequenceWriter(File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Output directory not setted");
+        }
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Can not create output directory: " + directory);
+        }
+
+        this.directory = directory;
+        this.thread = new Thread(this::writeLoop, "PNG writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * PUBLICS
+     */
+
+    /**
+     * Waits until every submitted frame is on disk and stops the writer
+     */
+    public void close() {
+        this.closing = true;
+        this.thread.interrupt();
+
+        try {
+            this.thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getFailed() {
+        return this.failed.get();
+    }
+
+    /**
+     * Time submit() spent waiting for a free buffer, in ms
+     */
+    public double getStallMs() {
+        return this.stallNanos / 1_000_000d;
+    }
+
+    public long getSubmitted() {
+        return this.submitted;
+    }
+
+    public long getWritten() {
+        return this.written.get();
+    }
+
+    /**
+     * Copies the frame and queues it. The frame can be reused as soon as
+     * this returns
+     */
+    public void submit(BufferedImage frame) {
+        if (this.closing) {
+            throw new IllegalArgumentException("PNG writer closed");
+        }
+
+        BufferedImage copy = this.free.poll();
+
+        if (copy == null && this.allocated < BUFFERS) {
+            copy = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_RGB);
+            this.allocated++;
+        }
+
+        if (copy == null) {
+            long start = System.nanoTime();
+            try {
+                copy = this.free.take(); // Back pressure: the writer is behind
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return; // ==========================================================>
+            } finally {
+                this.stallNanos += System.nanoTime() - start;
+            }
+        }
+
+        if (copy.getWidth() != frame.getWidth() || copy.getHeight() != frame.getHeight()) {
+            copy = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_RGB);
+        }
+
+        frame.copyData(copy.getRaster());
+        this.pending.add(copy); // Never full: at most BUFFERS images exist
+        this.submitted++;
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void writeLoop() {
+        long index = 0;
+
+        while (true) {
+            BufferedImage frame;
+            if (this.closing) {
+                frame = this.pending.poll(); // Drain before leaving
+                if (frame == null) {
+                    return; // ======================================================>
+                }
+            } else {
+                try {
+                    frame = this.pending.take();
+                } catch (InterruptedException ex) {
+                    continue; // close() wakes us up
+                }
+            }
+
+            File file = new File(this.directory, String.format(FILE_PATTERN, index++));
+            try {
+                ImageIO.write(frame, "png", file);
+                this.written.incrementAndGet();
+            } catch (IOException ex) {
+                this.failed.incrementAndGet();
+                System.err.println("PngSequenceWriter: can not write " + file + ": " + ex.getMessage());
+            }
+
+            this.free.add(frame);
+        }
+    }
+}
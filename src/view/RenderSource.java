@@ -0,0 +1,26 @@
+package view;
+
+import java.util.ArrayList;
+
+import controller.EngineState;
+import view.renderables.DynamicRenderDTO;
+
+/**
+ * What a Renderer pulls every frame: engine state, the dynamic snapshot and
+ * the HUD counters.
+ *
+ * The Swing View is the usual implementation; OffscreenView feeds a Renderer
+ * that draws into a BufferedImage (no window, java.awt.headless=true).
+ */
+public interface RenderSource {
+
+    public ArrayList<DynamicRenderDTO> getDynamicRenderablesData();
+
+    public EngineState getEngineState();
+
+    public int getEntityAliveQuantity();
+
+    public int getEntityDeadQuantity();
+
+    public double getProjectilePoolHitRate();
+}
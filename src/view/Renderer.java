@@ -1,10 +1,17 @@
 package view;
 
+import _helpers.DoubleVector;
+import _helpers.FastTrig;
 import view.huds.ImagesHud;
 import view.renderables.DynamicRenderDTO;
-import view.renderables.Renderable;
 import view.renderables.DynamicRenderable;
+import view.renderables.ParallaxLayer;
+import view.renderables.ParticleSystem;
+import view.renderables.SpriteBatch;
+import view.renderables.StaticRenderableStore;
+import view.renderables.TileRasterizer;
 import controller.EngineState;
+import fx.FxScheduler;
 import images.ImageCache;
 import images.Images;
 
@@ -16,16 +23,16 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
 import java.awt.Transparency;
 import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 import java.awt.image.VolatileImage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import view.renderables.RenderDTO;
-
 /**
  * Renderer
  * --------
@@ -37,7 +44,7 @@ import view.renderables.RenderDTO;
  * Architectural role
  * ------------------
  * The Renderer is a pull-based consumer of visual snapshots provided by the
- * View.
+ * View (any RenderSource).
  * It never queries or mutates the model directly.
  *
  * Rendering is decoupled from simulation through immutable snapshot DTOs
@@ -52,26 +59,21 @@ import view.renderables.RenderDTO;
  *
  * Data access patterns
  * --------------------
- * Three different renderable collections are used, each with a consciously
+ * Two different renderable collections are used, each with a consciously
  * chosen
  * concurrency strategy based on update frequency and thread ownership:
  *
  * 1) Dynamic bodies (DBodies)
- * - Stored in a plain HashMap.
+ * - Stored in a map keyed by entity id.
  * - Updated and rendered exclusively by the render thread.
- * - No concurrent access → no synchronization required.
  *
- * 2) Static bodies (SBodies)
- * - Rarely updated, potentially from non-render threads
+ * 2) Static bodies and decorators
+ * - Immutable once created, appended from non-render threads
  * (model → controller → view).
- * - Stored using a copy-on-write strategy:
- * * Updates create a new Map instance.
- * * The reference is swapped atomically via a volatile field.
- * - The render thread only reads stable snapshots.
- *
- * 3) Decorators
- * - Same access pattern as static bodies.
- * - Uses the same copy-on-write + atomic swap strategy.
+ * - Stored packed in a StaticRenderableStore (parallel arrays, no object
+ * per item), so scene decoration can scale to 100k+ items.
+ * - Appends publish a volatile count and swap the arrays atomically when
+ * they grow, so the render thread only reads stable snapshots.
  *
  * This design avoids locks, minimizes contention, and guarantees that the
  * render thread always iterates over a fully consistent snapshot.
@@ -88,11 +90,58 @@ import view.renderables.RenderDTO;
  * Rendering pipeline
  * ------------------
  * Per frame:
- * 1) Background is rendered to a VolatileImage for fast blitting.
- * 2) Decorators are drawn.
- * 3) Static bodies are drawn.
- * 4) Dynamic bodies are updated and drawn.
- * 5) HUD elements (FPS) are rendered last.
+ * 1) Parallax planes (background, far decorators) are drawn from cached
+ * tiles, then the static layer (decorators + static bodies, in creation
+ * order) is blitted from a cached VolatileImage.
+ * 2) Dynamic bodies are updated, then particles and dynamic sprites are
+ * drawn.
+ * 3) HUD elements (FPS) are rendered last.
+ *
+ * Particles
+ * ---------
+ * Explosion debris and thrust exhaust live in one fixed capacity
+ * ParticleSystem (MAX_PARTICLES), not as dynamic renderables: no entity,
+ * thread or map entry per particle. Explosions are requested by domain
+ * events (addExplosion(), any thread); every visible dynamic body with
+ * thrust emits a trail while it is updated. The system is advanced once per
+ * frame and drawn in one batch under the dynamic sprites ("Particles" in
+ * HUD).
+ *
+ * Parallax planes
+ * ---------------
+ * The background image and the decorators the View routes as far ones
+ * (star fields, galaxies) live in ParallaxLayers that scroll slower than the
+ * world. Each one is cached as lazily generated VolatileImage tiles around
+ * the viewport; far tiles are evicted, so memory does not grow with the
+ * world size ("Parallax tiles" in HUD).
+ *
+ * Static layer
+ * ------------
+ * Static renderables never move, so they are composited once into one
+ * transparent, accelerated VolatileImage and blitted over the parallax
+ * planes. The layer holds the whole world at the camera zoom (sprites asked
+ * at the zoomed size, blitted 1:1, so it is as sharp as the dynamic
+ * sprites) and is repainted only when:
+ * - the StaticRenderableStore version changes (items added or cleared),
+ * - the zoom changes,
+ * - the surface is lost or incompatible (validate() / contentsLost()),
+ * - a static sprite missing at the last repaint has been rasterised by the
+ * ImageCache (checked at a bounded rate).
+ * Static content therefore costs one blit per frame regardless of how many
+ * decorators there are.
+ *
+ * Camera and culling
+ * ------------------
+ * The canvas is a viewport over a world that may be larger than the screen.
+ * A Camera (center + zoom, optionally following the local player) is
+ * snapshotted once per frame in updateCamera(); then:
+ * - The static layer is cached for the current zoom (up to
+ * MAX_STATIC_LAYER_SIZE per side) and only the camera window of it is
+ * blitted. Larger worlds (or deep zoom in) cull static items one by one
+ * against the camera, also with sprites at the zoomed size.
+ * - Dynamic renderables outside the camera rectangle are only touched
+ * (kept alive): no sprite lookup, no batch entry, no draw. Render cost
+ * follows what is on screen, not the world population ("Visible" in HUD).
  *
  * Alpha compositing is used to separate opaque background rendering from
  * transparent entities.
@@ -100,10 +149,51 @@ import view.renderables.RenderDTO;
  * Performance considerations
  * --------------------------
  * - Triple buffering via BufferStrategy.
- * - VolatileImage used for background caching.
- * - Target frame rate ~60 FPS (16 ms delay).
+ * - VolatileImages used for the static layer and the parallax tiles.
+ * - Sprites come pre-rotated from the ImageCache, so every renderable is a
+ * plain untransformed blit (no per-draw AffineTransform).
+ * - Small sprites are packed into shared atlas pages; dynamic renderables are
+ * drawn through a SpriteBatch, grouped by atlas page.
+ * - Cache misses never rasterise on the render thread: the ImageCache queues
+ * them on a background worker and a nearby cached sprite is drawn meanwhile
+ * (raster queue depth and miss latency are shown in the HUD).
+ * - HUD text is kept in a cached translucent image, refreshed at 4 Hz and
+ * only redrawn when its values change; each frame is one blit.
+ * - Frame pacing: a FramePacer schedules frames against absolute deadlines
+ * at a target rate (60 FPS by default, setTargetFps(), 0 = unlimited),
+ * parking until ~1 ms before the deadline and spinning the rest. Frames
+ * whose inputs did not change (dynamic snapshot, camera, scene, cached
+ * sprites, HUD) are skipped instead of redrawn. Frame interval
+ * p50/p95/p99 and skipped frames are shown in the HUD.
+ * - Dynamic resolution: a ResolutionScaler watches the render cost of each
+ * frame against a budget (90% of the target period) and steps the camera
+ * render scale between 100% and 50%. Below 100% the world (static layer,
+ * parallax, sprites fetched at the reduced size) is drawn into a smaller
+ * VolatileImage and upscaled once to the canvas; the HUD is always drawn
+ * at full resolution. Scale, target size and average frame cost are shown
+ * in the HUD.
+ * - Effects (spin/scale, sprite animations, overprints) are advanced by an
+ * FxScheduler on this thread, once per drawn frame with the frame delta
+ * time: no thread per effect, pooled instances, no per frame allocation
+ * ("Fx active" in HUD). Frames are never skipped while effects run.
+ * Fragments shrink out over their life (SPIN_AND_SCALE started in
+ * addFragmentRenderables()); getFx() is open to other effects.
+ * - Optional software backend (setSoftwareRasterizer()): dynamic sprites are
+ * blended straight into the int[] raster of a BufferedImage by a
+ * TileRasterizer, screen tiles spread over a worker pool, and presented
+ * with one drawImage. Static and parallax layers still go through Java2D
+ * into that same buffer. Useful on machines without an accelerated
+ * pipeline (and headless benchmarks).
  * - FPS is measured using a rolling one-second window.
  *
+ * Offscreen mode
+ * --------------
+ * Built with a GraphicsConfiguration (Renderer(source, gc)), the Renderer is
+ * never displayed: activateOffscreen() starts no thread and the caller
+ * draws whole frames into a BufferedImage with renderFrame(), at its own
+ * pace (see OffscreenView). Same pipeline as on screen, minus the
+ * BufferStrategy and frame skipping; works under java.awt.headless=true.
+ *
  * Design goals
  * ------------
  * - Deterministic rendering.
@@ -122,26 +212,83 @@ public class Renderer extends Canvas implements Runnable {
     private volatile double renderTimeInMs = 0;
     private volatile double initDrawTimeStamp;
 
+    private static final int MAX_STATIC_LAYER_SIZE = 4096; // Per side, in px
+    private static final long STATIC_LAYER_RETRY_NANOS = 100_000_000L; // Unresolved sprites check
+    private static final double BACKGROUND_PARALLAX = 0.2d;
+    private static final int DEFAULT_TARGET_FPS = 60;
+    private static final long MAX_IDLE_NANOS = 250_000_000L; // Redraw at least 4 times/s
+    private static final double FRAME_BUDGET_RATIO = 0.9d; // Of the target frame period
+    private static final int MAX_PARTICLES = 65_536;
+    private static final Color TRANSPARENT = new Color(0, 0, 0, 0);
+    private static final double FRAGMENT_FX_END_SCALE = 0.3d; // Shrink-out, over the fragment life
+
     private Dimension viewDimension;
-    private View view;
+    private Camera camera;
+    private volatile int visibleRenderables = 0;
+    private final RenderSource source;
+    private final GraphicsConfiguration offscreenGc; // Null on screen
     private int delayInMillis = 5;
-    private long currentFrame = 0;
+    private volatile long currentFrame = 0; // Read by adding threads
     private Thread thread;
+    private final FramePacer pacer = new FramePacer(DEFAULT_TARGET_FPS);
+    private final ResolutionScaler resolutionScaler = new ResolutionScaler(
+            Renderer.frameBudgetNanos(DEFAULT_TARGET_FPS));
+    private VolatileImage viScene; // Reduced resolution target (render scale < 1)
+    private volatile boolean softwareRasterizer = false;
+    private TileRasterizer rasterizer = null; // Render thread only
+
+    // Last presented frame inputs, to skip frames with nothing new
+    private volatile long sceneVersion = 0; // Static / parallax / dynamic additions
+    private long lastSnapshotSignature = 0;
+    private long lastSceneVersion = -1;
+    private int lastCacheSize = -1;
+    private double lastCameraLeft = Double.NaN;
+    private double lastCameraTop = Double.NaN;
+    private double lastCameraZoom = Double.NaN;
+    private long lastPresentNanos = 0;
 
     private BufferedImage background;
     private Images images;
     private ImageCache imagesCache;
-    private VolatileImage viBackground;
+    private VolatileImage viStaticLayer;
+    private long staticLayerVersion = -1;
+    private boolean staticLayerDirty = true;
+    private long staticLayerRetryNanos = 0;
+    private double staticLayerZoom = 0;
     private final ImagesHud hud = new ImagesHud();
 
     private final Map<String, DynamicRenderable> dynamicRenderables = new ConcurrentHashMap<>();
-    private volatile Map<String, Renderable> staticRenderables = new ConcurrentHashMap<>();
+    private final StaticRenderableStore staticRenderables = new StaticRenderableStore();
+    private volatile ParallaxLayer[] parallaxLayers = new ParallaxLayer[0]; // Deepest first
+    private ParallaxLayer backgroundLayer; // Guarded by this
+    private final SpriteBatch spriteBatch = new SpriteBatch();
+    private FxScheduler fx;
+    private long lastFxNanos = 0;
+    private final ParticleSystem particles = new ParticleSystem(MAX_PARTICLES);
 
     /**
      * CONSTRUCTORS
      */
-    public Renderer(View view) {
-        this.view = view;
+    public Renderer(RenderSource source) {
+        this.source = source;
+        this.offscreenGc = null;
+
+        this.setIgnoreRepaint(true);
+    }
+
+    /**
+     * Offscreen renderer: never displayed, frames are drawn on demand with
+     * renderFrame(), works under java.awt.headless=true. gc is the
+     * configuration of the target images (e.g. from a BufferedImage
+     * Graphics2D)
+     */
+    public Renderer(RenderSource source, GraphicsConfiguration offscreenGc) {
+        if (offscreenGc == null) {
+            throw new IllegalArgumentException("Offscreen graphics configuration not setted");
+        }
+
+        this.source = source;
+        this.offscreenGc = offscreenGc;
 
         this.setIgnoreRepaint(true);
     }
@@ -150,15 +297,11 @@ public class Renderer extends Canvas implements Runnable {
      * PUBLICS
      */
     public boolean activate() {
-        // Be sure all is ready to begin render!
-        if (this.viewDimension == null) {
-            throw new IllegalArgumentException("View dimensions not setted");
+        if (this.offscreenGc != null) {
+            throw new IllegalArgumentException("Offscreen renderer: use activateOffscreen()");
         }
 
-        if ((this.viewDimension.width <= 0) || (this.viewDimension.height <= 0)) {
-            throw new IllegalArgumentException("Canvas size error: ("
-                    + this.viewDimension.width + "," + this.viewDimension.height + ")");
-        }
+        this.prepare();
 
         while (!this.isDisplayable()) {
             try {
@@ -177,22 +320,219 @@ public class Renderer extends Canvas implements Runnable {
         return true;
     }
 
-    public void addStaticRenderable(String entityId, String assetId) {
-        Renderable renderable = new Renderable(entityId, assetId, this.imagesCache, this.currentFrame);
-        this.staticRenderables.put(entityId, renderable);
+    /**
+     * Offscreen counterpart of activate(): validates the setup, no render
+     * thread is started (the caller drives renderFrame())
+     */
+    public void activateOffscreen() {
+        if (this.offscreenGc == null) {
+            throw new IllegalArgumentException("On screen renderer: use activate()");
+        }
+
+        this.prepare();
+    }
+
+    public void addStaticRenderable(String assetId, double size, double posX, double posY, double angle) {
+        this.staticRenderables.add(assetId, size, posX, posY, angle);
+        this.sceneVersion++;
+
+        ImageCache cache = this.imagesCache;
+        if (cache != null) { // Otherwise resolved when setImages() arrives
+            cache.prewarm(assetId, Math.max(1, (int) size), (int) angle);
+        }
+    }
+
+    /**
+     * Adds a decorator to the parallax plane of the given factor (created on
+     * first use). factor < 1 scrolls slower than the world. May be called
+     * before setCamera() / setImages(): the plane is bound on activation
+     */
+    public synchronized void addParallaxRenderable(double factor,
+            String assetId, double size, double posX, double posY, double angle) {
+
+        ParallaxLayer[] layers = this.parallaxLayers;
+        ParallaxLayer layer = null;
+        int insertAt = layers.length;
+
+        for (int i = 0; i < layers.length; i++) {
+            if (layers[i] == this.backgroundLayer) {
+                continue; // Rebuilt on each activation, decorators kept apart
+            }
+            if (layers[i].getFactor() == factor) {
+                layer = layers[i];
+                break;
+            }
+            if (layers[i].getFactor() > factor) {
+                insertAt = i;
+                break;
+            }
+        }
+
+        if (layer == null) {
+            layer = (this.camera == null || this.imagesCache == null)
+                    ? new ParallaxLayer(factor) // Bound by prepare()
+                    : new ParallaxLayer(factor, this.camera, this.imagesCache, null);
+
+            ParallaxLayer[] grown = new ParallaxLayer[layers.length + 1];
+            System.arraycopy(layers, 0, grown, 0, insertAt);
+            grown[insertAt] = layer;
+            System.arraycopy(layers, insertAt, grown, insertAt + 1, layers.length - insertAt);
+            this.parallaxLayers = grown; // Atomic swap, render thread reads snapshots
+        }
+
+        layer.add(assetId, size, posX, posY, angle);
+        this.sceneVersion++;
+
+        ImageCache cache = this.imagesCache;
+        if (cache != null) { // Otherwise resolved when setImages() arrives
+            cache.prewarm(assetId, Math.max(1, (int) size), (int) angle);
+        }
     }
 
     public void addDynamicRenderable(String entityId, String assetId) {
         DynamicRenderable renderable = new DynamicRenderable(entityId, assetId, this.imagesCache, this.currentFrame);
         this.dynamicRenderables.put(entityId, renderable);
+        this.sceneVersion++;
+    }
+
+    /**
+     * Renderables of the fragments a body broke into, all with the asset of
+     * the parent (given by the Model). Each one shrinks out over lifeSeconds
+     * (its physical spin is kept). One scene change for the whole batch
+     */
+    public void addFragmentRenderables(String assetId, String[] entityIds, double lifeSeconds) {
+        long cFrame = this.currentFrame;
+        FxScheduler fx = this.fx;
+
+        for (String entityId : entityIds) {
+            this.dynamicRenderables.put(entityId,
+                    new DynamicRenderable(entityId, assetId, this.imagesCache, cFrame));
+            if (fx != null && lifeSeconds > 0) {
+                fx.spin(entityId, 0d, 1d, FRAGMENT_FX_END_SCALE, lifeSeconds);
+            }
+        }
+        this.sceneVersion++;
+    }
+
+    /**
+     * Explosion debris burst for a body that blew up at (posX, posY), sized
+     * by the body size. Any thread
+     */
+    public void addExplosion(double posX, double posY, double speedX, double speedY, double size) {
+        this.particles.emit(ParticleSystem.EXPLOSION, posX, posY, size * 0.25d,
+                speedX, speedY, 0d, size / ParticleSystem.REFERENCE_SIZE);
+        this.sceneVersion++;
+    }
+
+    /**
+     * Effects on dynamic renderables, ticked by this render loop. Null
+     * until setImages()
+     */
+    public FxScheduler getFx() {
+        return this.fx;
+    }
+
+    public ParticleSystem getParticles() {
+        return this.particles;
+    }
+
+    public void prewarmSprites(String assetId, int minSize, int maxSize) {
+        for (int size = minSize; size <= maxSize; size++) {
+            this.imagesCache.prewarm(assetId, size);
+        }
+    }
+
+    /**
+     * Offscreen only: pulls the current snapshot and draws a whole frame
+     * (parallax, static layer, dynamic renderables, HUD) into target, which
+     * must be viewport sized. Every call draws (no frame skipping, that is
+     * up to the caller's clock). Returns the render cost in ns
+     */
+    public long renderFrame(BufferedImage target) {
+        if (this.offscreenGc == null) {
+            throw new IllegalArgumentException("On screen renderer: frames come from its own thread");
+        }
+
+        if (target.getWidth() != this.viewDimension.width || target.getHeight() != this.viewDimension.height) {
+            throw new IllegalArgumentException("Offscreen target size error: ("
+                    + target.getWidth() + "," + target.getHeight() + ")");
+        }
+
+        ArrayList<DynamicRenderDTO> renderablesData = this.source.getDynamicRenderablesData();
+        this.camera.setRenderScale(this.resolutionScaler.getScale());
+        this.updateCamera(renderablesData);
+        this.currentFrame++;
+
+        this.initDrawTimeStamp = System.nanoTime();
+        long start = System.nanoTime();
+        VolatileImage scene = (this.camera.getRenderScale() < 1d)
+                ? this.renderSceneBuffer(renderablesData)
+                : null;
+
+        Graphics2D g = target.createGraphics();
+        try {
+            this.drawFrame(g, scene, renderablesData);
+        } finally {
+            g.dispose();
+        }
+        long renderNanos = System.nanoTime() - start;
+
+        this.resolutionScaler.addFrame(renderNanos);
+        this.pacer.framePresented();
+        this.monitoring();
+
+        return renderNanos;
     }
 
     public void setImages(BufferedImage background, Images images) {
         this.background = background;
-        this.viBackground = null;
+        this.viStaticLayer = null;
 
         this.images = images;
         this.imagesCache = new ImageCache(this.getGraphicsConfSafe(), this.images);
+        this.staticRenderables.setCache(this.imagesCache);
+        this.fx = new FxScheduler(this.imagesCache);
+    }
+
+    public void setCamera(Camera camera) {
+        this.camera = camera;
+        this.viStaticLayer = null;
+    }
+
+    /**
+     * Target frame rate of the render loop; zero or negative = unlimited
+     */
+    public void setTargetFps(int targetFps) {
+        this.pacer.setTargetFps(targetFps);
+        if (targetFps > 0) { // Unlimited keeps the last budget
+            this.resolutionScaler.setBudgetNanos(Renderer.frameBudgetNanos(targetFps));
+        }
+    }
+
+    /**
+     * Enables the render scale controller (on by default). Disabled: always
+     * full resolution
+     */
+    public void setDynamicResolution(boolean enabled) {
+        this.resolutionScaler.setEnabled(enabled);
+    }
+
+    /**
+     * Composites dynamic sprites with the parallel TileRasterizer instead of
+     * Graphics2D (off by default). Takes effect at the next frame
+     */
+    public void setSoftwareRasterizer(boolean enabled) {
+        this.softwareRasterizer = enabled;
+    }
+
+    /**
+     * Offscreen only: releases the rasteriser workers
+     */
+    public void shutdownOffscreen() {
+        if (this.rasterizer != null) {
+            this.rasterizer.shutdown();
+            this.rasterizer = null;
+        }
     }
 
     public void SetViewDimension(Dimension viewDim) {
@@ -206,122 +546,310 @@ public class Renderer extends Canvas implements Runnable {
         BufferStrategy bs = getBufferStrategy();
 
         while (true) {
-            EngineState engineState = view.getEngineState();
+            EngineState engineState = this.source.getEngineState();
             if (engineState == EngineState.STOPPED) {
                 break;
             }
 
-            if (engineState == EngineState.ALIVE) { // TO-DO Pause condition
+            if (engineState != EngineState.ALIVE) { // TO-DO Pause condition
+                try {
+                    Thread.sleep(this.delayInMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                continue;
+            }
+
+            ArrayList<DynamicRenderDTO> renderablesData = this.source.getDynamicRenderablesData(); // *+
+            this.camera.setRenderScale(this.resolutionScaler.getScale());
+            this.updateCamera(renderablesData);
+
+            if (this.isFrameNeeded(renderablesData)) {
                 this.currentFrame++;
 
                 this.initDrawTimeStamp = System.nanoTime();
-                this.drawScene(bs);
+                long frameNanos = this.drawScene(bs, renderablesData);
+                this.resolutionScaler.addFrame(frameNanos);
+                this.pacer.framePresented();
                 this.monitoring();
+            } else {
+                this.pacer.frameSkipped();
             }
 
-            try {
-                Thread.sleep(this.delayInMillis);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
+            this.pacer.waitNextFrame();
+            if (Thread.currentThread().isInterrupted()) {
                 break;
             }
         }
-    }
 
-    public void updateStaticRenderables(ArrayList<RenderDTO> renderablesData) {
-        if (renderablesData == null) {
-            return; // ========= Nothing to render by the moment ... =========>>
+        if (this.rasterizer != null) {
+            this.rasterizer.shutdown();
         }
+    }
 
-        Map<String, Renderable> newRenderables = new java.util.HashMap<>(this.staticRenderables);
+    /**
+     * PRIVATES
+     */
+    /**
+     * Be sure all is ready to begin render!
+     */
+    private void prepare() {
+        if (this.viewDimension == null) {
+            throw new IllegalArgumentException("View dimensions not setted");
+        }
 
-        if (renderablesData.isEmpty()) {
-            newRenderables.clear(); //
-            this.staticRenderables = newRenderables;
-            return;
+        if ((this.viewDimension.width <= 0) || (this.viewDimension.height <= 0)) {
+            throw new IllegalArgumentException("Canvas size error: ("
+                    + this.viewDimension.width + "," + this.viewDimension.height + ")");
         }
 
-        // Update a renderable associated with each DBodyRenderInfoDTO
-        long cFrame = this.currentFrame;
-        for (RenderDTO renderableData : renderablesData) {
-            String entityId = renderableData.entityId;
-            if (entityId == null || entityId.isEmpty()) {
-                continue;
-            }
+        if (this.camera == null) {
+            throw new IllegalArgumentException("Camera not setted");
+        }
 
-            Renderable renderable = newRenderables.get(entityId);
-            if (renderable == null) {
-                System.err.println("Renderer: Static renderable objet not found " + entityId);
-            } else {
-                renderable.update(renderableData, cFrame);
-            }
+        if (this.imagesCache == null) {
+            throw new IllegalArgumentException("Images not setted");
         }
 
-        newRenderables.entrySet().removeIf(e -> e.getValue().getLastFrameSeen() != cFrame);
-        this.staticRenderables = newRenderables; // atomic swap
+        this.prepareParallaxLayers();
     }
 
     /**
-     * PRIVATES
+     * Binds the decorator planes added before activation and inserts the
+     * background plane at its depth (replacing the one of a previous
+     * activation)
      */
-    private void drawDynamicRenderable(Graphics2D g) {
-        ArrayList<DynamicRenderDTO> renderablesData = this.view.getDynamicRenderablesData(); // *+
+    private synchronized void prepareParallaxLayers() {
+        ParallaxLayer[] layers = this.parallaxLayers;
+        ParallaxLayer[] prepared = new ParallaxLayer[layers.length + 1];
+        ParallaxLayer background = new ParallaxLayer(
+                BACKGROUND_PARALLAX, this.camera, this.imagesCache, this.background);
 
-        this.updateDynamicRenderables(renderablesData);
-
-        Map<String, DynamicRenderable> renderables = this.dynamicRenderables;
-        for (DynamicRenderable renderable : renderables.values()) {
-            renderable.paint(g);
+        int count = 0;
+        boolean inserted = false;
+        for (ParallaxLayer layer : layers) {
+            if (layer == this.backgroundLayer) {
+                continue;
+            }
+            if (!inserted && layer.getFactor() >= BACKGROUND_PARALLAX) {
+                prepared[count++] = background; // Before decorators of the same depth
+                inserted = true;
+            }
+            layer.bind(this.camera, this.imagesCache);
+            prepared[count++] = layer;
+        }
+        if (!inserted) {
+            prepared[count++] = background;
         }
+
+        this.backgroundLayer = background;
+        this.parallaxLayers = Arrays.copyOf(prepared, count); // Atomic swap
+    }
+
+    private void drawDynamicRenderable(Graphics2D g, ArrayList<DynamicRenderDTO> renderablesData) {
+        // Visible renderables are added to the batch while updating, grouped
+        // by atlas page: fewer source surface switches than hash order
+        this.updateDynamicRenderables(renderablesData);
+        this.particles.paint(g, this.camera);
+        this.spriteBatch.paint(g);
     }
 
     private void drawHUD(Graphics2D g) {
+        // Values (and their strings) are only sampled at the HUD refresh rate
+        if (this.hud.isRefreshDue()) {
+            this.hud.update(this.getHudData());
+        }
+
+        this.hud.drawCached(g, this.getGraphicsConfSafe());
+    }
 
+    private String[] getHudData() {
         String[] data = {
                 "" + this.fps,
                 String.format("%.0f", this.renderTimeInMs) + " ms",
+                String.format("%.1f / %.1f / %.1f ms",
+                        this.pacer.getPercentileMs(50), this.pacer.getPercentileMs(95),
+                        this.pacer.getPercentileMs(99)),
+                this.pacer.getFramesSkipped() + " (target "
+                        + (this.pacer.getTargetFps() > 0 ? this.pacer.getTargetFps() + " FPS" : "unlimited") + ")",
                 "" + this.imagesCache.size(),
                 this.imagesCache.getHits() + " (" + String.format("%.2f", this.imagesCache.getHitsPercentage()) + "%)",
-                "" + this.view.getEntityAliveQuantity(),
-                "" + this.view.getEntityDeadQuantity()
+                String.format("%.1f / %.0f MB",
+                        this.imagesCache.getBytes() / 1_048_576d, this.imagesCache.getMaxBytes() / 1_048_576d),
+                "" + this.imagesCache.getEvictions(),
+                "" + this.imagesCache.getAtlasPages(),
+                "" + this.imagesCache.getQueueDepth(),
+                String.format("%.1f ms (max %.1f)",
+                        this.imagesCache.getMissLatencyAvgMs(), this.imagesCache.getMissLatencyMaxMs()),
+                "" + this.source.getEntityAliveQuantity(),
+                "" + this.source.getEntityDeadQuantity(),
+                String.format("%.1f%% reused", this.source.getProjectilePoolHitRate()),
+                this.visibleRenderables + " / " + this.dynamicRenderables.size(),
+                String.format("x%.2f", this.camera.getUserZoom()),
+                (this.rasterizer != null)
+                        ? "Software (" + this.rasterizer.getThreads() + " threads)"
+                        : "Java2D",
+                String.format("%.0f%% %dx%d (%.1f ms)",
+                        this.camera.getRenderScale() * 100, this.camera.getFrameWidth(),
+                        this.camera.getFrameHeight(), this.resolutionScaler.getAverageFrameMs()),
+                "" + this.getParallaxTileCount(),
+                this.fx.getActiveCount() + " (" + this.fx.getStarted() + " started)",
+                this.particles.getLiveCount() + " / " + this.particles.getCapacity()
+                        + " (" + this.particles.getDropped() + " dropped)"
         };
 
-        ImagesHud hud = new ImagesHud();
-
-        hud.draw(g, data);
+        return data;
     }
 
-    private void drawStaticRenderables(Graphics2D g) {
-        Map<String, Renderable> renderables = this.staticRenderables;
-
-        for (Renderable renderable : renderables.values()) {
-            renderable.paint(g);
-        }
-    }
-
-    private void drawScene(BufferStrategy bs) {
+    /**
+     * Draws and shows the frame. Returns the render cost in ns (without
+     * show(), which may wait for the display)
+     */
+    private long drawScene(BufferStrategy bs, ArrayList<DynamicRenderDTO> renderablesData) {
         Graphics2D gg;
+        boolean scaled = this.camera.getRenderScale() < 1d;
+        long renderNanos;
 
         do {
+            long start = System.nanoTime();
+            VolatileImage scene = scaled ? this.renderSceneBuffer(renderablesData) : null;
+
             gg = (Graphics2D) bs.getDrawGraphics();
             try {
-                gg.setComposite(AlphaComposite.Src); // Opaque
-                gg.drawImage(this.getVIBackground(), 0, 0, null);
-
-                gg.setComposite(AlphaComposite.SrcOver); // With transparency
-                this.drawStaticRenderables(gg);
-                this.drawDynamicRenderable(gg);
-                this.drawHUD(gg);
-
+                this.drawFrame(gg, scene, renderablesData);
             } finally {
                 gg.dispose();
             }
+            renderNanos = System.nanoTime() - start;
 
             bs.show();
         } while (bs.contentsLost());
+
+        return renderNanos;
+    }
+
+    /**
+     * Whole frame into gg: the world (or the upscaled reduced resolution
+     * scene, when given), then the HUD
+     */
+    private void drawFrame(Graphics2D gg, VolatileImage scene, ArrayList<DynamicRenderDTO> renderablesData) {
+        if (scene != null) {
+            // Upscale: smooth where it is a GPU op, nearest in software
+            gg.setComposite(AlphaComposite.Src); // Opaque
+            gg.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    scene.getCapabilities().isAccelerated()
+                            ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                            : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            gg.drawImage(scene, 0, 0, this.viewDimension.width, this.viewDimension.height, null);
+        } else {
+            this.drawWorld(gg, renderablesData);
+        }
+
+        gg.setComposite(AlphaComposite.SrcOver); // With transparency
+        this.drawHUD(gg); // Always at full resolution
+    }
+
+    private void drawWorld(Graphics2D g, ArrayList<DynamicRenderDTO> renderablesData) {
+        if (this.softwareRasterizer) {
+            this.drawWorldRasterized(g, renderablesData);
+            return; // ======================================================>
+        }
+
+        if (this.rasterizer != null) { // Switched off
+            this.rasterizer.shutdown();
+            this.rasterizer = null;
+        }
+
+        this.drawStaticLayer(g);
+
+        g.setComposite(AlphaComposite.SrcOver); // With transparency
+        this.drawDynamicRenderable(g, renderablesData);
+    }
+
+    /**
+     * Software backend: static and parallax layers through Java2D into the
+     * rasteriser back buffer, dynamic sprites blended by its worker pool,
+     * then one blit to g
+     */
+    private void drawWorldRasterized(Graphics2D g, ArrayList<DynamicRenderDTO> renderablesData) {
+        if (this.rasterizer == null) {
+            this.rasterizer = new TileRasterizer();
+        }
+
+        Graphics2D rg = this.rasterizer.begin(this.camera.getFrameWidth(), this.camera.getFrameHeight());
+        try {
+            this.drawStaticLayer(rg);
+        } finally {
+            rg.dispose();
+        }
+
+        this.updateDynamicRenderables(renderablesData);
+        this.particles.paint(this.rasterizer, this.camera);
+        this.spriteBatch.paint(this.rasterizer);
+        this.rasterizer.composite();
+
+        g.setComposite(AlphaComposite.Src); // Opaque
+        g.drawImage(this.rasterizer.getImage(), 0, 0, null);
+    }
+
+    /**
+     * Exhaust behind a thrusting body (ahead of it on reverse thrust), for
+     * dtSeconds of emission
+     */
+    private void emitThrustTrail(DynamicRenderDTO renderableData, double dtSeconds) {
+        double angle = (renderableData.thrust > 0) ? renderableData.angle + 180d : renderableData.angle;
+        double half = renderableData.size * 0.5d;
+        DoubleVector dir = FastTrig.unitVector(angle);
+
+        this.particles.emit(ParticleSystem.THRUST_TRAIL,
+                renderableData.posX + dir.x * half,
+                renderableData.posY + dir.y * half,
+                renderableData.size * 0.1d,
+                renderableData.speedX, renderableData.speedY, angle, dtSeconds);
+    }
+
+    private static long frameBudgetNanos(int targetFps) {
+        return (long) (1_000_000_000d / targetFps * FRAME_BUDGET_RATIO);
+    }
+
+    /**
+     * Renders the world into the reduced resolution scene buffer
+     * (camera frame size)
+     */
+    private VolatileImage renderSceneBuffer(ArrayList<DynamicRenderDTO> renderablesData) {
+        GraphicsConfiguration gc = this.getGraphicsConfSafe();
+        int width = this.camera.getFrameWidth();
+        int height = this.camera.getFrameHeight();
+        VolatileImage vi = this.viScene;
+
+        if (vi == null || vi.getWidth() != width || vi.getHeight() != height
+                || vi.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (vi != null) {
+                vi.flush();
+            }
+            vi = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+            this.viScene = vi;
+        }
+
+        do {
+            vi.validate(gc);
+            Graphics2D g = vi.createGraphics();
+            try {
+                this.drawWorld(g, renderablesData);
+            } finally {
+                g.dispose();
+            }
+        } while (vi.contentsLost());
+
+        return vi;
     }
 
     private GraphicsConfiguration getGraphicsConfSafe() {
+        if (this.offscreenGc != null) {
+            return this.offscreenGc; // ==================================>
+        }
+
         GraphicsConfiguration gc = getGraphicsConfiguration();
         if (gc == null) {
             gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
@@ -332,38 +860,172 @@ public class Renderer extends Canvas implements Runnable {
         return gc;
     }
 
-    private VolatileImage getVIBackground() {
-        this.viBackground = this.getVolatileImage(
-                this.viBackground, this.background, this.viewDimension);
+    private void drawStaticLayer(Graphics2D g) {
+        Camera camera = this.camera;
+        ParallaxLayer[] layers = this.parallaxLayers;
+        boolean covered = false;
 
-        return this.viBackground;
+        for (ParallaxLayer layer : layers) {
+            layer.beginFrame();
+            covered |= layer.isCoveringFrame();
+        }
 
-    }
+        if (!covered) {
+            // Zoomed out past the background
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, camera.getFrameWidth(), camera.getFrameHeight());
+        }
 
-    private VolatileImage getVolatileImage(
-            VolatileImage vi, BufferedImage src, Dimension dim) {
+        // Parallax planes, deepest first
+        g.setComposite(AlphaComposite.SrcOver); // With transparency
+        GraphicsConfiguration gc = this.getGraphicsConfSafe();
+        for (ParallaxLayer layer : layers) {
+            layer.paint(g, gc);
+        }
 
+        if (this.staticRenderables.size() == 0) {
+            return; // ======================================================>
+        }
+
+        if (!this.isStaticLayerInWorldSpace()) {
+            // Huge world (or zoomed in): static items culled one by one
+            this.staticRenderables.paint(g, camera);
+            return; // ======================================================>
+        }
+
+        // Camera window of the zoomed world layer, 1:1 (no scaling)
+        double zoom = camera.getZoom();
+        int srcX1 = (int) Math.round(camera.getLeft() * zoom);
+        int srcY1 = (int) Math.round(camera.getTop() * zoom);
+        int frameWidth = camera.getFrameWidth();
+        int frameHeight = camera.getFrameHeight();
+
+        g.drawImage(this.getStaticLayer(),
+                0, 0, frameWidth, frameHeight,
+                srcX1, srcY1, srcX1 + frameWidth, srcY1 + frameHeight,
+                null);
+    }
+
+    /**
+     * Transparent layer with every static item, the whole world at the
+     * camera zoom, used when it fits MAX_STATIC_LAYER_SIZE. Items painted without their exact
+     * sprite are tracked by the store; they are checked again at most every
+     * STATIC_LAYER_RETRY_NANOS and the layer is only repainted once one of
+     * them can be drawn (never, e.g., while the cache cannot rasterise)
+     */
+    private VolatileImage getStaticLayer() {
         GraphicsConfiguration gc = this.getGraphicsConfSafe();
+        double zoom = this.camera.getZoom();
+        int width = (int) Math.ceil(this.camera.getWorldWidth() * zoom);
+        int height = (int) Math.ceil(this.camera.getWorldHeight() * zoom);
+        VolatileImage vi = this.viStaticLayer;
 
-        if (vi == null || vi.getWidth() != dim.width || vi.getHeight() != dim.height
+        if (vi == null || vi.getWidth() != width || vi.getHeight() != height
                 || vi.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
             // New volatile image
-            vi = gc.createCompatibleVolatileImage(dim.width, dim.height, Transparency.OPAQUE);
+            vi = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+            this.staticLayerDirty = true;
+        }
+
+        long now = System.nanoTime();
+        if (this.staticRenderables.getPendingCount() > 0
+                && now - this.staticLayerRetryNanos >= STATIC_LAYER_RETRY_NANOS) {
+            this.staticLayerRetryNanos = now;
+            this.staticLayerDirty |= this.staticRenderables.hasResolvedPending();
         }
 
-        int val;
         do {
-            val = vi.validate(gc);
-            if (val != VolatileImage.IMAGE_OK || vi.contentsLost()) {
+            long version = this.staticRenderables.getVersion();
+            int val = vi.validate(gc);
+
+            if (val != VolatileImage.IMAGE_OK || vi.contentsLost()
+                    || this.staticLayerDirty || version != this.staticLayerVersion
+                    || zoom != this.staticLayerZoom) {
+
                 Graphics2D g = vi.createGraphics();
-                g.drawImage(src, 0, 0, dim.width, dim.height, null);
-                g.dispose();
+                try {
+                    g.setComposite(AlphaComposite.Src); // Clear to transparent
+                    g.setColor(TRANSPARENT);
+                    g.fillRect(0, 0, width, height);
+
+                    g.setComposite(AlphaComposite.SrcOver); // With transparency
+                    this.staticRenderables.paint(g, zoom); // Misses tracked as pending
+
+                    this.staticLayerDirty = false;
+                    this.staticLayerVersion = version;
+                    this.staticLayerZoom = zoom;
+                } finally {
+                    g.dispose();
+                }
             }
         } while (vi.contentsLost());
 
+        this.viStaticLayer = vi;
         return vi;
     }
 
+    private int getParallaxTileCount() {
+        int tiles = 0;
+        for (ParallaxLayer layer : this.parallaxLayers) {
+            tiles += layer.getTileCount();
+        }
+
+        return tiles;
+    }
+
+    private boolean isStaticLayerInWorldSpace() {
+        double zoom = this.camera.getZoom();
+
+        return this.camera.getWorldWidth() * zoom <= MAX_STATIC_LAYER_SIZE
+                && this.camera.getWorldHeight() * zoom <= MAX_STATIC_LAYER_SIZE;
+    }
+
+    /**
+     * False when the frame would look exactly like the last presented one:
+     * same dynamic snapshot, camera, scene and cached sprites, HUD not due.
+     * A frame is still forced every MAX_IDLE_NANOS (window exposure, etc.)
+     */
+    private boolean isFrameNeeded(ArrayList<DynamicRenderDTO> renderablesData) {
+        long signature = 0;
+        if (renderablesData != null) {
+            signature = renderablesData.size();
+            for (DynamicRenderDTO renderableData : renderablesData) {
+                if (renderableData != null) {
+                    signature = signature * 31 + renderableData.timeStamp; // Any body stepped
+                }
+            }
+        }
+
+        Camera camera = this.camera;
+        long sceneVersion = this.sceneVersion;
+        int cacheSize = this.imagesCache.size(); // Moves when async sprites land
+        long now = System.nanoTime();
+
+        boolean needed = signature != this.lastSnapshotSignature
+                || sceneVersion != this.lastSceneVersion
+                || cacheSize != this.lastCacheSize
+                || this.staticLayerDirty
+                || camera.getLeft() != this.lastCameraLeft
+                || camera.getTop() != this.lastCameraTop
+                || camera.getZoom() != this.lastCameraZoom
+                || this.hud.isRefreshDue()
+                || this.fx.getActiveCount() > 0 // Animating
+                || this.particles.getLiveCount() > 0
+                || now - this.lastPresentNanos >= MAX_IDLE_NANOS;
+
+        if (needed) {
+            this.lastSnapshotSignature = signature;
+            this.lastSceneVersion = sceneVersion;
+            this.lastCacheSize = cacheSize;
+            this.lastCameraLeft = camera.getLeft();
+            this.lastCameraTop = camera.getTop();
+            this.lastCameraZoom = camera.getZoom();
+            this.lastPresentNanos = now;
+        }
+
+        return needed;
+    }
+
     private void monitoring() {
         this.fpsFrames++;
         long now = System.nanoTime();
@@ -379,15 +1041,42 @@ public class Renderer extends Canvas implements Runnable {
         }
     }
 
+    private void updateCamera(ArrayList<DynamicRenderDTO> renderablesData) {
+        String followedId = this.camera.getFollowedEntityId();
+
+        if (followedId != null && renderablesData != null) {
+            for (DynamicRenderDTO renderableData : renderablesData) {
+                if (renderableData != null && followedId.equals(renderableData.entityId)) {
+                    this.camera.followTo(renderableData.posX, renderableData.posY);
+                    break;
+                }
+            }
+        }
+
+        this.camera.beginFrame(); // Fixed projection for the whole frame
+    }
+
     private void updateDynamicRenderables(ArrayList<DynamicRenderDTO> renderablesData) {
-        // If no objects are alive this frame, clear the snapshot entirely
+        // Effects first: their modifiers are consumed by this frame's update()
+        long now = System.nanoTime();
+        double dtSeconds = (this.lastFxNanos == 0) ? 0 : (now - this.lastFxNanos) / 1_000_000_000d;
+        this.lastFxNanos = now;
+        this.fx.tick(dtSeconds, this.dynamicRenderables);
+
+        long cFrame = this.currentFrame;
+
+        // If no objects are alive this frame, drop the ones missing twice (a
+        // renderable added after this empty snapshot must survive it)
         if (renderablesData == null || renderablesData.isEmpty()) {
-            this.dynamicRenderables.clear();
+            this.dynamicRenderables.entrySet().removeIf(entry -> cFrame - entry.getValue().getLastFrameSeen() > 1);
+            this.visibleRenderables = 0;
+            this.particles.update(dtSeconds);
             return; // ========= Nothing to render by the moment ... =========>>
         }
 
         // Update or create a renderable associated with each DBodyRenderInfoDTO
-        long cFrame = this.currentFrame;
+        Camera camera = this.camera;
+        int visible = 0;
         for (DynamicRenderDTO renderableData : renderablesData) {
             String entityId = renderableData.entityId;
             if (entityId == null || entityId.isEmpty()) {
@@ -397,13 +1086,28 @@ public class Renderer extends Canvas implements Runnable {
             DynamicRenderable renderable = this.dynamicRenderables.get(entityId);
             if (renderable == null) {
                 System.err.println("Renderer: Dynamic renderable objet not found " + entityId);
+            } else if (camera.isVisible(renderableData.posX, renderableData.posY, renderableData.size)) {
+                // Visible → update its snapshot and sprite if needed
+                renderable.update(renderableData, cFrame, camera, now);
+                this.spriteBatch.add(renderable);
+                visible++;
+
+                if (renderableData.thrust != 0) {
+                    this.emitThrustTrail(renderableData, dtSeconds);
+                }
             } else {
-                // Existing renderable → update its snapshot and sprite if needed
-                renderable.update(renderableData, cFrame);
+                // Culled → only keep it alive, no sprite work, no paint
+                renderable.touch(renderableData, cFrame);
             }
         }
 
-        // Remove renderables not updated this frame (i.e., objects no longer alive)
-        this.dynamicRenderables.entrySet().removeIf(entry -> entry.getValue().getLastFrameSeen() != cFrame);
+        // Remove renderables missing from the last two snapshots (i.e., objects
+        // no longer alive). One frame of grace: a renderable added after this
+        // snapshot was pulled is stamped with the previous frame
+        this.dynamicRenderables.entrySet().removeIf(entry -> cFrame - entry.getValue().getLastFrameSeen() > 1);
+        this.visibleRenderables = visible;
+
+        // Particles last: this frame's trails are spawned and drawn now
+        this.particles.update(dtSeconds);
     }
 }
@@ -0,0 +1,111 @@
+package view;
+
+/**
+ * ResolutionScaler
+ * ----------------
+ *
+ * Picks the render scale (fraction of the viewport resolution the scene is
+ * drawn at) that keeps the frame time inside a budget.
+ *
+ * The Renderer reports the cost of every presented frame (addFrame()).
+ * Every WINDOW frames the average is compared with the budget:
+ * - above the budget -> one step down in SCALES (fewer pixels),
+ * - low enough that the next step up is predicted to stay under
+ * UPSCALE_HEADROOM of the budget (cost assumed proportional to the pixel
+ * count, scale^2) -> one step up.
+ * The gap between both thresholds is the hysteresis: a frame time sitting
+ * right at the budget does not make the scale oscillate. Samples are
+ * discarded after every change so each decision uses frames rendered at
+ * the current scale only.
+ *
+ * Not thread safe: render thread only, except the volatile setters.
+ */
+public class ResolutionScaler {
+
+    public static final double[] SCALES = { 1d, 0.85d, 0.7d, 0.6d, 0.5d };
+    private static final int WINDOW = 30; // Frames per decision
+    private static final double UPSCALE_HEADROOM = 0.8d;
+
+    private volatile boolean enabled = true;
+    private volatile long budgetNanos;
+
+    private int scaleIndex = 0;
+    private long windowNanos = 0;
+    private int windowFrames = 0;
+    private double lastAverageMs = 0;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public ResolutionScaler(long budgetNanos) {
+        this.setBudgetNanos(budgetNanos);
+    }
+
+    /**
+     * PUBLICS
+     */
+
+    /**
+     * Records the cost of one presented frame. Returns true when the scale
+     * changed
+     */
+    public boolean addFrame(long frameNanos) {
+        if (!this.enabled) {
+            return false; // ====================================================>
+        }
+
+        this.windowNanos += frameNanos;
+        this.windowFrames++;
+        if (this.windowFrames < WINDOW) {
+            return false; // ====================================================>
+        }
+
+        double average = this.windowNanos / (double) this.windowFrames;
+        this.lastAverageMs = average / 1_000_000d;
+        this.windowNanos = 0;
+        this.windowFrames = 0;
+
+        double budget = this.budgetNanos;
+        if (average > budget && this.scaleIndex < SCALES.length - 1) {
+            this.scaleIndex++;
+            return true; // =====================================================>
+        }
+
+        if (this.scaleIndex > 0) {
+            double ratio = SCALES[this.scaleIndex - 1] / SCALES[this.scaleIndex];
+            if (average * ratio * ratio < budget * UPSCALE_HEADROOM) {
+                this.scaleIndex--;
+                return true; // =================================================>
+            }
+        }
+
+        return false;
+    }
+
+    public double getAverageFrameMs() {
+        return this.lastAverageMs;
+    }
+
+    public double getScale() {
+        return this.enabled ? SCALES[this.scaleIndex] : 1d;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setBudgetNanos(long budgetNanos) {
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Frame budget must be > 0");
+        }
+
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Disabled: full resolution, samples ignored
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -1,23 +1,28 @@
 package view;
 
 import view.renderables.DynamicRenderDTO;
+import view.renderables.ParticleSystem;
 import assets.AssetCatalog;
+import assets.AssetInfoDTO;
 import assets.AssetType;
 import controller.Controller;
 import controller.EngineState;
+import controller.ports.ViewPort;
+import fx.FxScheduler;
 import images.Images;
 
 import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
+import java.awt.GraphicsEnvironment;
 import java.awt.GridBagLayout;
+import java.awt.Rectangle;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
-import view.renderables.RenderDTO;
 
 /**
  * View
@@ -37,9 +42,8 @@ import view.renderables.RenderDTO;
  * - It communicates with the model exclusively through the Controller.
  *
  * The Renderer pulls dynamic snapshots every frame (via View -> Controller),
- * while static/decorator snapshots are pushed into the View/Renderer only when
- * they change (to avoid redundant per-frame updates for entities that do not
- * move).
+ * while static/decorator values are pushed into the View/Renderer once, when
+ * they are created (they never move, so there is nothing to update).
  *
  * Lifecycle
  * ---------
@@ -50,7 +54,9 @@ import view.renderables.RenderDTO;
  *
  * Activation (activate()):
  * - Validates mandatory dependencies (dimensions, background, image catalogs).
- * - Injects view dimensions and images into the Renderer.
+ * - Sizes the viewport (world size capped to the usable screen area) and
+ * creates the Camera over the world, following the local player.
+ * - Injects viewport dimensions, camera and images into the Renderer.
  * - Starts the Renderer thread (active rendering loop).
  *
  * Asset management
@@ -60,7 +66,14 @@ import view.renderables.RenderDTO;
  * - Background image (single BufferedImage).
  * - Dynamic body sprites (ships, asteroids, missiles, etc.).
  * - Static body sprites (gravity bodies, bombs, etc.).
- * - Decorator sprites (parallax / space decor).
+ * - Decorator sprites (parallax / space decor). Star fields and galaxies
+ * are handed to the Renderer as parallax decorators (slower planes behind
+ * the world); any other static value goes to the static layer.
+ * Animated assets (AssetCatalog.registerSheet()) are sliced into frames once,
+ * at load time.
+ * Each image is registered with the angle resolution of its asset type, and
+ * prewarmSprites(...) lets world generators have known (asset, size) pairs
+ * rasterised in the background before they are first drawn.
  *
  * The View stores catalogs as Images collections, which are later converted
  * into GPU/compatible caches inside the Renderer (ImageCache).
@@ -80,6 +93,8 @@ import view.renderables.RenderDTO;
  * - Rotation left/right and rotation off.
  * - Fire: handled as an edge-triggered action using fireKeyDown to prevent
  * key repeat from generating continuous shots while SPACE is held.
+ * - Zoom in/out (+ / -): applied to the Camera, read by the Renderer at the
+ * next frame.
  *
  * Focus and Swing considerations
  * -------------------------------
@@ -91,7 +106,7 @@ import view.renderables.RenderDTO;
  * ------------------------
  * Swing is single-threaded (EDT), while rendering runs on its own thread.
  * This class keeps its responsibilities minimal:
- * - It only pushes static/decorator updates when needed.
+ * - It only pushes static/decorator values once, at creation.
  * - Dynamic snapshot pulling is done inside the Renderer thread through
  * View -> Controller getters.
  *
@@ -101,15 +116,21 @@ import view.renderables.RenderDTO;
  * - Keep rendering independent and real-time (active rendering).
  * - Translate user input into controller commands cleanly and predictably.
  */
-public class View extends JFrame implements KeyListener {
+public class View extends JFrame implements KeyListener, RenderSource, ViewPort {
 
+    private static final double GALAXY_PARALLAX = 0.35d;
+    private static final double STARS_PARALLAX = 0.6d;
+
+    private AssetCatalog assets;
     private BufferedImage background;
     private Controller controller;
     private final ControlPanel controlPanel;
     private final Images images;
     private String localPlayerId;
     private final Renderer renderer;
-    private Dimension viewDimension;
+    private Dimension viewDimension; // World
+    private Dimension viewportDimension; // Canvas (camera window)
+    private Camera camera;
     private boolean fireKeyDown = false;
 
     /**
@@ -125,32 +146,118 @@ public class View extends JFrame implements KeyListener {
     /**
      * PUBLIC
      */
+    @Override
     public void activate() {
         if (this.viewDimension == null) {
             throw new IllegalArgumentException("View dimensions not setted");
         }
 
-        this.renderer.SetViewDimension(this.viewDimension);
+        Dimension viewport = this.viewportDimension;
+        if (viewport == null) {
+            viewport = this.defaultViewport(this.viewDimension);
+        }
+
+        this.camera = new Camera(this.viewDimension.width, this.viewDimension.height,
+                viewport.width, viewport.height);
+        if (this.localPlayerId != null) {
+            this.camera.follow(this.localPlayerId);
+        }
+
+        this.renderer.SetViewDimension(viewport);
+        this.renderer.setCamera(this.camera);
         this.renderer.setImages(this.background, this.images);
         this.renderer.activate();
         this.pack();
     }
 
-    public void addStaticRenderable(String entityId, String assetId) {
-        this.renderer.addStaticRenderable(entityId, assetId);
+    @Override
+    public void addStaticRenderable(String assetId, double size, double posX, double posY, double angle) {
+        double parallax = this.parallaxFactorOf(assetId);
+
+        if (parallax < 1d) {
+            // Far decorator: drawn in a slower parallax plane
+            this.renderer.addParallaxRenderable(parallax, assetId, size, posX, posY, angle);
+            return; // =======================================================>
+        }
+
+        this.renderer.addStaticRenderable(assetId, size, posX, posY, angle);
     }
 
+    @Override
     public void addDynamicRenderable(String entityId, String assetId) {
         this.renderer.addDynamicRenderable(entityId, assetId);
     }
 
+    @Override
+    public void addExplosion(double posX, double posY, double speedX, double speedY, double size) {
+        this.renderer.addExplosion(posX, posY, speedX, speedY, size);
+    }
+
+    @Override
+    public void addFragmentRenderables(String assetId, String[] entityIds, double lifeSeconds) {
+        this.renderer.addFragmentRenderables(assetId, entityIds, lifeSeconds);
+    }
+
+    /**
+     * Effects on dynamic renderables (spin, scale, sprite animations,
+     * overprints), run by the render loop. Available after activate()
+     */
+    public FxScheduler getFx() {
+        return this.renderer.getFx();
+    }
+
+    /**
+     * Explosion and thrust particles of the render loop
+     */
+    public ParticleSystem getParticles() {
+        return this.renderer.getParticles();
+    }
+
+    @Override
+    public ArrayList<DynamicRenderDTO> getDynamicRenderablesData() {
+        if (this.controller == null) {
+            throw new IllegalArgumentException("Controller not setted");
+        }
+
+        return this.controller.getDynamicRenderablesData();
+    }
+
+    @Override
+    public EngineState getEngineState() {
+        return this.controller.getEngineState();
+    }
+
+    public int getEntityCreatedQuantity() {
+        return this.controller.getEntityCreatedQuantity();
+    }
+
+    @Override
+    public int getEntityAliveQuantity() {
+        return this.controller.getEntityAliveQuantity();
+    }
+
+    @Override
+    public int getEntityDeadQuantity() {
+        return this.controller.getEntityDeadQuantity();
+    }
+
+    @Override
+    public double getProjectilePoolHitRate() {
+        return this.controller.getProjectilePoolHitRate();
+    }
+
+    @Override
     public void loadAssets(AssetCatalog assets) {
         String fileName;
         String path = assets.getPath();
 
+        this.assets = assets;
+
         for (String assetId : assets.getAssetIds()) {
-            fileName = assets.get(assetId).fileName;
-            this.images.add(assetId, path + fileName);
+            AssetInfoDTO info = assets.get(assetId);
+            fileName = info.fileName;
+            this.images.add(assetId, path + fileName, assets.getAngleSteps(assetId),
+                    info.frameCols, info.frameRows, info.frameCount, info.framesPerSecond);
         }
 
         // Setting background
@@ -158,52 +265,87 @@ public class View extends JFrame implements KeyListener {
         this.background = this.images.getImage(backgroundId).image;
     }
 
+    @Override
+    public void prewarmSprites(String assetId, int minSize, int maxSize) {
+        this.renderer.prewarmSprites(assetId, minSize, maxSize);
+    }
+
+    @Override
     public void setController(Controller controller) {
         this.controller = controller;
     }
 
+    @Override
     public void setDimension(Dimension worldDim) {
         this.viewDimension = worldDim;
     }
 
+    @Override
     public void setLocalPlayer(String localPlayerId) {
         this.localPlayerId = localPlayerId;
-    }
-
-    public void updateStaticRenderables(ArrayList<RenderDTO> renderablesData) {
-        this.renderer.updateStaticRenderables(renderablesData);
-    }
 
-    /**
-     * PROTECTED
-     */
-    protected ArrayList<DynamicRenderDTO> getDynamicRenderablesData() {
-        if (this.controller == null) {
-            throw new IllegalArgumentException("Controller not setted");
+        if (this.camera != null) {
+            this.camera.follow(localPlayerId);
         }
-
-        return this.controller.getDynamicRenderablesData();
     }
 
-    protected EngineState getEngineState() {
-        return this.controller.getEngineState();
+    public void setDynamicResolution(boolean enabled) {
+        this.renderer.setDynamicResolution(enabled);
     }
 
-    protected int getEntityCreatedQuantity() {
-        return this.controller.getEntityCreatedQuantity();
+    public void setSoftwareRasterizer(boolean enabled) {
+        this.renderer.setSoftwareRasterizer(enabled);
     }
 
-    protected int getEntityAliveQuantity() {
-        return this.controller.getEntityAliveQuantity();
+    public void setTargetFps(int targetFps) {
+        this.renderer.setTargetFps(targetFps);
     }
 
-    protected int getEntityDeadQuantity() {
-        return this.controller.getEntityDeadQuantity();
+    public void setViewportDimension(Dimension viewportDim) {
+        this.viewportDimension = viewportDim;
     }
 
     /**
      * PRIVATE
      */
+    /**
+     * Parallax factor for an asset: 1 (moves with the world) unless its type
+     * is a far backdrop
+     */
+    private double parallaxFactorOf(String assetId) {
+        return View.parallaxFactorOf(this.assets, assetId);
+    }
+
+    /**
+     * Shared with OffscreenView
+     */
+    static double parallaxFactorOf(AssetCatalog assets, String assetId) {
+        if (assets == null || !assets.exists(assetId)) {
+            return 1d; // ===================================================>
+        }
+
+        switch (assets.get(assetId).type) {
+            case GALAXY:
+                return GALAXY_PARALLAX;
+            case STARS:
+                return STARS_PARALLAX;
+            default:
+                return 1d;
+        }
+    }
+
+    private Dimension defaultViewport(Dimension worldDim) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new Dimension(worldDim); // =====================================>
+        }
+
+        // Leave room for the window decorations
+        Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        return new Dimension(
+                Math.min(worldDim.width, screen.width - 20),
+                Math.min(worldDim.height, screen.height - 60));
+    }
+
     private void addRendererCanva(Container container) {
         GridBagConstraints c = new GridBagConstraints();
 
@@ -281,6 +423,21 @@ public class View extends JFrame implements KeyListener {
             case KeyEvent.VK_1:
                 this.controller.selectNextWeapon(this.localPlayerId);
                 break;
+
+            case KeyEvent.VK_PLUS:
+            case KeyEvent.VK_ADD:
+            case KeyEvent.VK_EQUALS:
+                if (this.camera != null) {
+                    this.camera.zoomBy(1.25d);
+                }
+                break;
+
+            case KeyEvent.VK_MINUS:
+            case KeyEvent.VK_SUBTRACT:
+                if (this.camera != null) {
+                    this.camera.zoomBy(0.8d);
+                }
+                break;
         }
     }
 
@@ -1,11 +1,45 @@
 package view.huds;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
+import java.util.Arrays;
 
+/**
+ * Hud
+ * ---
+ *
+ * Labelled text lines (label + value) drawn over the scene.
+ *
+ * Cached layer
+ * ------------
+ * Text rendering is expensive in Java2D, so a Hud can keep its text in a
+ * translucent VolatileImage and the Renderer blits that image once per frame
+ * (drawCached()). The image is redrawn only when update() gets values that
+ * differ from the last ones, and update() itself is meant to be called only
+ * when isRefreshDue() says so (refresh rate, 4 Hz by default), so the caller
+ * does not even build the value strings on the other frames.
+ *
+ * The layer only pays off when it is an accelerated surface (the blit is a
+ * GPU copy). On software pipelines a full-rect blit of mostly empty pixels
+ * costs more than drawing the glyphs, so drawCached() then draws the cached
+ * strings directly; value sampling stays rate limited either way.
+ *
+ * draw() paints the text directly and is what the cached layer uses.
+ *
+ * Not thread safe: render thread only.
+ */
 public class Hud {
+    public static final double DEFAULT_REFRESH_HZ = 4d;
+    private static final int LAYER_PADDING = 8;
+    private static final Color TRANSPARENT = new Color(0, 0, 0, 0);
+
     public final int initRow;
     public final int initCol;
     public final int interline;
@@ -15,6 +49,13 @@ public class Hud {
     public int maxLenLabel = 0;
 
     public ArrayList<String> labels = new ArrayList<>();
+    private String[] paddedLabels = new String[0]; // Label + padding up to maxLenLabel
+
+    private long refreshPeriodNanos = (long) (1_000_000_000d / DEFAULT_REFRESH_HZ);
+    private long lastRefreshNanos = 0;
+    private String[] lastData = null;
+    private VolatileImage layer = null;
+    private boolean layerDirty = true;
 
     public Hud(Color color, int initRow, int initCol, int interline) {
         this.initRow = initRow;
@@ -26,28 +67,132 @@ public class Hud {
     public void addLine(String label) {
         this.labels.add(label);
         this.maxLenLabel = Math.max(this.maxLenLabel, label.length()) + 1;
+
+        // Padding depends on the longest label: rebuild all
+        this.paddedLabels = new String[this.labels.size()];
+        for (int i = 0; i < this.paddedLabels.length; i++) {
+            this.paddedLabels[i] = String.format("%-" + this.maxLenLabel + "s", this.labels.get(i));
+        }
+        this.layerDirty = true;
     }
 
     public void draw(Graphics2D g, String[] data) {
         Color old = g.getColor();
 
         g.setFont(this.font);
-        g.setColor(Color.YELLOW);
-
         g.setColor(this.color);
         int row = 1;
-        for (String label : this.labels) {
+        for (String label : this.paddedLabels) {
             this.drawLine(g, row, label, data[row - 1]);
             row++;
         }
+
+        g.setColor(old);
+    }
+
+    /**
+     * Blits the cached layer (repainting it first if it is lost or stale).
+     * Nothing is drawn until the first update()
+     */
+    public void drawCached(Graphics2D g, GraphicsConfiguration gc) {
+        if (this.lastData == null) {
+            return; // ==========================================================>
+        }
+
+        VolatileImage vi = this.getLayer(g, gc);
+        if (!vi.getCapabilities().isAccelerated()) {
+            // Software surfaces: a full-rect blit costs more than the glyphs
+            this.draw(g, this.lastData);
+            return; // ==========================================================>
+        }
+
+        g.drawImage(vi, 0, 0, null);
+    }
+
+    /**
+     * True when the refresh period has elapsed since the last update()
+     */
+    public boolean isRefreshDue() {
+        return this.lastData == null
+                || System.nanoTime() - this.lastRefreshNanos >= this.refreshPeriodNanos;
+    }
+
+    /**
+     * Refresh rate in Hz. Zero or negative: every update() is taken
+     * (the layer is still only redrawn when values change)
+     */
+    public void setRefreshRate(double hz) {
+        this.refreshPeriodNanos = (hz <= 0) ? 0 : (long) (1_000_000_000d / hz);
     }
 
+    /**
+     * Takes new values; the cached layer is redrawn only if they changed
+     */
+    public void update(String[] data) {
+        if (data.length < this.labels.size()) {
+            throw new IllegalArgumentException("Hud data size error: "
+                    + data.length + " values for " + this.labels.size() + " lines");
+        }
+
+        this.lastRefreshNanos = System.nanoTime();
+
+        if (!Arrays.equals(data, this.lastData)) {
+            this.lastData = data;
+            this.layerDirty = true;
+        }
+    }
 
     /**
      * PRIVATE METHODS
      */
-    private void drawLine(Graphics2D g, int row, String line, String data) {
-        String text = String.format("%-" + (this.maxLenLabel) + "s%s", line, data);
-        g.drawString(text, this.initCol, this.initRow + (this.interline * row));
+    private void drawLine(Graphics2D g, int row, String paddedLabel, String data) {
+        g.drawString(paddedLabel + data, this.initCol, this.initRow + (this.interline * row));
+    }
+
+    private VolatileImage getLayer(Graphics2D g, GraphicsConfiguration gc) {
+        VolatileImage vi = this.layer;
+
+        if (vi != null && !this.layerDirty && vi.validate(gc) == VolatileImage.IMAGE_OK) {
+            return vi; // ================================= Steady frames >>
+        }
+
+        FontMetrics fm = g.getFontMetrics(this.font);
+        int width = this.initCol + LAYER_PADDING;
+        for (int i = 0; i < this.paddedLabels.length; i++) {
+            width = Math.max(width,
+                    this.initCol + fm.stringWidth(this.paddedLabels[i] + this.lastData[i]) + LAYER_PADDING);
+        }
+        int height = this.initRow + this.interline * this.labels.size() + fm.getDescent() + LAYER_PADDING;
+
+        if (vi == null || vi.getWidth() < width || vi.getHeight() < height
+                || vi.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            // Grown in 64 px steps so changing values do not recreate it often
+            if (vi != null) {
+                vi.flush();
+            }
+            vi = gc.createCompatibleVolatileImage(
+                    (width + 63) & ~63, (height + 63) & ~63, Transparency.TRANSLUCENT);
+            this.layer = vi;
+            this.layerDirty = true;
+        }
+
+        do {
+            if (vi.validate(gc) != VolatileImage.IMAGE_OK || this.layerDirty) {
+                Graphics2D lg = vi.createGraphics();
+                try {
+                    lg.setComposite(AlphaComposite.Src); // Clear to transparent
+                    lg.setColor(TRANSPARENT);
+                    lg.fillRect(0, 0, vi.getWidth(), vi.getHeight());
+
+                    lg.setComposite(AlphaComposite.SrcOver);
+                    this.draw(lg, this.lastData);
+                    this.layerDirty = false;
+                } finally {
+                    lg.dispose();
+                }
+            }
+        } while (vi.contentsLost());
+
+        return vi;
     }
-}
\ No newline at end of file
+}
@@ -12,9 +12,24 @@ public class ImagesHud extends Hud {
     private void addLabels() {
         this.addLine("FPS");
         this.addLine("Draw");
+        this.addLine("Frame p50/95/99");
+        this.addLine("Frames skipped");
         this.addLine("Cache images");
         this.addLine("Cache hits");
+        this.addLine("Cache memory");
+        this.addLine("Cache evictions");
+        this.addLine("Atlas pages");
+        this.addLine("Raster queue");
+        this.addLine("Miss latency");
         this.addLine("Entities Alive");
         this.addLine("Entities Dead");
+        this.addLine("Projectile pool");
+        this.addLine("Visible");
+        this.addLine("Zoom");
+        this.addLine("Rasterizer");
+        this.addLine("Render scale");
+        this.addLine("Parallax tiles");
+        this.addLine("Fx active");
+        this.addLine("Particles");
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ public class DynamicRenderDTO extends RenderDTO {
     public final double speedY;
     public final double accX;
     public final double accY;
+    public final double thrust;
 
     public DynamicRenderDTO(
             String entityId,
@@ -14,7 +15,8 @@ public class DynamicRenderDTO extends RenderDTO {
             double size,
             long timeStamp,
             double speedX, double speedY,
-            double accX, double accY) {
+            double accX, double accY,
+            double thrust) {
 
         super(entityId, posX, posY, angle, size);
 
@@ -23,5 +25,6 @@ public class DynamicRenderDTO extends RenderDTO {
         this.speedY = speedY;
         this.accX = accX;
         this.accY = accY;
+        this.thrust = thrust;
     }
 }
@@ -28,8 +28,8 @@ public class DynamicRenderable extends Renderable {
             return;
         }
 
-        int x = (int) bodyInfo.posX;
-        int y = (int) bodyInfo.posY;
+        int x = this.getScreenX();
+        int y = this.getScreenY();
 
         // Speed vector
         if ((bodyInfo.speedX != 0) || (bodyInfo.speedY != 0)) {
@@ -0,0 +1,565 @@
+package view.renderables;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import images.ImageCache;
+import view.Camera;
+
+/**
+ * ParallaxLayer
+ * -------------
+ *
+ * One background plane (the background image and/or far decorators such as
+ * star fields and galaxies) that scrolls slower than the world, cached as
+ * TILE_SIZE x TILE_SIZE VolatileImage tiles.
+ *
+ * Layer space
+ * -----------
+ * A layer with parallax factor f (0 = fixed to the screen, 1 = moves with
+ * the world) covers, per axis, viewport + (world - viewport) * f pixels
+ * centered on the world center: exactly what the camera sweeps when it
+ * travels from one world edge to the other. Item positions are scaled into
+ * that extent (sizes are not), so every decorator stays reachable and far
+ * layers look denser. Camera zoom is also damped by f (the render scale is
+ * not: it applies to every layer alike).
+ *
+ * Tiles
+ * -----
+ * Tiles are keyed by their (column, row) in layer space and generated lazily
+ * the first time they become visible. They live in an open-addressing table
+ * probed by (column, row), so looking the visible tiles up every frame
+ * allocates no key objects. Items are bucketed in CHUNK_SIZE
+ * chunks (an item sticking out of its chunk is stored in every chunk it
+ * overlaps), so painting a tile only scans the items of one chunk, however
+ * many decorators the layer holds. Tiles farther than EVICT_MARGIN_TILES
+ * from the visible range are flushed, so memory is bounded by the viewport
+ * (and zoom), never by the world size. A tile is repainted only when its
+ * surface is lost, when some of its sprites were still being rasterised by
+ * the ImageCache, or when an item added to the layer overlaps it (add()
+ * records the tile range it touches; other tiles are kept).
+ *
+ * Threading
+ * ---------
+ * add() may be called from non-render threads: chunks live in a
+ * ConcurrentHashMap and each one is a StaticRenderableStore (append-only,
+ * safe to paint while another thread adds). The tile ranges to repaint are
+ * queued under the layer lock and drained by paint(). beginFrame() / paint()
+ * and the tile table belong to the render thread.
+ *
+ * Late binding
+ * ------------
+ * The layer space depends on the camera (world and viewport sizes), which
+ * may not exist yet when the world is being built. A layer created with
+ * ParallaxLayer(factor) keeps the decorators it gets in world coordinates
+ * and places them when bind() provides the camera and the image cache; it
+ * draws nothing until then.
+ */
+public class ParallaxLayer {
+
+    public static final int TILE_SIZE = 256;
+    private static final int CHUNK_SIZE = TILE_SIZE * 4; // A tile is in exactly one chunk
+    private static final int CHUNK_INITIAL_CAPACITY = 16;
+    private static final int EVICT_MARGIN_TILES = 2;
+    private static final Color TRANSPARENT = new Color(0, 0, 0, 0);
+
+    private final double factor;
+    private volatile Camera camera; // Null until bound
+    private final BufferedImage background; // Null for decorator-only layers
+    private ImageCache cache;
+    private final ConcurrentHashMap<Long, StaticRenderableStore> chunks = new ConcurrentHashMap<>();
+    private volatile long version = 0;
+    private volatile int itemCount = 0;
+
+    // Set when bound
+    private double worldCenterX;
+    private double worldCenterY;
+    private double contentLeft; // Layer space
+    private double contentTop;
+    private double contentWidth;
+    private double contentHeight;
+
+    // Decorators added before bind() · guarded by this
+    private String[] unboundAssetIds = new String[0];
+    private double[] unboundValues = new double[0]; // size, posX, posY, angle
+    private int unboundCount = 0;
+
+    private final TileTable tiles = new TileTable();
+    private long tilesVersion = 0;
+
+    // Tile ranges touched by add() and not repainted yet · guarded by this
+    private int[] dirtyRanges = new int[4 * 8]; // firstCol, firstRow, lastCol, lastRow
+    private int dirtyCount = 0;
+
+    // Frame snapshot · render thread only
+    private double frameLeft = 0;
+    private double frameTop = 0;
+    private double frameZoom = 1d;
+    private double frameVisibleWidth;
+    private double frameVisibleHeight;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public ParallaxLayer(double factor, Camera camera, ImageCache cache, BufferedImage background) {
+        this(factor, background);
+        this.bind(camera, cache);
+    }
+
+    /**
+     * Decorator-only layer to be bound later (see bind())
+     */
+    public ParallaxLayer(double factor) {
+        this(factor, null);
+    }
+
+    private ParallaxLayer(double factor, BufferedImage background) {
+        if (factor < 0 || factor > 1) {
+            throw new IllegalArgumentException("Parallax factor must be in [0, 1]");
+        }
+
+        this.factor = factor;
+        this.background = background;
+    }
+
+    /**
+     * PUBLICS
+     */
+
+    /**
+     * Adds a decorator given in world coordinates (kept as is until the
+     * layer is bound)
+     */
+    public synchronized void add(String assetId, double size, double posX, double posY, double angle) {
+        if (this.camera == null) {
+            this.addUnbound(assetId, size, posX, posY, angle);
+            return; // =============================== Placed on bind() ==>
+        }
+
+        double layerX = this.worldCenterX
+                + (posX - this.worldCenterX) * (this.contentWidth / this.camera.getWorldWidth());
+        double layerY = this.worldCenterY
+                + (posY - this.worldCenterY) * (this.contentHeight / this.camera.getWorldHeight());
+        double half = size * 0.75d; // Padded (rotated) sprite half side
+
+        int firstCol = Math.floorDiv((int) Math.floor(layerX - half), CHUNK_SIZE);
+        int firstRow = Math.floorDiv((int) Math.floor(layerY - half), CHUNK_SIZE);
+        int lastCol = Math.floorDiv((int) Math.floor(layerX + half), CHUNK_SIZE);
+        int lastRow = Math.floorDiv((int) Math.floor(layerY + half), CHUNK_SIZE);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                this.chunks
+                        .computeIfAbsent(ParallaxLayer.key(col, row),
+                                k -> new StaticRenderableStore(this.cache, CHUNK_INITIAL_CAPACITY))
+                        .add(assetId, size, layerX, layerY, angle);
+            }
+        }
+
+        if ((this.dirtyCount + 1) * 4 > this.dirtyRanges.length) {
+            this.dirtyRanges = Arrays.copyOf(this.dirtyRanges, this.dirtyRanges.length * 2);
+        }
+        int at = this.dirtyCount * 4;
+        this.dirtyRanges[at] = Math.floorDiv((int) Math.floor(layerX - half), TILE_SIZE);
+        this.dirtyRanges[at + 1] = Math.floorDiv((int) Math.floor(layerY - half), TILE_SIZE);
+        this.dirtyRanges[at + 2] = Math.floorDiv((int) Math.floor(layerX + half), TILE_SIZE);
+        this.dirtyRanges[at + 3] = Math.floorDiv((int) Math.floor(layerY + half), TILE_SIZE);
+        this.dirtyCount++;
+
+        this.itemCount++;
+        this.version++;
+    }
+
+    /**
+     * Binds the layer to the camera and the image cache, and places the
+     * decorators added before. No effect on a layer already bound
+     */
+    public synchronized void bind(Camera camera, ImageCache cache) {
+        if (camera == null) {
+            throw new IllegalArgumentException("Camera not set");
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException("Image cache not set");
+        }
+        if (this.camera != null) {
+            return; // ======================================= Already bound ==>
+        }
+
+        double worldWidth = camera.getWorldWidth();
+        double worldHeight = camera.getWorldHeight();
+        int viewportWidth = camera.getViewportWidth();
+        int viewportHeight = camera.getViewportHeight();
+
+        this.worldCenterX = worldWidth / 2d;
+        this.worldCenterY = worldHeight / 2d;
+        this.contentWidth = Math.max(1d, viewportWidth + (worldWidth - viewportWidth) * this.factor);
+        this.contentHeight = Math.max(1d, viewportHeight + (worldHeight - viewportHeight) * this.factor);
+        this.contentLeft = this.worldCenterX - this.contentWidth / 2d;
+        this.contentTop = this.worldCenterY - this.contentHeight / 2d;
+        this.frameVisibleWidth = viewportWidth;
+        this.frameVisibleHeight = viewportHeight;
+        this.cache = cache;
+        this.camera = camera;
+
+        for (int i = 0; i < this.unboundCount; i++) {
+            int at = i * 4;
+            this.add(this.unboundAssetIds[i], this.unboundValues[at], this.unboundValues[at + 1],
+                    this.unboundValues[at + 2], this.unboundValues[at + 3]);
+        }
+        this.unboundAssetIds = new String[0];
+        this.unboundValues = new double[0];
+        this.unboundCount = 0;
+    }
+
+    /**
+     * Projects the camera frame snapshot into this layer (render thread,
+     * after Camera.beginFrame())
+     */
+    public void beginFrame() {
+        Camera camera = this.camera;
+        if (camera == null) {
+            return; // ============================================= Unbound ==>
+        }
+
+        double cameraCenterX = camera.getLeft() + camera.getVisibleWidth() / 2d;
+        double cameraCenterY = camera.getTop() + camera.getVisibleHeight() / 2d;
+        double zoom = 1d + (camera.getUserZoom() - 1d) * this.factor;
+
+        this.frameZoom = zoom * camera.getRenderScale(); // Layer -> target pixels
+        this.frameVisibleWidth = camera.getViewportWidth() / zoom;
+        this.frameVisibleHeight = camera.getViewportHeight() / zoom;
+        this.frameLeft = this.worldCenterX + (cameraCenterX - this.worldCenterX) * this.factor
+                - this.frameVisibleWidth / 2d;
+        this.frameTop = this.worldCenterY + (cameraCenterY - this.worldCenterY) * this.factor
+                - this.frameVisibleHeight / 2d;
+    }
+
+    public double getFactor() {
+        return this.factor;
+    }
+
+    public int getTileCount() {
+        return this.tiles.size();
+    }
+
+    /**
+     * True when the layer background fills the whole viewport this frame
+     */
+    public boolean isCoveringFrame() {
+        return this.background != null
+                && this.frameLeft >= this.contentLeft - 0.5d
+                && this.frameTop >= this.contentTop - 0.5d
+                && this.frameLeft + this.frameVisibleWidth <= this.contentLeft + this.contentWidth + 0.5d
+                && this.frameTop + this.frameVisibleHeight <= this.contentTop + this.contentHeight + 0.5d;
+    }
+
+    public boolean isBound() {
+        return this.camera != null;
+    }
+
+    public boolean isEmpty() {
+        return this.camera == null || (this.background == null && this.itemCount == 0);
+    }
+
+    /**
+     * Draws the visible tiles (generating the missing ones) and evicts the
+     * far ones
+     */
+    public void paint(Graphics2D g, GraphicsConfiguration gc) {
+        if (this.isEmpty()) {
+            return; // ======================================== Nothing to draw >>
+        }
+
+        if (this.version != this.tilesVersion) {
+            this.invalidateDirtyTiles();
+        }
+
+        int firstCol = Math.floorDiv((int) Math.floor(this.frameLeft), TILE_SIZE);
+        int firstRow = Math.floorDiv((int) Math.floor(this.frameTop), TILE_SIZE);
+        int lastCol = Math.floorDiv((int) Math.ceil(this.frameLeft + this.frameVisibleWidth) - 1, TILE_SIZE);
+        int lastRow = Math.floorDiv((int) Math.ceil(this.frameTop + this.frameVisibleHeight) - 1, TILE_SIZE);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                if (!this.hasContent(col, row)) {
+                    continue;
+                }
+
+                Tile tile = this.getTile(col, row, gc);
+
+                // Edges rounded from the tile grid: adjacent tiles never leave gaps
+                int x1 = (int) Math.round((col * TILE_SIZE - this.frameLeft) * this.frameZoom);
+                int y1 = (int) Math.round((row * TILE_SIZE - this.frameTop) * this.frameZoom);
+                int x2 = (int) Math.round(((col + 1) * TILE_SIZE - this.frameLeft) * this.frameZoom);
+                int y2 = (int) Math.round(((row + 1) * TILE_SIZE - this.frameTop) * this.frameZoom);
+
+                if (this.frameZoom == 1d) {
+                    g.drawImage(tile.image, x1, y1, null);
+                } else {
+                    g.drawImage(tile.image, x1, y1, x2 - x1, y2 - y1, null);
+                }
+            }
+        }
+
+        this.evictTiles(firstCol - EVICT_MARGIN_TILES, firstRow - EVICT_MARGIN_TILES,
+                lastCol + EVICT_MARGIN_TILES, lastRow + EVICT_MARGIN_TILES);
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void evictTiles(int minCol, int minRow, int maxCol, int maxRow) {
+        Tile[] slots = this.tiles.slots;
+        int i = 0;
+
+        while (i < slots.length) {
+            Tile tile = slots[i];
+            if (tile != null
+                    && (tile.col < minCol || tile.col > maxCol || tile.row < minRow || tile.row > maxRow)) {
+                tile.image.flush(); // Release the surface now, not at GC time
+                this.tiles.removeAt(i); // Slot i may now hold a later tile: check it again
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private Tile getTile(int col, int row, GraphicsConfiguration gc) {
+        Tile tile = this.tiles.get(col, row);
+
+        if (tile == null) {
+            tile = new Tile(col, row, this.newTileImage(gc));
+            this.tiles.put(tile);
+        }
+
+        do {
+            int val = tile.image.validate(gc);
+
+            if (val == VolatileImage.IMAGE_INCOMPATIBLE) {
+                tile.image.flush();
+                tile.image = this.newTileImage(gc);
+                tile.complete = false;
+            } else if (val == VolatileImage.IMAGE_RESTORED) {
+                tile.complete = false;
+            }
+
+            if (!tile.complete) {
+                this.paintTile(tile);
+            }
+        } while (tile.image.contentsLost());
+
+        return tile;
+    }
+
+    /**
+     * False for tiles that cannot hold anything (beyond the content extent
+     * plus a margin for decorators sticking out of it)
+     */
+    private boolean hasContent(int col, int row) {
+        double tileLeft = col * TILE_SIZE;
+        double tileTop = row * TILE_SIZE;
+
+        return tileLeft + TILE_SIZE >= this.contentLeft - TILE_SIZE
+                && tileLeft <= this.contentLeft + this.contentWidth + TILE_SIZE
+                && tileTop + TILE_SIZE >= this.contentTop - TILE_SIZE
+                && tileTop <= this.contentTop + this.contentHeight + TILE_SIZE;
+    }
+
+    private void addUnbound(String assetId, double size, double posX, double posY, double angle) {
+        // Caller holds the layer lock
+        if (this.unboundCount == this.unboundAssetIds.length) {
+            int capacity = Math.max(16, this.unboundCount * 2);
+            this.unboundAssetIds = Arrays.copyOf(this.unboundAssetIds, capacity);
+            this.unboundValues = Arrays.copyOf(this.unboundValues, capacity * 4);
+        }
+
+        int at = this.unboundCount * 4;
+        this.unboundAssetIds[this.unboundCount] = assetId;
+        this.unboundValues[at] = size;
+        this.unboundValues[at + 1] = posX;
+        this.unboundValues[at + 2] = posY;
+        this.unboundValues[at + 3] = angle;
+        this.unboundCount++;
+    }
+
+    /**
+     * Flags the existing tiles overlapped by items added since the last call
+     * for repaint (the others keep their contents)
+     */
+    private synchronized void invalidateDirtyTiles() {
+        Tile[] slots = this.tiles.slots;
+
+        for (int r = 0; r < this.dirtyCount; r++) {
+            int at = r * 4;
+            int firstCol = this.dirtyRanges[at];
+            int firstRow = this.dirtyRanges[at + 1];
+            int lastCol = this.dirtyRanges[at + 2];
+            int lastRow = this.dirtyRanges[at + 3];
+
+            for (Tile tile : slots) {
+                if (tile != null
+                        && tile.col >= firstCol && tile.col <= lastCol
+                        && tile.row >= firstRow && tile.row <= lastRow) {
+                    tile.complete = false;
+                }
+            }
+        }
+
+        this.dirtyCount = 0;
+        this.tilesVersion = this.version;
+    }
+
+    /**
+     * Chunk key (boxed by the chunk map only in add() and tile repaints,
+     * never per frame)
+     */
+    private static long key(int col, int row) {
+        return ((long) col << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    private VolatileImage newTileImage(GraphicsConfiguration gc) {
+        return gc.createCompatibleVolatileImage(TILE_SIZE, TILE_SIZE,
+                (this.background != null) ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+    }
+
+    private void paintTile(Tile tile) {
+        int tileLeft = tile.col * TILE_SIZE;
+        int tileTop = tile.row * TILE_SIZE;
+        Graphics2D g = tile.image.createGraphics();
+
+        try {
+            g.setComposite(AlphaComposite.Src); // Overwrite previous contents
+            g.setColor((this.background != null) ? Color.BLACK : TRANSPARENT);
+            g.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+
+            g.translate(-tileLeft, -tileTop);
+            if (this.background != null) {
+                g.drawImage(this.background,
+                        (int) Math.round(this.contentLeft), (int) Math.round(this.contentTop),
+                        (int) Math.round(this.contentWidth), (int) Math.round(this.contentHeight),
+                        null);
+            }
+
+            StaticRenderableStore chunk = this.chunks.get(ParallaxLayer.key(
+                    Math.floorDiv(tileLeft, CHUNK_SIZE), Math.floorDiv(tileTop, CHUNK_SIZE)));
+
+            g.setComposite(AlphaComposite.SrcOver); // With transparency
+            tile.complete = (chunk == null)
+                    || chunk.paint(g, tileLeft, tileTop, TILE_SIZE, TILE_SIZE);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Open-addressing (col, row) -> Tile table with linear probing: the tile
+     * is its own key, capacity is a power of two doubled at half load, and
+     * removal shifts the probe chain back (no tombstones), as in
+     * LongSpriteMap. Render thread only
+     */
+    private static final class TileTable {
+
+        private static final long HASH_MIX = 0x9E3779B97F4A7C15L; // Fibonacci hashing
+
+        Tile[] slots = new Tile[64];
+        private int shift = 64 - 6;
+        private int size = 0;
+
+        Tile get(int col, int row) {
+            int mask = this.slots.length - 1;
+            int slot = this.hash(col, row);
+            Tile tile;
+
+            while ((tile = this.slots[slot]) != null) {
+                if (tile.col == col && tile.row == row) {
+                    return tile; // ================================================>
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return null;
+        }
+
+        /**
+         * Adds a tile not in the table yet
+         */
+        void put(Tile tile) {
+            if ((this.size + 1) * 2 > this.slots.length) {
+                Tile[] old = this.slots;
+                this.slots = new Tile[old.length * 2];
+                this.shift--;
+                for (Tile moved : old) {
+                    if (moved != null) {
+                        this.insert(moved);
+                    }
+                }
+            }
+
+            this.insert(tile);
+            this.size++;
+        }
+
+        void removeAt(int slot) {
+            // Backward-shift deletion: pull later tiles of the probe chain
+            // back into the hole while that does not move them before their
+            // home slot
+            int mask = this.slots.length - 1;
+            int hole = slot;
+            int i = (slot + 1) & mask;
+
+            while (this.slots[i] != null) {
+                int home = this.hash(this.slots[i].col, this.slots[i].row);
+
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    this.slots[hole] = this.slots[i];
+                    hole = i;
+                }
+                i = (i + 1) & mask;
+            }
+
+            this.slots[hole] = null;
+            this.size--;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        private int hash(int col, int row) {
+            long key = ((long) col << 32) | (row & 0xFFFFFFFFL);
+
+            return (int) ((key * HASH_MIX) >>> this.shift);
+        }
+
+        private void insert(Tile tile) {
+            int mask = this.slots.length - 1;
+            int slot = this.hash(tile.col, tile.row);
+
+            while (this.slots[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = tile;
+        }
+    }
+
+    private static final class Tile {
+
+        final int col;
+        final int row;
+        VolatileImage image;
+        boolean complete = false; // Repainted until all its sprites are ready
+
+        Tile(int col, int row, VolatileImage image) {
+            this.col = col;
+            this.row = row;
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package view.renderables;
+
+/**
+ * Emission settings of one kind of particle effect (explosion debris,
+ * thrust exhaust...). Immutable: presets are shared by every emission.
+ *
+ * count is the number of particles of one burst at amount 1 (for
+ * continuous emitters, particles per second). Speeds and sizes are in world
+ * units, durations in seconds, colors ARGB; each particle gets a random
+ * color between colorFrom and colorTo and fades out over its life.
+ */
+public class ParticleEmitterDTO {
+
+    public final int count;
+    public final double speedMin;
+    public final double speedMax;
+    public final double spreadDegrees; // 360 = radial, cone around the emission angle otherwise
+    public final double lifeMin;
+    public final double lifeMax;
+    public final double size;
+    public final double drag; // Fraction of the speed lost per second
+    public final double inheritSpeed; // Fraction of the emitter speed added
+    public final int colorFrom;
+    public final int colorTo;
+
+    public ParticleEmitterDTO(int count,
+            double speedMin, double speedMax, double spreadDegrees,
+            double lifeMin, double lifeMax,
+            double size, double drag, double inheritSpeed,
+            int colorFrom, int colorTo) {
+
+        if (count <= 0) {
+            throw new IllegalArgumentException("Particle count must be > 0");
+        }
+        if (speedMin < 0 || speedMax < speedMin) {
+            throw new IllegalArgumentException("Particle speed range error: " + speedMin + " - " + speedMax);
+        }
+        if (lifeMin <= 0 || lifeMax < lifeMin) {
+            throw new IllegalArgumentException("Particle life range error: " + lifeMin + " - " + lifeMax);
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Particle size must be > 0");
+        }
+        if (drag < 0) {
+            throw new IllegalArgumentException("Particle drag must be >= 0");
+        }
+
+        this.count = count;
+        this.speedMin = speedMin;
+        this.speedMax = speedMax;
+        this.spreadDegrees = spreadDegrees;
+        this.lifeMin = lifeMin;
+        this.lifeMax = lifeMax;
+        this.size = size;
+        this.drag = drag;
+        this.inheritSpeed = inheritSpeed;
+        this.colorFrom = colorFrom;
+        this.colorTo = colorTo;
+    }
+}
@@ -0,0 +1,435 @@
+package view.renderables;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+import _helpers.FastTrig;
+import view.Camera;
+
+/**
+ * ParticleSystem
+ * --------------
+ *
+ * Purely visual particles (explosion debris, thrust exhaust): no entity,
+ * no thread, no map entry per particle. The Renderer owns one system,
+ * updates it once per frame and draws every live particle in one batch.
+ *
+ * Storage
+ * -------
+ * Fixed capacity structure of arrays: one primitive array per attribute
+ * (position, speed, age, life, size, drag, color), live particles packed in
+ * [0, liveCount). A dead particle is replaced by the last live one, so
+ * update() is a single linear pass and nothing is allocated after
+ * construction.
+ *
+ * Emission
+ * --------
+ * emit() may be called from any thread (domain events come from body
+ * threads): it only records the request (emitter, position, speed, angle,
+ * amount) in a small double buffered queue. The render thread swaps the
+ * queue in update() and spawns the particles itself, so the particle arrays
+ * are never shared.
+ *
+ * Budget
+ * ------
+ * The pool never grows. Up to half full every burst is spawned whole;
+ * above that, bursts are scaled down linearly with the remaining room (a
+ * full pool spawns nothing), so a chain of explosions thins out instead of
+ * starving the last ones. Particles not spawned, and requests beyond
+ * MAX_REQUESTS per frame, are counted as dropped.
+ *
+ * Drawing
+ * -------
+ * Particles are small premultiplied squares (size in world units, at least
+ * one pixel) blended src-over straight into an int raster: the
+ * TileRasterizer back buffer, or, with Java2D, a translucent frame sized
+ * layer that is cleared and blitted only inside the bounding box of the
+ * particles drawn.
+ */
+public class ParticleSystem {
+
+    public static final ParticleEmitterDTO EXPLOSION = new ParticleEmitterDTO(
+            60, 15d, 120d, 360d, 0.4d, 1.3d, 2d, 1.6d, 0.6d, 0xFFFFE9A0, 0xFFFF4010);
+    public static final ParticleEmitterDTO THRUST_TRAIL = new ParticleEmitterDTO(
+            180, 60d, 110d, 24d, 0.15d, 0.45d, 1.5d, 2.5d, 1d, 0xFFC8F0FF, 0xFF3070FF);
+    public static final double REFERENCE_SIZE = 20d; // Body size of a whole burst
+
+    private static final int MAX_REQUESTS = 4096; // Per frame
+    private static final int MAX_BURST = 4096;
+    private static final double MAX_DELTA_SECONDS = 0.1d;
+
+    private final int capacity;
+    private final float[] posX;
+    private final float[] posY;
+    private final float[] speedX;
+    private final float[] speedY;
+    private final float[] age;
+    private final float[] life;
+    private final float[] size;
+    private final float[] drag;
+    private final int[] color;
+    private volatile int liveCount = 0;
+
+    private Requests incoming = new Requests();
+    private Requests spawning = new Requests();
+    private volatile long spawned = 0;
+    private volatile long dropped = 0; // Budget, render thread
+    private volatile long requestsDropped = 0; // Queue full, under the lock
+    private long seed = 0x9E3779B97F4A7C15L; // Render thread only
+
+    // Java2D layer and bounding box of its last paint (render thread only)
+    private BufferedImage layer = null;
+    private int[] layerPixels;
+    private int dirtyLeft, dirtyTop, dirtyRight, dirtyBottom;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public ParticleSystem(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Particle capacity must be > 0");
+        }
+
+        this.capacity = capacity;
+        this.posX = new float[capacity];
+        this.posY = new float[capacity];
+        this.speedX = new float[capacity];
+        this.speedY = new float[capacity];
+        this.age = new float[capacity];
+        this.life = new float[capacity];
+        this.size = new float[capacity];
+        this.drag = new float[capacity];
+        this.color = new int[capacity];
+    }
+
+    /**
+     * PUBLICS
+     */
+
+    /**
+     * Requests amount x emitter.count particles (rounded at random, so
+     * fractional amounts emit the right average), spawned at the next
+     * update(). They start within radius of (posX, posY), heading angle
+     * (degrees) +- half the emitter spread, plus a fraction of (speedX,
+     * speedY). Any thread
+     */
+    public synchronized void emit(ParticleEmitterDTO emitter, double posX, double posY, double radius,
+            double speedX, double speedY, double angle, double amount) {
+
+        if (emitter == null) {
+            throw new IllegalArgumentException("Particle emitter not setted");
+        }
+
+        if (amount <= 0) {
+            return; // ==========================================================>
+        }
+
+        if (!this.incoming.add(emitter, posX, posY, radius, speedX, speedY, angle, amount)) {
+            this.requestsDropped += Math.round(emitter.count * amount);
+        }
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Particles not spawned because of the budget, since creation
+     */
+    public long getDropped() {
+        return this.dropped + this.requestsDropped;
+    }
+
+    public int getLiveCount() {
+        return this.liveCount;
+    }
+
+    public long getSpawned() {
+        return this.spawned;
+    }
+
+    /**
+     * Java2D path: draws every live particle through the translucent layer.
+     * Render thread, frame coordinates of the camera. Returns the particles
+     * drawn
+     */
+    public int paint(Graphics2D g, Camera camera) {
+        int width = camera.getFrameWidth();
+        int height = camera.getFrameHeight();
+
+        if (this.layer == null || this.layer.getWidth() != width || this.layer.getHeight() != height) {
+            this.layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            this.layerPixels = ((DataBufferInt) this.layer.getRaster().getDataBuffer()).getData();
+            this.dirtyRight = 0; // Empty
+        }
+
+        // Clear what the last frame drew
+        for (int y = this.dirtyTop; y < this.dirtyBottom && this.dirtyRight > this.dirtyLeft; y++) {
+            Arrays.fill(this.layerPixels, y * width + this.dirtyLeft, y * width + this.dirtyRight, 0);
+        }
+
+        int drawn = this.splat(this.layerPixels, width, height, camera);
+        if (drawn > 0) {
+            g.drawImage(this.layer,
+                    this.dirtyLeft, this.dirtyTop, this.dirtyRight, this.dirtyBottom,
+                    this.dirtyLeft, this.dirtyTop, this.dirtyRight, this.dirtyBottom,
+                    null);
+        }
+
+        return drawn;
+    }
+
+    /**
+     * Software path: blends every live particle into the rasteriser back
+     * buffer (before its sprites are composited). Render thread. Returns the
+     * particles drawn
+     */
+    public int paint(TileRasterizer rasterizer, Camera camera) {
+        BufferedImage target = rasterizer.getImage();
+        this.layer = null; // Recreated clean if Java2D comes back
+
+        return this.splat(rasterizer.getPixels(), target.getWidth(), target.getHeight(), camera);
+    }
+
+    /**
+     * Spawns the pending requests and advances every particle by dtSeconds.
+     * Render thread, once per frame
+     */
+    public void update(double dtSeconds) {
+        Requests requests;
+        synchronized (this) {
+            requests = this.incoming;
+            this.incoming = this.spawning;
+            this.spawning = requests;
+        }
+
+        for (int i = 0; i < requests.count; i++) {
+            this.spawn(requests.emitters[i], requests.posX[i], requests.posY[i], requests.radius[i],
+                    requests.speedX[i], requests.speedY[i], requests.angle[i], requests.amount[i]);
+        }
+        requests.clear();
+
+        float dt = (float) Math.max(0d, Math.min(dtSeconds, MAX_DELTA_SECONDS));
+        float[] posX = this.posX;
+        float[] posY = this.posY;
+        float[] speedX = this.speedX;
+        float[] speedY = this.speedY;
+        float[] age = this.age;
+        float[] life = this.life;
+        float[] drag = this.drag;
+        int count = this.liveCount;
+        int i = 0;
+
+        while (i < count) {
+            float newAge = age[i] + dt;
+
+            if (newAge >= life[i]) {
+                this.moveParticle(--count, i); // Last live one fills the gap
+                continue;
+            }
+
+            float damping = Math.max(0f, 1f - drag[i] * dt);
+            age[i] = newAge;
+            speedX[i] *= damping;
+            speedY[i] *= damping;
+            posX[i] += speedX[i] * dt;
+            posY[i] += speedY[i] * dt;
+            i++;
+        }
+
+        this.liveCount = count;
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void moveParticle(int from, int to) {
+        this.posX[to] = this.posX[from];
+        this.posY[to] = this.posY[from];
+        this.speedX[to] = this.speedX[from];
+        this.speedY[to] = this.speedY[from];
+        this.age[to] = this.age[from];
+        this.life[to] = this.life[from];
+        this.size[to] = this.size[from];
+        this.drag[to] = this.drag[from];
+        this.color[to] = this.color[from];
+    }
+
+    /**
+     * Uniform in [0, 1) (xorshift64*, render thread only)
+     */
+    private double random() {
+        long x = this.seed;
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        this.seed = x;
+
+        return ((x * 0x2545F4914F6CDD1DL) >>> 11) * 0x1.0p-53;
+    }
+
+    private void spawn(ParticleEmitterDTO emitter, double posX, double posY, double radius,
+            double speedX, double speedY, double angle, double amount) {
+
+        int requested = (int) Math.min(MAX_BURST, emitter.count * amount + this.random());
+        int count = this.liveCount;
+        int free = this.capacity - count;
+        int half = this.capacity / 2;
+        int allowed = requested;
+
+        if (count > half) {
+            allowed = (int) ((long) requested * free / (this.capacity - half)); // Thin out
+        }
+        allowed = Math.min(allowed, free);
+        this.dropped += requested - allowed;
+
+        double speedRange = emitter.speedMax - emitter.speedMin;
+        double lifeRange = emitter.lifeMax - emitter.lifeMin;
+        double baseX = speedX * emitter.inheritSpeed;
+        double baseY = speedY * emitter.inheritSpeed;
+
+        for (int n = 0; n < allowed; n++, count++) {
+            double heading = angle + (this.random() - 0.5d) * emitter.spreadDegrees;
+            double cos = FastTrig.cosDeg(heading);
+            double sin = FastTrig.sinDeg(heading);
+            double speed = emitter.speedMin + this.random() * speedRange;
+            double offset = radius * this.random();
+
+            this.posX[count] = (float) (posX + cos * offset);
+            this.posY[count] = (float) (posY + sin * offset);
+            this.speedX[count] = (float) (baseX + cos * speed);
+            this.speedY[count] = (float) (baseY + sin * speed);
+            this.age[count] = 0f;
+            this.life[count] = (float) (emitter.lifeMin + this.random() * lifeRange);
+            this.size[count] = (float) emitter.size;
+            this.drag[count] = (float) emitter.drag;
+            this.color[count] = ParticleSystem.lerpColor(emitter.colorFrom, emitter.colorTo, this.random());
+        }
+
+        this.liveCount = count;
+        this.spawned += allowed;
+    }
+
+    /**
+     * Blends every live particle into pixels (width x height) and records
+     * the bounding box drawn. Returns the particles drawn
+     */
+    private int splat(int[] pixels, int width, int height, Camera camera) {
+        double left = camera.getLeft();
+        double top = camera.getTop();
+        float zoom = (float) camera.getZoom();
+        int minX = width, minY = height, maxX = 0, maxY = 0;
+        int count = this.liveCount;
+        int drawn = 0;
+
+        for (int i = 0; i < count; i++) {
+            int side = Math.max(1, (int) (this.size[i] * zoom + 0.5f));
+            int x0 = (int) ((this.posX[i] - left) * zoom) - (side >> 1);
+            int y0 = (int) ((this.posY[i] - top) * zoom) - (side >> 1);
+            int x1 = Math.min(x0 + side, width);
+            int y1 = Math.min(y0 + side, height);
+            x0 = Math.max(x0, 0);
+            y0 = Math.max(y0, 0);
+
+            if (x0 >= x1 || y0 >= y1) {
+                continue; // Off screen
+            }
+
+            // Base alpha faded by age, then premultiplied
+            int argb = this.color[i];
+            int alpha = (int) ((argb >>> 24) * (1f - this.age[i] / this.life[i]));
+            if (alpha <= 0) {
+                continue;
+            }
+
+            int rb = ((argb & 0x00FF00FF) * alpha >>> 8) & 0x00FF00FF;
+            int g = ((argb & 0x0000FF00) * alpha >>> 8) & 0x0000FF00;
+            int src = (alpha << 24) | rb | g;
+            int ia = 255 - alpha;
+
+            for (int y = y0; y < y1; y++) {
+                int di = y * width + x0;
+
+                for (int x = x0; x < x1; x++, di++) {
+                    // dst * (255 - alpha) / 255, R|B and A|G lanes at once
+                    int d = pixels[di];
+                    int drb = (d & 0x00FF00FF) * ia;
+                    int dag = ((d >>> 8) & 0x00FF00FF) * ia;
+                    drb = ((drb + 0x00800080 + ((drb >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+                    dag = ((dag + 0x00800080 + ((dag >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+
+                    pixels[di] = src + (dag << 8) + drb;
+                }
+            }
+
+            minX = Math.min(minX, x0);
+            minY = Math.min(minY, y0);
+            maxX = Math.max(maxX, x1);
+            maxY = Math.max(maxY, y1);
+            drawn++;
+        }
+
+        this.dirtyLeft = minX;
+        this.dirtyTop = minY;
+        this.dirtyRight = (drawn > 0) ? maxX : 0;
+        this.dirtyBottom = maxY;
+
+        return drawn;
+    }
+
+    private static int lerpColor(int from, int to, double t) {
+        int a = ParticleSystem.lerpChannel(from >>> 24, to >>> 24, t);
+        int r = ParticleSystem.lerpChannel((from >> 16) & 0xFF, (to >> 16) & 0xFF, t);
+        int g = ParticleSystem.lerpChannel((from >> 8) & 0xFF, (to >> 8) & 0xFF, t);
+        int b = ParticleSystem.lerpChannel(from & 0xFF, to & 0xFF, t);
+
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private static int lerpChannel(int from, int to, double t) {
+        return (int) (from + (to - from) * t + 0.5d);
+    }
+
+    /**
+     * Emission requests of one frame (parallel arrays)
+     */
+    private static class Requests {
+
+        final ParticleEmitterDTO[] emitters = new ParticleEmitterDTO[MAX_REQUESTS];
+        final double[] posX = new double[MAX_REQUESTS];
+        final double[] posY = new double[MAX_REQUESTS];
+        final double[] radius = new double[MAX_REQUESTS];
+        final double[] speedX = new double[MAX_REQUESTS];
+        final double[] speedY = new double[MAX_REQUESTS];
+        final double[] angle = new double[MAX_REQUESTS];
+        final double[] amount = new double[MAX_REQUESTS];
+        int count = 0;
+
+        boolean add(ParticleEmitterDTO emitter, double posX, double posY, double radius,
+                double speedX, double speedY, double angle, double amount) {
+
+            if (this.count == MAX_REQUESTS) {
+                return false; // =========================================== Full >>
+            }
+
+            int i = this.count++;
+            this.emitters[i] = emitter;
+            this.posX[i] = posX;
+            this.posY[i] = posY;
+            this.radius[i] = radius;
+            this.speedX[i] = speedX;
+            this.speedY[i] = speedY;
+            this.angle[i] = angle;
+            this.amount[i] = amount;
+
+            return true;
+        }
+
+        void clear() {
+            Arrays.fill(this.emitters, 0, this.count, null);
+            this.count = 0;
+        }
+    }
+}
@@ -1,28 +1,56 @@
 package view.renderables;
 
 import java.awt.Graphics2D;
-import java.awt.geom.AffineTransform;
-import java.awt.image.BufferedImage;
 
 import images.ImageCache;
+import images.Sprite;
+import view.Camera;
 
+/**
+ * Animated assets (sprite sheets) pick their frame from the frame clock
+ * passed to update(): frame = (time / frame period + phase) % frames, with
+ * a per entity phase so a crowd of identical bodies does not animate in
+ * lockstep. Frame count and period are read from the ImageCache once, at
+ * construction; still images always use frame 0.
+ */
 public class Renderable {
 
     private final String entityId;
-    private final String assetId;
+    private final int assetIdx; // Interned in the ImageCache
     private final ImageCache cache;
+    private final int frameCount; // Of the own asset
+    private final long framePeriodNanos; // 0: still image
+    private final int framePhase;
 
     private long lastFrameSeen;
     private RenderDTO renderableValues = null;
-    private BufferedImage image = null;
+    private Sprite sprite = null;
+    private boolean spriteIsPlaceholder = false; // Exact sprite still rasterising
+    private int spriteSize = -1; // On-screen size the sprite was resolved for
+    private int spriteAngle = 0;
+    private int spriteAssetIdx = -1;
+    private int spriteFrame = 0;
+    private int screenX;
+    private int screenY;
+
+    // Fx modifiers for the next update() (set by the FxScheduler, then reset)
+    private double fxRotation = 0;
+    private double fxScale = 1d;
+    private int fxAssetIdx = -1; // -1: own asset
+    private int overprintAssetIdx = -1; // -1: no overprint
+    private double overprintSize;
+    private double overprintRotation;
+    private Sprite overprintSprite = null;
 
     public Renderable(RenderDTO renderInfo, String assetId, ImageCache cache, long currentFrame) {
         this.entityId = renderInfo.entityId;
-        this.assetId = assetId;
+        this.assetIdx = cache.getAssetIndex(assetId);
         this.lastFrameSeen = currentFrame;
-        this.renderableValues = renderInfo;
         this.cache = cache;
-        this.updateImageFromCache(this.assetId, (int) renderInfo.size, renderInfo.angle);
+        this.frameCount = cache.getFrameCount(this.assetIdx);
+        this.framePeriodNanos = Renderable.framePeriodNanos(cache.getFramesPerSecond(this.assetIdx));
+        this.framePhase = Renderable.framePhase(this.entityId, this.frameCount);
+        this.update(renderInfo, currentFrame);
     }
 
     public Renderable(String entityId, String assetId, ImageCache cache, long currentFrame) {
@@ -37,9 +65,12 @@ public class Renderable {
         }
 
         this.entityId = entityId;
-        this.assetId = assetId;
+        this.assetIdx = cache.getAssetIndex(assetId);
         this.cache = cache;
         this.lastFrameSeen = currentFrame;
+        this.frameCount = cache.getFrameCount(this.assetIdx);
+        this.framePeriodNanos = Renderable.framePeriodNanos(cache.getFramesPerSecond(this.assetIdx));
+        this.framePhase = Renderable.framePhase(entityId, this.frameCount);
     }
 
     /**
@@ -53,52 +84,226 @@ public class Renderable {
         return this.renderableValues;
     }
 
-    public BufferedImage getImage() {
-        return this.image;
+    /**
+     * Rotation (degrees) added to the next update(). Fx only
+     */
+    public void addFxRotation(double degrees) {
+        this.fxRotation += degrees;
+    }
+
+    /**
+     * Scale factor applied to the next update(). Fx only
+     */
+    public void addFxScale(double scale) {
+        this.fxScale *= scale;
+    }
+
+    public int getScreenX() {
+        return this.screenX;
     }
 
+    public int getScreenY() {
+        return this.screenY;
+    }
+
+    public Sprite getSprite() {
+        return this.sprite;
+    }
+
+    /**
+     * Asset (ImageCache index) drawn instead of the own one at the next
+     * update(). Fx only
+     */
+    public void setFxAsset(int assetIdx) {
+        this.fxAssetIdx = assetIdx;
+    }
+
+    /**
+     * Extra asset drawn centered over this one at the next update(), sized
+     * relativeSize times it. Fx only
+     */
+    public void setFxOverprint(int assetIdx, double relativeSize, double rotation) {
+        this.overprintAssetIdx = assetIdx;
+        this.overprintSize = relativeSize;
+        this.overprintRotation = rotation;
+    }
+
+    /**
+     * Update without camera: world coordinates are screen coordinates
+     */
     public void update(RenderDTO renderInfo, long currentFrame) {
-        this.updateImageFromCache(this.assetId, (int) renderInfo.size, renderInfo.angle);
+        this.updateWithFx(renderInfo.size, renderInfo.angle, System.nanoTime());
+        this.screenX = (int) renderInfo.posX;
+        this.screenY = (int) renderInfo.posY;
+        this.lastFrameSeen = currentFrame;
+        this.renderableValues = renderInfo;
+    }
+
+    /**
+     * Update for a visible renderable: resolves the sprite at its on-screen
+     * (zoomed) size, so painting stays a plain unscaled blit
+     */
+    public void update(RenderDTO renderInfo, long currentFrame, Camera camera) {
+        this.update(renderInfo, currentFrame, camera, System.nanoTime());
+    }
+
+    /**
+     * Same, with the frame clock (ns) animated assets select their frame by
+     */
+    public void update(RenderDTO renderInfo, long currentFrame, Camera camera, long frameNanos) {
+        this.updateWithFx(camera.toScreenSize(renderInfo.size), renderInfo.angle, frameNanos);
+        this.screenX = (int) camera.toScreenX(renderInfo.posX);
+        this.screenY = (int) camera.toScreenY(renderInfo.posY);
+        this.lastFrameSeen = currentFrame;
+        this.renderableValues = renderInfo;
+    }
+
+    /**
+     * Update for a culled renderable: keeps it alive and its values current,
+     * without touching the image cache
+     */
+    public void touch(RenderDTO renderInfo, long currentFrame) {
+        this.resetFx();
         this.lastFrameSeen = currentFrame;
         this.renderableValues = renderInfo;
     }
 
     public void paint(Graphics2D g) {
 
-        if (this.image == null) {
+        Sprite sprite = this.sprite;
+        if (sprite == null) {
             return;
         }
 
-        AffineTransform defaultTransform = g.getTransform();
+        // Sprite comes pre-rotated (and padded) from the cache: plain blit
+        sprite.draw(g, this.screenX, this.screenY);
 
-        AffineTransform mainRotation = AffineTransform.getRotateInstance(
-                Math.toRadians(this.renderableValues.angle),
-                this.renderableValues.posX, this.renderableValues.posY);
+        Sprite overprint = this.overprintSprite;
+        if (overprint != null) {
+            overprint.draw(g, this.screenX, this.screenY);
+        }
+    }
+
+    /**
+     * Queues the sprite in the software rasteriser instead of drawing it
+     */
+    public void paint(TileRasterizer rasterizer) {
+        Sprite sprite = this.sprite;
+        if (sprite == null) {
+            return;
+        }
 
-        g.setTransform(mainRotation);
+        rasterizer.add(sprite, this.screenX, this.screenY);
 
-        g.drawImage(
-                this.image,
-                (int) (this.renderableValues.posX - this.renderableValues.size / 2),
-                (int) (this.renderableValues.posY - this.renderableValues.size / 2),
-                null);
-        g.setTransform(defaultTransform);
+        Sprite overprint = this.overprintSprite;
+        if (overprint != null) {
+            rasterizer.add(overprint, this.screenX, this.screenY);
+        }
     }
 
     public void updateImageFromCache(RenderDTO entityInfo) {
-        this.updateImageFromCache(this.assetId, (int) entityInfo.size, entityInfo.angle);
+        this.updateImageFromCache(this.assetIdx, 0, Math.max(1, (int) entityInfo.size), entityInfo.angle);
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void resetFx() {
+        this.fxRotation = 0;
+        this.fxScale = 1d;
+        this.fxAssetIdx = -1;
+        this.overprintAssetIdx = -1;
+    }
+
+    /**
+     * Resolves the sprite (and the overprint one) with this frame's Fx
+     * modifiers, then clears them
+     */
+    private void updateWithFx(double size, double angle, long frameNanos) {
+        int fxSize = Math.max(1, (int) (size * this.fxScale)); // Zoomed out: never 0 px
+        double fxAngle = angle + this.fxRotation;
+        int assetIdx;
+        int frame;
+
+        if (this.fxAssetIdx >= 0) {
+            // Fx asset: its own sheet, if any, on the same clock
+            assetIdx = this.fxAssetIdx;
+            int fxFrames = this.cache.getFrameCount(assetIdx);
+            frame = (fxFrames == 1) ? 0
+                    : Renderable.frameAt(frameNanos,
+                            Renderable.framePeriodNanos(this.cache.getFramesPerSecond(assetIdx)),
+                            this.framePhase, fxFrames);
+        } else {
+            assetIdx = this.assetIdx;
+            frame = (this.frameCount == 1) ? 0
+                    : Renderable.frameAt(frameNanos, this.framePeriodNanos, this.framePhase, this.frameCount);
+        }
+
+        this.updateImageFromCache(assetIdx, frame, fxSize, fxAngle);
+
+        if (this.overprintAssetIdx >= 0) {
+            int overprintSize = Math.max(1, (int) (fxSize * this.overprintSize));
+            int overprintAngle = Renderable.normalizedAngle(fxAngle + this.overprintRotation);
+            Sprite overprint = this.cache.getSprite(this.overprintAssetIdx, overprintSize, overprintAngle);
+            if (overprint == null) {
+                overprint = this.cache.getPlaceholder(this.overprintAssetIdx, overprintSize, overprintAngle);
+            }
+            this.overprintSprite = overprint;
+        } else {
+            this.overprintSprite = null;
+        }
+
+        this.resetFx();
+    }
+
+    private static int frameAt(long frameNanos, long framePeriodNanos, int phase, int frameCount) {
+        if (framePeriodNanos <= 0) {
+            return 0; // =========================================================>
+        }
+
+        return (int) (((frameNanos / framePeriodNanos) + phase) % frameCount);
     }
 
-    private boolean updateImageFromCache(String assetId, int size, double angle) {
-        boolean imageNeedsUpdate = this.image == null
-                || this.renderableValues == null
-                || !this.assetId.equals(assetId)
-                || this.renderableValues.size != size
-                || (int) this.renderableValues.angle != (int) angle;
+    private static int framePhase(String entityId, int frameCount) {
+        return (entityId.hashCode() & 0x7FFFFFFF) % frameCount;
+    }
+
+    private static long framePeriodNanos(double framesPerSecond) {
+        return (framesPerSecond <= 0) ? 0 : (long) (1_000_000_000d / framesPerSecond);
+    }
+
+    private static int normalizedAngle(double angle) {
+        return ((int) angle % 360 + 360) % 360;
+    }
+
+    private boolean updateImageFromCache(int assetIdx, int frame, int size, double angle) {
+        boolean imageNeedsUpdate = this.sprite == null
+                || this.spriteIsPlaceholder
+                || this.sprite.isEvicted() // Ask again: do not keep its page alive
+                || this.spriteAssetIdx != assetIdx
+                || this.spriteFrame != frame
+                || this.spriteSize != size
+                || this.spriteAngle != (int) angle;
 
         if (imageNeedsUpdate) {
-            int normalizedAngle = ((int) angle % 360 + 360) % 360;
-            this.image = this.cache.getImage(normalizedAngle, assetId, size);
+            int normalizedAngle = Renderable.normalizedAngle(angle);
+            Sprite exact = this.cache.getSprite(assetIdx, frame, size, normalizedAngle);
+
+            if (exact != null) {
+                this.sprite = exact;
+                this.spriteIsPlaceholder = false;
+            } else {
+                // Not rasterised yet: nearest cached sprite, else keep the last one
+                Sprite placeholder = this.cache.getPlaceholder(assetIdx, frame, size, normalizedAngle);
+                if (placeholder != null) {
+                    this.sprite = placeholder;
+                }
+                this.spriteIsPlaceholder = true;
+            }
+            this.spriteAssetIdx = assetIdx;
+            this.spriteFrame = frame;
+            this.spriteSize = size;
+            this.spriteAngle = (int) angle;
 
             return true; // ====
         }
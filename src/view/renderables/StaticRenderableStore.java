@@ -0,0 +1,378 @@
+package view.renderables;
+
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+import images.ImageCache;
+import images.Sprite;
+import view.Camera;
+
+/**
+ * StaticRenderableStore
+ * ---------------------
+ *
+ * Compact renderable list for static bodies and decorators.
+ *
+ * Static visuals never move, so instead of one Renderable (plus its RenderDTO
+ * and a map entry) per item, the Renderer keeps them in parallel arrays:
+ * position, angle and size as floats, the asset as its interned ImageCache
+ * index (plus the shared asset id string) and the resolved sprite as a
+ * reference into the ImageCache. No object is allocated per item.
+ *
+ * Image cache
+ * -----------
+ * A store may be created before its ImageCache exists (the Renderer creates
+ * its cache in setImages()). Items added meanwhile are kept but not drawn;
+ * setCache() resolves them against the new cache (and again if the cache
+ * is replaced), so no item is lost whatever the call order.
+ *
+ * Threading
+ * ---------
+ * - add() / clear() / setCache() are called from non-render threads
+ * (model -> controller -> view) and are synchronized among themselves.
+ * - paint() runs on the render thread without locking. It takes the current
+ * Columns reference and its volatile count, so it always iterates a
+ * consistent snapshot (same publication scheme as StaticBodyStore).
+ * - Sprites are resolved lazily inside paint(). Until the cache has
+ * rasterised a sprite, the nearest cached placeholder is drawn and the slot
+ * is asked again on the next paint(); paint() returns false in that case.
+ * - version changes on every add() / clear(), so the Renderer can keep the
+ * whole store pre-composited in a cached layer and repaint it only when
+ * the version moves.
+ * - A full paint (paint(g), paint(g, scale)) records the items it drew
+ * without their exact sprite (getPendingCount()). hasResolvedPending() asks
+ * the cache again for those items only, so the owner of a cached layer can
+ * poll it cheaply and repaint only when something new can be drawn.
+ */
+public class StaticRenderableStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private ImageCache cache; // Null until setCache(): items kept, not drawn
+    private volatile Columns columns;
+    private volatile long version = 0;
+
+    // Items the last full paint drew without their exact sprite (render thread only)
+    private Columns pendingColumns = null;
+    private double pendingScale = 1d;
+    private int[] pending = new int[16];
+    private int pendingCount = 0;
+
+    /**
+     * CONSTRUCTORS
+     */
+    public StaticRenderableStore() {
+        this.columns = new Columns(INITIAL_CAPACITY, null);
+    }
+
+    public StaticRenderableStore(ImageCache cache, int initialCapacity) {
+        if (cache == null) {
+            throw new IllegalArgumentException("Image cache not set");
+        }
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be > 0");
+        }
+
+        this.cache = cache;
+        this.columns = new Columns(initialCapacity, cache);
+    }
+
+    /**
+     * PUBLICS
+     */
+    public synchronized int add(String assetId, double size, double posX, double posY, double angle) {
+        int assetIdx = (this.cache == null)
+                ? -1 // Resolved by setCache()
+                : this.cache.getAssetIndex(assetId); // Validates assetId
+
+        Columns cols = this.columns;
+        int index = cols.count;
+
+        if (index == cols.size.length) {
+            cols = cols.grow(cols.size.length * 2);
+        }
+
+        cols.assetIdxs[index] = assetIdx;
+        cols.assetIds[index] = assetId;
+        cols.size[index] = (float) size;
+        cols.posX[index] = (float) posX;
+        cols.posY[index] = (float) posY;
+        cols.angle[index] = (float) angle;
+        cols.count = index + 1; // Publish slot
+
+        this.columns = cols; // Atomic swap (only changes when grown)
+        this.version++;
+
+        return index;
+    }
+
+    public synchronized void clear() {
+        this.columns = new Columns(INITIAL_CAPACITY, this.cache);
+        this.version++;
+    }
+
+    /**
+     * Items the last full paint drew with a placeholder (or not at all)
+     */
+    public int getPendingCount() {
+        return this.pendingCount;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * True if the cache can now provide the exact sprite of some item the
+     * last full paint missed. Only those items are looked up. Render thread
+     */
+    public boolean hasResolvedPending() {
+        Columns cols = this.pendingColumns;
+        if (cols == null || cols.cache == null) {
+            return false; // ==================================================>
+        }
+
+        for (int i = 0; i < this.pendingCount; i++) {
+            if (this.spriteOf(cols, this.pending[i], this.pendingScale) != null) {
+                return true; // ==============================================>
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Paints every item at its world position. Returns false if some item is
+     * still missing its exact sprite (not drawn or drawn with a stand-in);
+     * those items are kept as pending (getPendingCount())
+     */
+    public boolean paint(Graphics2D g) {
+        return this.paint(g, 1d);
+    }
+
+    /**
+     * Paints every item at its world position times scale: the whole world
+     * at that zoom. Sprites are asked to the cache at the scaled size, so
+     * they are as sharp as at scale 1 (no bitmap scaling). Same return value
+     * as paint(g)
+     */
+    public boolean paint(Graphics2D g, double scale) {
+        Columns cols = this.columns;
+        int count = cols.count;
+        boolean complete = true;
+
+        this.pendingColumns = cols;
+        this.pendingScale = scale;
+        this.pendingCount = 0;
+
+        if (cols.cache == null) {
+            return count == 0; // ============================ No cache yet ==>
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (!this.paintItem(g, cols, i, scale,
+                    (int) Math.round(cols.posX[i] * scale), (int) Math.round(cols.posY[i] * scale))) {
+                complete = false;
+                this.addPending(i);
+            }
+        }
+
+        return complete;
+    }
+
+    /**
+     * Paints the items visible through camera, at screen coordinates and
+     * camera zoom (sprites asked at the zoomed size). Same return value as
+     * paint(g), nothing is kept as pending
+     */
+    public boolean paint(Graphics2D g, Camera camera) {
+        Columns cols = this.columns;
+        int count = cols.count;
+        boolean complete = true;
+        double zoom = camera.getZoom();
+
+        if (cols.cache == null) {
+            return count == 0; // ============================ No cache yet ==>
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (!camera.isVisible(cols.posX[i], cols.posY[i], cols.size[i])) {
+                continue;
+            }
+
+            complete &= this.paintItem(g, cols, i, zoom,
+                    (int) camera.toScreenX(cols.posX[i]), (int) camera.toScreenY(cols.posY[i]));
+        }
+
+        return complete;
+    }
+
+    /**
+     * Paints, at their own coordinates, only the items overlapping the
+     * given rectangle (e.g. one tile, with g already translated to it).
+     * Same return value as paint(g)
+     */
+    public boolean paint(Graphics2D g, double left, double top, double width, double height) {
+        Columns cols = this.columns;
+        int count = cols.count;
+        boolean complete = true;
+        double right = left + width;
+
+        if (cols.cache == null) {
+            return count == 0; // ============================ No cache yet ==>
+        }
+        double bottom = top + height;
+
+        for (int i = 0; i < count; i++) {
+            double half = cols.size[i] * 0.75d; // Padded (rotated) sprite half side
+            if (cols.posX[i] + half < left || cols.posX[i] - half > right
+                    || cols.posY[i] + half < top || cols.posY[i] - half > bottom) {
+                continue;
+            }
+
+            complete &= this.paintItem(g, cols, i, 1d, (int) cols.posX[i], (int) cols.posY[i]);
+        }
+
+        return complete;
+    }
+
+    /**
+     * Binds the store to cache: every item is resolved against it (sprites
+     * are asked again) and drawn from now on
+     */
+    public synchronized void setCache(ImageCache cache) {
+        if (cache == null) {
+            throw new IllegalArgumentException("Image cache not set");
+        }
+
+        Columns old = this.columns;
+        Columns cols = new Columns(old.size.length, cache);
+        int n = old.count;
+
+        System.arraycopy(old.assetIds, 0, cols.assetIds, 0, n);
+        System.arraycopy(old.size, 0, cols.size, 0, n);
+        System.arraycopy(old.posX, 0, cols.posX, 0, n);
+        System.arraycopy(old.posY, 0, cols.posY, 0, n);
+        System.arraycopy(old.angle, 0, cols.angle, 0, n);
+        for (int i = 0; i < n; i++) {
+            cols.assetIdxs[i] = cache.getAssetIndex(cols.assetIds[i]);
+        }
+        cols.count = n;
+
+        this.cache = cache;
+        this.columns = cols; // Atomic swap
+        this.version++;
+    }
+
+    public int size() {
+        return this.columns.count;
+    }
+
+    /**
+     * PRIVATE
+     */
+    /**
+     * Draws item i centered on (x, y) at scale. Returns false when its exact
+     * sprite is not ready and a stand-in was drawn (a near cached sprite, or
+     * the unscaled one stretched) or nothing at all
+     */
+    private boolean paintItem(Graphics2D g, Columns cols, int i, double scale, int x, int y) {
+        Sprite sprite = this.spriteOf(cols, i, scale);
+        if (sprite != null) {
+            // Sprite comes pre-rotated (and padded) from the cache: plain blit
+            sprite.draw(g, x, y);
+            return true; // ====================================================>
+        }
+
+        sprite = cols.cache.getPlaceholder(cols.assetIdxs[i], this.scaledSize(cols, i, scale),
+                this.normalizedAngle(cols, i));
+        if (sprite != null) {
+            sprite.draw(g, x, y);
+        } else if (scale != 1d && (sprite = this.spriteOf(cols, i, 1d)) != null) {
+            sprite.draw(g, x, y, scale); // Blurred until the scaled one lands
+        }
+
+        return false;
+    }
+
+    private int scaledSize(Columns cols, int i, double scale) {
+        if (scale == 1d) {
+            return Math.max(1, (int) cols.size[i]); // =======================>
+        }
+
+        return Math.max(1, (int) Math.round(cols.size[i] * scale));
+    }
+
+    /**
+     * Exact sprite of item i at scale. The unscaled one is resolved once and
+     * kept until evicted; scaled ones are asked every time. Null while the
+     * cache is still rasterising it
+     */
+    private Sprite spriteOf(Columns cols, int i, double scale) {
+        if (scale != 1d) {
+            return cols.cache.getSprite(cols.assetIdxs[i], this.scaledSize(cols, i, scale),
+                    this.normalizedAngle(cols, i)); // ==========================>
+        }
+
+        Sprite sprite = cols.sprites[i];
+
+        if (sprite == null || sprite.isEvicted()) {
+            sprite = cols.cache.getSprite(cols.assetIdxs[i], this.scaledSize(cols, i, 1d),
+                    this.normalizedAngle(cols, i));
+            cols.sprites[i] = sprite;
+        }
+
+        return sprite;
+    }
+
+    private void addPending(int i) {
+        if (this.pendingCount == this.pending.length) {
+            this.pending = Arrays.copyOf(this.pending, this.pendingCount * 2);
+        }
+        this.pending[this.pendingCount++] = i;
+    }
+
+    private int normalizedAngle(Columns cols, int i) {
+        return ((int) cols.angle[i] % 360 + 360) % 360;
+    }
+
+    private static final class Columns {
+
+        final ImageCache cache; // The assetIdxs belong to it
+        final int[] assetIdxs;
+        final String[] assetIds;
+        final Sprite[] sprites;
+        final float[] size;
+        final float[] posX;
+        final float[] posY;
+        final float[] angle;
+        volatile int count = 0;
+
+        Columns(int capacity, ImageCache cache) {
+            this.cache = cache;
+            this.assetIdxs = new int[capacity];
+            this.assetIds = new String[capacity];
+            this.sprites = new Sprite[capacity];
+            this.size = new float[capacity];
+            this.posX = new float[capacity];
+            this.posY = new float[capacity];
+            this.angle = new float[capacity];
+        }
+
+        Columns grow(int capacity) {
+            Columns grown = new Columns(capacity, this.cache);
+            int n = this.count;
+
+            System.arraycopy(this.assetIdxs, 0, grown.assetIdxs, 0, n);
+            System.arraycopy(this.assetIds, 0, grown.assetIds, 0, n);
+            System.arraycopy(this.sprites, 0, grown.sprites, 0, n);
+            System.arraycopy(this.size, 0, grown.size, 0, n);
+            System.arraycopy(this.posX, 0, grown.posX, 0, n);
+            System.arraycopy(this.posY, 0, grown.posY, 0, n);
+            System.arraycopy(this.angle, 0, grown.angle, 0, n);
+            grown.count = n;
+
+            return grown;
+        }
+    }
+}
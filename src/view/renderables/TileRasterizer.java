@@ -0,0 +1,313 @@
+package view.renderables;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import images.Sprite;
+
+/**
+ * TileRasterizer
+ * --------------
+ *
+ * Software sprite compositor: blends pre-rotated, premultiplied ARGB
+ * sprites straight into the int[] raster of a BufferedImage back buffer,
+ * in parallel, instead of going through the (single threaded per surface)
+ * Graphics2D pipeline. Works headless: it only needs a BufferedImage.
+ *
+ * Per frame (render thread):
+ * 1) begin(width, height) returns a Graphics2D on the back buffer, for the
+ * content still drawn by Java2D (background, parallax, static layer).
+ * 2) add(sprite, centerX, centerY) queues a sprite. Its screen rectangle is
+ * clipped and binned into every TILE_SIZE x TILE_SIZE screen tile it
+ * overlaps; bins keep insertion order, so draw order is preserved.
+ * 3) composite() lets the worker pool (plus the calling thread) take tiles
+ * from a shared counter; each tile blends only the sprites of its own bin,
+ * so workers never write the same pixel and need no locking.
+ * 4) getImage() is presented with a single drawImage.
+ *
+ * Blending is src-over with premultiplied sources onto an opaque target:
+ * dst = src + dst * (255 - srcAlpha) / 255, two channels per multiply.
+ * Fully transparent and fully opaque source pixels skip the multiply.
+ *
+ * Sprite pixels come from Sprite.getPremultipliedPixels() (copied once per
+ * sprite, on the render thread, before the workers run).
+ */
+public class TileRasterizer {
+
+    public static final int TILE_SIZE = 64;
+    private static final int INITIAL_COMMANDS = 1024;
+    private static final int INITIAL_BIN_SIZE = 16;
+
+    private final int threads;
+    private final ExecutorService pool; // Null when single threaded
+    private final List<Callable<Void>> workers = new ArrayList<>();
+    private final AtomicInteger nextTile = new AtomicInteger();
+
+    private BufferedImage target = null;
+    private int[] pixels;
+    private int width;
+    private int height;
+    private int cols;
+    private int rows;
+
+    // Queued sprites (parallel arrays)
+    private int[][] cmdPixels = new int[INITIAL_COMMANDS][];
+    private int[] cmdX = new int[INITIAL_COMMANDS];
+    private int[] cmdY = new int[INITIAL_COMMANDS];
+    private int[] cmdWidth = new int[INITIAL_COMMANDS];
+    private int[] cmdHeight = new int[INITIAL_COMMANDS];
+    private int cmdCount = 0;
+
+    // Per tile command indexes
+    private int[][] bins = new int[0][];
+    private int[] binCounts = new int[0];
+
+    /**
+     * CONSTRUCTORS
+     */
+    public TileRasterizer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public TileRasterizer(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Rasterizer threads must be > 0");
+        }
+
+        this.threads = threads;
+
+        if (threads == 1) {
+            this.pool = null;
+        } else {
+            AtomicInteger ids = new AtomicInteger();
+            this.pool = Executors.newFixedThreadPool(threads - 1, r -> {
+                Thread t = new Thread(r, "Rasterizer " + ids.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+            for (int i = 0; i < threads - 1; i++) {
+                this.workers.add(() -> {
+                    this.rasterTiles();
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * PUBLICS
+     */
+    public void add(Sprite sprite, int centerX, int centerY) {
+        int x = centerX - sprite.width / 2;
+        int y = centerY - sprite.height / 2;
+
+        if (x >= this.width || y >= this.height || x + sprite.width <= 0 || y + sprite.height <= 0) {
+            return; // ========================================= Off screen >>
+        }
+
+        if (this.cmdCount == this.cmdX.length) {
+            int capacity = this.cmdCount * 2;
+            this.cmdPixels = Arrays.copyOf(this.cmdPixels, capacity);
+            this.cmdX = Arrays.copyOf(this.cmdX, capacity);
+            this.cmdY = Arrays.copyOf(this.cmdY, capacity);
+            this.cmdWidth = Arrays.copyOf(this.cmdWidth, capacity);
+            this.cmdHeight = Arrays.copyOf(this.cmdHeight, capacity);
+        }
+
+        int cmd = this.cmdCount++;
+        this.cmdPixels[cmd] = sprite.getPremultipliedPixels();
+        this.cmdX[cmd] = x;
+        this.cmdY[cmd] = y;
+        this.cmdWidth[cmd] = sprite.width;
+        this.cmdHeight[cmd] = sprite.height;
+
+        int firstCol = Math.max(0, x) / TILE_SIZE;
+        int firstRow = Math.max(0, y) / TILE_SIZE;
+        int lastCol = Math.min(this.width - 1, x + sprite.width - 1) / TILE_SIZE;
+        int lastRow = Math.min(this.height - 1, y + sprite.height - 1) / TILE_SIZE;
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int tile = row * this.cols + col;
+                int[] bin = this.bins[tile];
+
+                if (this.binCounts[tile] == bin.length) {
+                    bin = Arrays.copyOf(bin, bin.length * 2);
+                    this.bins[tile] = bin;
+                }
+                bin[this.binCounts[tile]++] = cmd;
+            }
+        }
+    }
+
+    /**
+     * Starts a frame of the given size. The returned Graphics2D draws into
+     * the back buffer (dispose it before composite())
+     */
+    public Graphics2D begin(int width, int height) {
+        if (this.target == null || this.width != width || this.height != height) {
+            // Opaque int raster, written directly by the workers
+            this.target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            this.pixels = ((DataBufferInt) this.target.getRaster().getDataBuffer()).getData();
+            this.width = width;
+            this.height = height;
+            this.cols = (width + TILE_SIZE - 1) / TILE_SIZE;
+            this.rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+
+            this.bins = new int[this.cols * this.rows][];
+            for (int i = 0; i < this.bins.length; i++) {
+                this.bins[i] = new int[INITIAL_BIN_SIZE];
+            }
+            this.binCounts = new int[this.bins.length];
+        }
+
+        Arrays.fill(this.binCounts, 0);
+        Arrays.fill(this.cmdPixels, 0, this.cmdCount, null); // Let evicted sprites go
+        this.cmdCount = 0;
+
+        return this.target.createGraphics();
+    }
+
+    /**
+     * Blends every queued sprite. Blocks until all tiles are done. An
+     * interrupt does not cut the wait short (tiles are all taken by then,
+     * workers only finish theirs): the flag is restored once no worker can
+     * write the buffer any more, never while one still does
+     */
+    public void composite() {
+        this.nextTile.set(0);
+
+        if (this.pool == null || this.cmdCount == 0) {
+            this.rasterTiles();
+            return; // ==========================================================>
+        }
+
+        List<Future<Void>> pending = new ArrayList<>(this.workers.size());
+        for (Callable<Void> worker : this.workers) {
+            pending.add(this.pool.submit(worker));
+        }
+
+        this.rasterTiles(); // The render thread works too
+
+        boolean interrupted = false;
+        for (Future<Void> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true; // Keep waiting: the worker is still writing
+                } catch (ExecutionException ex) {
+                    System.err.println("TileRasterizer: worker failed: " + ex.getCause());
+                    break;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public BufferedImage getImage() {
+        return this.target;
+    }
+
+    /**
+     * Raw back buffer (getImage() pixels, row major), for batched writes
+     * that bypass the sprite queue (particles). Valid until the next begin()
+     */
+    public int[] getPixels() {
+        return this.pixels;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public void shutdown() {
+        if (this.pool != null) {
+            this.pool.shutdownNow();
+        }
+    }
+
+    /**
+     * PRIVATES
+     */
+    private void rasterTiles() {
+        int tiles = this.cols * this.rows;
+        int tile;
+
+        while ((tile = this.nextTile.getAndIncrement()) < tiles) {
+            this.rasterTile(tile);
+        }
+    }
+
+    private void rasterTile(int tile) {
+        int count = this.binCounts[tile];
+        if (count == 0) {
+            return; // ==========================================================>
+        }
+
+        int[] bin = this.bins[tile];
+        int[] dst = this.pixels;
+        int stride = this.width;
+        int tileLeft = (tile % this.cols) * TILE_SIZE;
+        int tileTop = (tile / this.cols) * TILE_SIZE;
+        int tileRight = Math.min(tileLeft + TILE_SIZE, this.width);
+        int tileBottom = Math.min(tileTop + TILE_SIZE, this.height);
+
+        for (int i = 0; i < count; i++) {
+            int cmd = bin[i];
+            int[] src = this.cmdPixels[cmd];
+            int x = this.cmdX[cmd];
+            int y = this.cmdY[cmd];
+            int w = this.cmdWidth[cmd];
+
+            // Sprite rectangle clipped to this tile
+            int x0 = Math.max(x, tileLeft);
+            int y0 = Math.max(y, tileTop);
+            int x1 = Math.min(x + w, tileRight);
+            int y1 = Math.min(y + this.cmdHeight[cmd], tileBottom);
+
+            for (int py = y0; py < y1; py++) {
+                int si = (py - y) * w + (x0 - x);
+                int di = py * stride + x0;
+
+                for (int px = x0; px < x1; px++, si++, di++) {
+                    int s = src[si];
+                    int sa = s >>> 24;
+
+                    if (sa == 0) {
+                        continue;
+                    }
+                    if (sa == 255) {
+                        dst[di] = s;
+                        continue;
+                    }
+
+                    // dst * (255 - sa) / 255, R|B and A|G lanes at once
+                    int ia = 255 - sa;
+                    int d = dst[di];
+                    int rb = (d & 0x00FF00FF) * ia;
+                    int ag = ((d >>> 8) & 0x00FF00FF) * ia;
+                    rb = ((rb + 0x00800080 + ((rb >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+                    ag = ((ag + 0x00800080 + ((ag >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+
+                    dst[di] = s + (ag << 8) + rb;
+                }
+            }
+        }
+    }
+}